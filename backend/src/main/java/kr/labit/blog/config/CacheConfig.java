@@ -0,0 +1,64 @@
+package kr.labit.blog.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * 캐시 설정 (Caffeine)
+ * - 캐시별 크기/만료 정책은 app.cache.spec.{캐시명} 으로 지정 (없으면 app.cache.default-spec)
+ * - 모든 캐시는 통계를 기록하며 actuator metrics(cache.gets, cache.evictions 등)로 노출
+ * @Cacheable 캐시는 로더가 없으므로 refreshAfterWrite 는 지원하지 않으며, 지정하면 시작 시 설정 오류로 처리한다.
+ */
+@Configuration
+@EnableCaching
+@Slf4j
+public class CacheConfig {
+
+    public static final List<String> CACHE_NAMES = List.of(
+            "posts", "postDetail", "popularPosts", "recentPosts", "featuredPosts", "adminAssets");
+
+    private static final String SPEC_PREFIX = "app.cache.spec.";
+    private static final String DEFAULT_SPEC_KEY = "app.cache.default-spec";
+    private static final String DEFAULT_SPEC = "maximumSize=500,expireAfterWrite=10m";
+
+    @Bean
+    public CacheManager cacheManager(Environment environment) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // 목록에 없는 캐시가 사용되면 기본 정책으로 생성
+        cacheManager.setCaffeine(Caffeine.from(validate(DEFAULT_SPEC_KEY,
+                environment.getProperty(DEFAULT_SPEC_KEY, DEFAULT_SPEC))).recordStats());
+
+        for (String cacheName : CACHE_NAMES) {
+            String spec = validate(SPEC_PREFIX + cacheName, getSpec(environment, cacheName));
+            cacheManager.registerCustomCache(cacheName, Caffeine.from(spec).recordStats().build());
+            log.info("캐시 등록: {} ({})", cacheName, spec);
+        }
+        return cacheManager;
+    }
+
+    /**
+     * 캐시에 적용된 정책 문자열
+     */
+    public static String getSpec(Environment environment, String cacheName) {
+        return environment.getProperty(SPEC_PREFIX + cacheName, environment.getProperty(DEFAULT_SPEC_KEY, DEFAULT_SPEC));
+    }
+
+    /**
+     * 지원하지 않는 정책 확인 (refreshAfterWrite 는 LoadingCache 가 필요하여 Caffeine 이 빌드 시 예외를 던짐)
+     */
+    private static String validate(String key, String spec) {
+        if (spec.contains("refreshAfterWrite")) {
+            throw new IllegalStateException(key + " 에 refreshAfterWrite 는 사용할 수 없습니다. "
+                    + "expireAfterWrite/expireAfterAccess 로 만료 시간을 지정하세요: " + spec);
+        }
+        return spec;
+    }
+}
@@ -5,15 +5,22 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import kr.labit.blog.dto.CursorPageDto;
 import kr.labit.blog.dto.asset.*;
+import kr.labit.blog.dto.upload.UploadSessionRequestDto;
+import kr.labit.blog.dto.upload.UploadSessionResponseDto;
 import kr.labit.blog.service.AssetManageService;
+import kr.labit.blog.service.ChunkedUploadService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -26,15 +33,30 @@ import java.util.List;
 public class AssetMangeController {
 
     private final AssetManageService assetManageService;
+    private final ChunkedUploadService chunkedUploadService;
 
     @GetMapping("/all")
-    @Operation(summary = "모든 에셋 조회", description = "관리자용 모든 에셋(폴더 및 파일)을 조회합니다.")
-    public ResponseEntity<List<Object>> getAllAssets() {
+    @Operation(summary = "모든 에셋 조회", description = "관리자용 모든 에셋(폴더 및 파일)을 JSON 배열로 내보냅니다. 응답은 스트리밍으로 전송됩니다.")
+    public ResponseEntity<StreamingResponseBody> getAllAssets() {
         log.info("관리자 에셋 전체 조회 요청");
 
-        List<Object> assets = assetManageService.getAllAssets();
+        StreamingResponseBody body = assetManageService::exportAllAssets;
 
-        return ResponseEntity.ok(assets);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping("/children")
+    @Operation(summary = "에셋 하위 목록 조회", description = "폴더의 하위 폴더와 파일을 커서 기반으로 조회합니다. 폴더가 먼저 오며, 폴더마다 파일 수와 총 크기를 포함합니다.")
+    public ResponseEntity<CursorPageDto<Object>> getAssetChildren(
+            @Parameter(description = "폴더 ID (생략 시 최상위)") @RequestParam(name = "folderId", required = false) Long folderId,
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "페이지 크기") @RequestParam(name = "size", defaultValue = "50") int size) {
+
+        CursorPageDto<Object> children = assetManageService.getAssetChildren(folderId, cursor, size);
+
+        return ResponseEntity.ok(assetManageService.signPrivateUrls(children));
     }
 
     @PostMapping("/folder")
@@ -88,6 +110,27 @@ public class AssetMangeController {
         return ResponseEntity.ok(uploaded);
     }
 
+    @PostMapping("/upload/sessions")
+    @Operation(summary = "에셋 분할 업로드 세션 생성", description = "큰 파일을 이어받기가 가능한 구간 단위로 올리는 세션을 만듭니다. 구간은 PUT /api/upload/sessions/{sessionId} 로 보냅니다.")
+    public ResponseEntity<UploadSessionResponseDto> createUploadSession(
+            @Valid @RequestBody UploadSessionRequestDto request) throws IOException {
+
+        log.info("에셋 분할 업로드 세션 생성 요청: 파일명={}, 크기={}", request.getFileName(), request.getTotalSize());
+
+        return ResponseEntity.ok(chunkedUploadService.createSession(ChunkedUploadService.PURPOSE_ASSET, request));
+    }
+
+    @PostMapping("/upload/sessions/{sessionId}/complete")
+    @Operation(summary = "에셋 분할 업로드 완료", description = "모든 구간을 받은 세션으로 에셋 파일을 만듭니다.")
+    public ResponseEntity<AssetFileResponseDto> completeUploadSession(
+            @Parameter(description = "세션 ID") @PathVariable String sessionId,
+            @Parameter(description = "업로드할 폴더 ID (선택사항)") @RequestParam(required = false) Long folderId) throws IOException {
+
+        log.info("에셋 분할 업로드 완료 요청: 세션={}, 폴더ID={}", sessionId, folderId);
+
+        return ResponseEntity.ok(chunkedUploadService.completeAsset(sessionId, folderId));
+    }
+
     @DeleteMapping("/file/{id}")
     @Operation(summary = "에셋 파일 삭제", description = "에셋 파일을 삭제합니다.")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
@@ -101,6 +144,28 @@ public class AssetMangeController {
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping("/file/{id}/url")
+    @Operation(summary = "에셋 파일 접근 URL 발급", description = "비공개 파일이면 만료 시각이 있는 서명 URL 을 발급합니다. bindUser 이면 발급한 사용자 ID 를 서명에 포함합니다.")
+    public ResponseEntity<AssetFileUrlDto> getFileAccessUrl(
+            @Parameter(description = "파일 ID") @PathVariable Long id,
+            @Parameter(description = "사용자 ID 포함 여부") @RequestParam(name = "bindUser", defaultValue = "false") boolean bindUser) {
+
+        return ResponseEntity.ok(assetManageService.getFileAccessUrl(id, bindUser));
+    }
+
+    @PatchMapping("/file/{id}/visibility")
+    @Operation(summary = "에셋 파일 공개 여부 변경", description = "비공개 파일은 서명 URL 로만 제공됩니다.")
+    public ResponseEntity<Void> updateFileVisibility(
+            @Parameter(description = "파일 ID") @PathVariable Long id,
+            @Parameter(description = "공개 여부") @RequestParam(name = "isPublic") boolean isPublic) {
+
+        log.info("에셋 파일 공개 여부 변경 요청: ID={}, 공개={}", id, isPublic);
+
+        assetManageService.updateFileVisibility(id, isPublic);
+
+        return ResponseEntity.ok().build();
+    }
+
     @PatchMapping("/{assetId}/move")
     @Operation(summary = "에셋 이동", description = "에셋을 다른 폴더로 이동합니다.")
     public ResponseEntity<Void> moveAsset(
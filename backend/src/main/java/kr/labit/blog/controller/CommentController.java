@@ -1,20 +1,27 @@
 package kr.labit.blog.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import kr.labit.blog.dto.CommentCreateRequestDto;
+import kr.labit.blog.dto.CommentEventDto;
 import kr.labit.blog.dto.CommentResponseDto;
 import kr.labit.blog.dto.CommentUpdateRequestDto;
+import kr.labit.blog.dto.CursorPageDto;
 import kr.labit.blog.entity.LabUsers;
 import kr.labit.blog.service.CommentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/comments")
@@ -59,6 +66,32 @@ public class CommentController {
         return ResponseEntity.ok(comments);
     }
 
+    @GetMapping("/post/{postId}/threads")
+    @Operation(summary = "포스트 댓글 스레드 조회", description = "최상위 댓글을 커서 기반으로 조회합니다. 최상위 댓글마다 앞쪽 대댓글 일부와 전체 대댓글 수를 포함합니다.")
+    public ResponseEntity<CursorPageDto<CommentResponseDto>> getCommentThreads(
+            @PathVariable(name = "postId") Long postId,
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "최상위 댓글 수") @RequestParam(name = "size", defaultValue = "20") int size) {
+        CursorPageDto<CommentResponseDto> threads = commentService.getCommentThreads(postId, cursor, size);
+        return ResponseEntity.ok(threads);
+    }
+
+    @GetMapping(value = "/post/{postId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "포스트 댓글 실시간 구독", description = "댓글 작성/수정/삭제/좋아요 이벤트를 Server-Sent Events 로 전달합니다. 연결은 일정 시간 후 종료되며 클라이언트가 재연결합니다.")
+    public Flux<ServerSentEvent<CommentEventDto>> streamComments(@PathVariable(name = "postId") Long postId) {
+        return commentService.streamComments(postId);
+    }
+
+    @GetMapping("/{commentId}/replies")
+    @Operation(summary = "대댓글 더보기", description = "댓글 아래의 대댓글을 커서 기반으로 조회합니다.")
+    public ResponseEntity<CursorPageDto<CommentResponseDto>> getReplies(
+            @PathVariable(name = "commentId") Long commentId,
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "페이지 크기") @RequestParam(name = "size", defaultValue = "20") int size) {
+        CursorPageDto<CommentResponseDto> replies = commentService.getReplies(commentId, cursor, size);
+        return ResponseEntity.ok(replies);
+    }
+
     @PostMapping("/{commentId}/like")
     @Operation(summary = "댓글 좋아요", description = "댓글에 좋아요를 추가/제거합니다.")
     public ResponseEntity<CommentResponseDto> toggleCommentLike(@PathVariable Long commentId) {
@@ -67,6 +100,13 @@ public class CommentController {
         return ResponseEntity.ok(comment);
     }
 
+    @GetMapping("/likes")
+    @Operation(summary = "댓글 좋아요 여부 조회", description = "현재 사용자가 댓글에 좋아요했는지 한 번에 조회합니다. (최대 100개)")
+    public ResponseEntity<Map<Long, Boolean>> getLikeStatus(@RequestParam(name = "ids") List<Long> commentIds) {
+        Map<Long, Boolean> status = commentService.getCommentLikeStatus(commentIds, findCurrentUser());
+        return ResponseEntity.ok(status);
+    }
+
     private LabUsers getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated() ||
@@ -75,4 +115,12 @@ public class CommentController {
         }
         return (LabUsers) authentication.getPrincipal();
     }
+
+    private LabUsers findCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof LabUsers user)) {
+            return null;
+        }
+        return user;
+    }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import kr.labit.blog.dto.dashboard.ActivityLogDto;
+import kr.labit.blog.dto.dashboard.CacheStatsDto;
 import kr.labit.blog.service.DashboardService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,7 +24,7 @@ import java.util.List;
 @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') ")
 public class DashboardController {
 
-    private DashboardService dashboardService;
+    private final DashboardService dashboardService;
 
 //    @GetMapping("/stats")
 //    @Operation(summary = "대시보드 통계 조회", description = "사용자, 포스트, 에셋, 조회수 등의 통계를 조회합니다.")
@@ -58,17 +59,39 @@ public class DashboardController {
         return ResponseEntity.ok(activityLogs);
     }
 
-//    @PostMapping("/cache/clear")
-//    @Operation(summary = "캐시 초기화", description = "시스템 캐시를 초기화합니다.")
-//    @PreAuthorize("hasRole('SUPER_ADMIN')")
-//    public ResponseEntity<String> clearCache() {
-//        log.info("캐시 초기화 요청");
-//
-//        dashboardService.clearAllCaches();
-//
-//        return ResponseEntity.ok("캐시가 성공적으로 초기화되었습니다.");
-//    }
-//
+    @GetMapping("/cache")
+    @Operation(summary = "캐시 통계 조회", description = "캐시별 크기, 적중률, 제거 건수 등을 조회합니다.")
+    public ResponseEntity<List<CacheStatsDto>> getCacheStats() {
+        return ResponseEntity.ok(dashboardService.getCacheStats());
+    }
+
+    @GetMapping("/cache/{cacheName}")
+    @Operation(summary = "캐시 상세 조회", description = "특정 캐시의 통계와 저장된 키 목록을 조회합니다.")
+    public ResponseEntity<CacheStatsDto> getCacheStats(@PathVariable String cacheName) {
+        return ResponseEntity.ok(dashboardService.getCacheStats(cacheName));
+    }
+
+    @DeleteMapping("/cache/{cacheName}")
+    @Operation(summary = "캐시 초기화", description = "특정 캐시를 초기화합니다.")
+    public ResponseEntity<String> clearCache(@PathVariable String cacheName) {
+        log.info("캐시 초기화 요청: {}", cacheName);
+
+        dashboardService.clearCache(cacheName);
+
+        return ResponseEntity.ok("캐시가 성공적으로 초기화되었습니다.");
+    }
+
+    @PostMapping("/cache/clear")
+    @Operation(summary = "전체 캐시 초기화", description = "시스템 캐시를 초기화합니다.")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<String> clearAllCaches() {
+        log.info("전체 캐시 초기화 요청");
+
+        dashboardService.clearAllCaches();
+
+        return ResponseEntity.ok("캐시가 성공적으로 초기화되었습니다.");
+    }
+
 //    @GetMapping("/health-check")
 //    @Operation(summary = "시스템 헬스 체크", description = "시스템의 전반적인 건강 상태를 확인합니다.")
 //    public ResponseEntity<String> healthCheck() {
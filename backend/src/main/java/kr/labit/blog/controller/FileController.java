@@ -1,19 +1,26 @@
 package kr.labit.blog.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.labit.blog.dto.CursorPageDto;
+import kr.labit.blog.dto.storage.FileGcReportDto;
+import kr.labit.blog.dto.storage.StorageFileDto;
 import kr.labit.blog.service.FileUploadService;
+import kr.labit.blog.service.storage.FileServingService;
+import kr.labit.blog.service.storage.ImageDerivativeService;
+import kr.labit.blog.service.storage.OrphanFileCollector;
+import kr.labit.blog.service.storage.PrivateFileRegistry;
+import kr.labit.blog.service.storage.SignedUrlService;
+import kr.labit.blog.service.storage.StorageIndexService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
@@ -24,64 +31,108 @@ import java.util.Map;
 @Slf4j
 public class FileController {
 
+    private static final int FILE_LIST_LIMIT = 200;
+
     private final FileUploadService fileUploadService;
+    private final FileServingService fileServingService;
+    private final ImageDerivativeService derivativeService;
+    private final StorageIndexService storageIndexService;
+    private final OrphanFileCollector orphanFileCollector;
+    private final PrivateFileRegistry privateFileRegistry;
+    private final SignedUrlService signedUrlService;
 
     /**
      * 파일 서빙 (공개 API)
-     * GET /api/files/profiles/2025/01/filename.jpg
+     * GET /api/files/profiles/2025/01/filename.jpg (이전 방식 업로드, 연/월 두 단계)
+     * GET /api/files/blobs/ab/{sha256}.png (내용 해시 이름, immutable 캐시)
+     * GET /api/files/blobs/ab/{sha256}.jpg?w=240 (너비 구간별 축소본, Accept 에 image/webp 가 있으면 WebP)
+     * Range(206), If-None-Match(304), HEAD 지원
+     * 비공개 에셋 파일(/api/files/private/ab/{id}.pdf)은 서명 URL(?exp=...&uid=...&sig=...) 로만 제공 (서명이 없거나 만료되면 403)
      */
-    @GetMapping("/{subDir}/{yearMonth}/{fileName:.+}")
-    public ResponseEntity<Resource> serveFile(
+    @RequestMapping(value = "/{subDir}/{yearMonth}/{fileName:.+}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serveFile(
             @PathVariable String subDir,
             @PathVariable String yearMonth,
-            @PathVariable String fileName) {
-
-        try {
-            log.debug("파일 요청: subDir={}, yearMonth={}, fileName={}", subDir, yearMonth, fileName);
+            @PathVariable String fileName,
+            @RequestParam(value = "w", required = false) Integer width,
+            @RequestParam(value = "exp", required = false) Long expiresAt,
+            @RequestParam(value = "uid", required = false) Long userId,
+            @RequestParam(value = "sig", required = false) String signature,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        serve(subDir, yearMonth, fileName, width, expiresAt, userId, signature, request, response);
+    }
 
-            // 파일 경로 조회
-            Path filePath = fileUploadService.getFilePath(subDir, yearMonth, fileName);
+    /**
+     * 파일 서빙 - 이전 방식 경로 (/api/files/{subDir}/{yyyy}/{MM}/{fileName})
+     */
+    @RequestMapping(value = "/{subDir}/{year:\\d{4}}/{month:\\d{2}}/{fileName:.+}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serveDatedFile(
+            @PathVariable String subDir,
+            @PathVariable String year,
+            @PathVariable String month,
+            @PathVariable String fileName,
+            @RequestParam(value = "w", required = false) Integer width,
+            @RequestParam(value = "exp", required = false) Long expiresAt,
+            @RequestParam(value = "uid", required = false) Long userId,
+            @RequestParam(value = "sig", required = false) String signature,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        serve(subDir, year + "/" + month, fileName, width, expiresAt, userId, signature, request, response);
+    }
 
-            // 파일 존재 여부 확인
-            if (!Files.exists(filePath)) {
-                log.warn("파일이 존재하지 않음: {}", filePath);
-                return ResponseEntity.notFound().build();
-            }
+    private void serve(String subDir, String yearMonth, String fileName, Integer width,
+                       Long expiresAt, Long userId, String signature,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
 
-            // 파일을 Resource로 변환
-            Resource resource = new UrlResource(filePath.toUri());
+        log.debug("파일 요청: subDir={}, yearMonth={}, fileName={}, w={}", subDir, yearMonth, fileName, width);
 
-            if (!resource.exists() || !resource.isReadable()) {
-                log.error("파일을 읽을 수 없음: {}", filePath);
-                return ResponseEntity.notFound().build();
+        // 비공개 파일: 메모리 목록 확인 후 HMAC 검증만 수행 (DB 조회, JWT 해석 없음)
+        String cacheControl = null;
+        String servingPath = subDir + "/" + yearMonth + "/" + fileName;
+        if (privateFileRegistry.isPrivate(servingPath)) {
+            if (!signedUrlService.verify(servingPath, expiresAt, userId, signature)) {
+                log.debug("서명 URL 검증 실패: path={}, exp={}, uid={}", servingPath, expiresAt, userId);
+                response.sendError(HttpServletResponse.SC_FORBIDDEN);
+                return;
             }
+            cacheControl = signedUrlService.cacheControl(expiresAt);
+        }
 
-            // Content-Type 결정
-            String contentType = determineContentType(filePath);
-
-            log.info("파일 서빙 성공: {}", filePath);
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + fileName + "\"")
-                    .header(HttpHeaders.CACHE_CONTROL, "public, max-age=3600") // 1시간 캐시
-                    .body(resource);
-
-        } catch (Exception e) {
-            log.error("파일 서빙 실패: subDir={}, yearMonth={}, fileName={}", subDir, yearMonth, fileName, e);
-            return ResponseEntity.internalServerError().build();
+        Path filePath = fileUploadService.getFilePath(subDir, yearMonth, fileName);
+        if (filePath == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
+        if (width != null && width > 0) {
+            String accept = request.getHeader(HttpHeaders.ACCEPT);
+            boolean acceptsWebp = accept != null && accept.contains("image/webp");
+            if (derivativeService.isWebpSupported()) {
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+            ImageDerivativeService.ResolvedVariant variant = derivativeService.resolveVariant(filePath, width, acceptsWebp);
+            filePath = variant.path();
+            if (variant.pending() && cacheControl == null) {
+                // 파생본 생성 전에는 원본을 재검증 캐시로만 응답 (파생본이 생기면 ETag 가 달라짐)
+                cacheControl = "no-cache";
+            }
+        }
+
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + fileName + "\"");
+        fileServingService.serve(filePath, request, response, cacheControl);
     }
 
     /**
-     * 파일 목록 조회 (관리자 전용)
+     * 파일 목록 조회 (관리자 전용, 경로 순 최대 200건 - 전체는 /index 커서 조회)
      */
     @GetMapping("/list/{subDir}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
     public ResponseEntity<List<String>> getFileList(@PathVariable String subDir) {
         try {
             log.info("파일 목록 조회 요청: {}", subDir);
-            List<String> files = fileUploadService.getUploadedFiles(subDir);
+            List<String> files = fileUploadService.getUploadedFiles(subDir, FILE_LIST_LIMIT);
             return ResponseEntity.ok(files);
         } catch (Exception e) {
             log.error("파일 목록 조회 실패: {}", subDir, e);
@@ -99,6 +150,24 @@ public class FileController {
             @PathVariable String yearMonth,
             @PathVariable String fileName) {
 
+        return delete(subDir, yearMonth, fileName);
+    }
+
+    /**
+     * 파일 삭제 - 이전 방식 경로 (관리자 전용)
+     */
+    @DeleteMapping("/{subDir}/{year:\\d{4}}/{month:\\d{2}}/{fileName:.+}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<Map<String, Object>> deleteDatedFile(
+            @PathVariable String subDir,
+            @PathVariable String year,
+            @PathVariable String month,
+            @PathVariable String fileName) {
+
+        return delete(subDir, year + "/" + month, fileName);
+    }
+
+    private ResponseEntity<Map<String, Object>> delete(String subDir, String yearMonth, String fileName) {
         try {
             log.info("파일 삭제 요청: subDir={}, yearMonth={}, fileName={}", subDir, yearMonth, fileName);
 
@@ -139,13 +208,14 @@ public class FileController {
             log.info("업로드 통계 조회 요청");
 
             long directorySize = fileUploadService.getDirectorySize();
-            List<String> profileFiles = fileUploadService.getUploadedFiles("profiles");
+            List<String> profileFiles = fileUploadService.getUploadedFiles("profiles", FILE_LIST_LIMIT);
             String uploadInfo = fileUploadService.getUploadInfo();
 
             Map<String, Object> stats = Map.of(
                     "totalSize", directorySize,
                     "totalSizeMB", Math.round(directorySize / (1024.0 * 1024.0) * 100.0) / 100.0,
-                    "profileImageCount", profileFiles.size(),
+                    "profileImageCount", fileUploadService.getFileCount("profiles"),
+                    "categories", storageIndexService.getStats(),
                     "uploadInfo", uploadInfo,
                     "profileImages", profileFiles
             );
@@ -158,6 +228,45 @@ public class FileController {
         }
     }
 
+    /**
+     * 업로드 파일 색인 조회 (관리자 전용)
+     * GET /api/files/index?category=blobs&mimeType=image/&owner=admin&cursor=...&size=50
+     */
+    @GetMapping("/index")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<CursorPageDto<StorageFileDto>> getFileIndex(
+            @RequestParam(name = "category", required = false) String category,
+            @RequestParam(name = "mimeType", required = false) String mimeType,
+            @RequestParam(name = "owner", required = false) String owner,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "50") int size) {
+
+        return ResponseEntity.ok(storageIndexService.listFiles(category, mimeType, owner, cursor, size));
+    }
+
+    /**
+     * 고아 파일 수집 실행 (관리자 전용, dryRun 이면 삭제 없이 대상만 보고)
+     * POST /api/files/gc?dryRun=true
+     */
+    @PostMapping("/gc")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<FileGcReportDto> collectOrphanFiles(
+            @RequestParam(name = "dryRun", defaultValue = "true") boolean dryRun) {
+
+        log.info("고아 파일 수집 요청: dryRun={}", dryRun);
+        return ResponseEntity.ok(orphanFileCollector.collect(dryRun));
+    }
+
+    /**
+     * 마지막 고아 파일 수집 보고서 (관리자 전용)
+     */
+    @GetMapping("/gc")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<FileGcReportDto> getOrphanFileReport() {
+        FileGcReportDto report = orphanFileCollector.getLastReport();
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.noContent().build();
+    }
+
     /**
      * 파일 존재 여부 확인 (공개 API)
      */
@@ -167,6 +276,23 @@ public class FileController {
             @PathVariable String yearMonth,
             @PathVariable String fileName) {
 
+        return exists(subDir, yearMonth, fileName);
+    }
+
+    /**
+     * 파일 존재 여부 확인 - 이전 방식 경로 (공개 API)
+     */
+    @GetMapping("/exists/{subDir}/{year:\\d{4}}/{month:\\d{2}}/{fileName:.+}")
+    public ResponseEntity<Map<String, Object>> checkDatedFileExists(
+            @PathVariable String subDir,
+            @PathVariable String year,
+            @PathVariable String month,
+            @PathVariable String fileName) {
+
+        return exists(subDir, year + "/" + month, fileName);
+    }
+
+    private ResponseEntity<Map<String, Object>> exists(String subDir, String yearMonth, String fileName) {
         try {
             boolean exists = fileUploadService.fileExists(subDir, yearMonth, fileName);
 
@@ -182,32 +308,4 @@ public class FileController {
             return ResponseEntity.internalServerError().build();
         }
     }
-
-    /**
-     * Content-Type 결정
-     */
-    private String determineContentType(Path filePath) {
-        try {
-            String contentType = Files.probeContentType(filePath);
-            if (contentType != null) {
-                return contentType;
-            }
-        } catch (IOException e) {
-            log.warn("Content-Type 결정 실패: {}", filePath, e);
-        }
-
-        // 확장자 기반 fallback
-        String fileName = filePath.getFileName().toString().toLowerCase();
-        if (fileName.endsWith(".jpg") || fileName.endsWith(".jpeg")) {
-            return "image/jpeg";
-        } else if (fileName.endsWith(".png")) {
-            return "image/png";
-        } else if (fileName.endsWith(".gif")) {
-            return "image/gif";
-        } else if (fileName.endsWith(".webp")) {
-            return "image/webp";
-        }
-
-        return "application/octet-stream";
-    }
-}
\ No newline at end of file
+}
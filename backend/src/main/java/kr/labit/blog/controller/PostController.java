@@ -3,22 +3,31 @@ package kr.labit.blog.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import kr.labit.blog.dto.ContentVersion;
+import kr.labit.blog.dto.CursorPageDto;
 import kr.labit.blog.dto.PostCreateRequestDto;
 import kr.labit.blog.dto.PostResponseDto;
+import kr.labit.blog.dto.PostSummaryDto;
 import kr.labit.blog.dto.PostUpdateRequestDto;
+import kr.labit.blog.dto.TagCountDto;
 import kr.labit.blog.entity.LabUsers;
+import kr.labit.blog.service.PostCacheService;
 import kr.labit.blog.service.PostService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -50,75 +59,139 @@ public class PostController {
 
     @GetMapping("/{postId}")
     @Operation(summary = "포스트 조회", description = "특정 포스트를 조회합니다.")
-    public ResponseEntity<PostResponseDto> getPost(@PathVariable(name ="postId") Long postId) {
-        PostResponseDto post = postService.getPost(postId);
-        return ResponseEntity.ok(post);
+    public ResponseEntity<PostResponseDto> getPost(@PathVariable(name ="postId") Long postId, WebRequest webRequest) {
+        return postService.getPost(postId, version -> isNotModified(webRequest, version))
+                .map(post -> ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(post))
+                .orElseGet(this::notModified);
     }
 
     @GetMapping("/view")
     @Operation(summary = "포스트 목록 조회", description = "발행된 포스트 목록을 조회합니다.")
-    public ResponseEntity<Page<PostResponseDto>> getPosts(
+    public ResponseEntity<Page<PostSummaryDto>> getPosts(
             @Parameter(description = "페이지 번호 (0부터 시작)") @RequestParam(name = "page", defaultValue = "0") int page,
-            @Parameter(description = "페이지 크기") @RequestParam(name = "size", defaultValue = "10") int size) {
+            @Parameter(description = "페이지 크기") @RequestParam(name = "size", defaultValue = "10") int size,
+            @Parameter(description = "조회할 필드 (쉼표 구분, 생략 시 전체)") @RequestParam(name = "fields", required = false) String fields,
+            WebRequest webRequest) {
+        if (isNotModified(webRequest, postService.getCollectionVersion(PostCacheService.SCOPE_ALL))) {
+            return notModified();
+        }
         Pageable pageable = PageRequest.of(page, size);
-        Page<PostResponseDto> posts = postService.getPosts(pageable);
+        Page<PostSummaryDto> posts = postService.getPosts(pageable, fields);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(posts);
+    }
+
+    @GetMapping("/view/cursor")
+    @Operation(summary = "포스트 목록 커서 조회", description = "발행된 포스트 목록을 커서 기반으로 조회합니다. (무한 스크롤용, 전체 건수 미제공)")
+    public ResponseEntity<CursorPageDto<PostSummaryDto>> getPostsByCursor(
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "페이지 크기") @RequestParam(name = "size", defaultValue = "10") int size,
+            @Parameter(description = "조회할 필드 (쉼표 구분, 생략 시 전체)") @RequestParam(name = "fields", required = false) String fields) {
+        CursorPageDto<PostSummaryDto> posts = postService.getPostsByCursor(cursor, size, fields);
         return ResponseEntity.ok(posts);
     }
 
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "카테고리별 포스트 조회", description = "특정 카테고리의 포스트를 조회합니다.")
-    public ResponseEntity<Page<PostResponseDto>> getPostsByCategory(
+    public ResponseEntity<Page<PostSummaryDto>> getPostsByCategory(
             @PathVariable(name ="categoryId") Long categoryId,
             @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "size", defaultValue = "10") int size) {
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "fields", required = false) String fields) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<PostResponseDto> posts = postService.getPostsByCategory(categoryId, pageable);
+        Page<PostSummaryDto> posts = postService.getPostsByCategory(categoryId, pageable, fields);
+        return ResponseEntity.ok(posts);
+    }
+
+    @GetMapping("/category/{categoryId}/cursor")
+    @Operation(summary = "카테고리별 포스트 커서 조회", description = "특정 카테고리의 포스트를 커서 기반으로 조회합니다.")
+    public ResponseEntity<CursorPageDto<PostSummaryDto>> getPostsByCategoryCursor(
+            @PathVariable(name ="categoryId") Long categoryId,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "fields", required = false) String fields) {
+        CursorPageDto<PostSummaryDto> posts = postService.getPostsByCategoryCursor(categoryId, cursor, size, fields);
         return ResponseEntity.ok(posts);
     }
 
     @GetMapping("/search")
     @Operation(summary = "포스트 검색", description = "키워드로 포스트를 검색합니다.")
-    public ResponseEntity<Page<PostResponseDto>> searchPosts(
+    public ResponseEntity<Page<PostSummaryDto>> searchPosts(
             @Parameter(description = "검색 키워드") @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<PostResponseDto> posts = postService.searchPosts(keyword, pageable);
+        Page<PostSummaryDto> posts = postService.searchPosts(keyword, pageable, fields);
         return ResponseEntity.ok(posts);
     }
 
     @GetMapping("/tag/{tag}")
     @Operation(summary = "태그별 포스트 조회", description = "특정 태그의 포스트를 조회합니다.")
-    public ResponseEntity<Page<PostResponseDto>> getPostsByTag(
+    public ResponseEntity<Page<PostSummaryDto>> getPostsByTag(
             @PathVariable String tag,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<PostResponseDto> posts = postService.getPostsByTag(tag, pageable);
+        Page<PostSummaryDto> posts = postService.getPostsByTag(tag, pageable, fields);
         return ResponseEntity.ok(posts);
     }
 
+    @GetMapping("/tag/{tag}/cursor")
+    @Operation(summary = "태그별 포스트 커서 조회", description = "특정 태그의 포스트를 커서 기반으로 조회합니다.")
+    public ResponseEntity<CursorPageDto<PostSummaryDto>> getPostsByTagCursor(
+            @PathVariable String tag,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields) {
+        CursorPageDto<PostSummaryDto> posts = postService.getPostsByTagCursor(tag, cursor, size, fields);
+        return ResponseEntity.ok(posts);
+    }
+
+    @GetMapping("/tags")
+    @Operation(summary = "태그 목록 조회", description = "발행된 포스트의 태그와 태그별 포스트 수를 조회합니다.")
+    public ResponseEntity<List<TagCountDto>> getTags(
+            @RequestParam(defaultValue = "50") int limit) {
+        List<TagCountDto> tags = postService.getTagCounts(limit);
+        return ResponseEntity.ok(tags);
+    }
+
     @GetMapping("/featured")
     @Operation(summary = "추천 포스트 조회", description = "추천 포스트 목록을 조회합니다.")
-    public ResponseEntity<List<PostResponseDto>> getFeaturedPosts() {
-        List<PostResponseDto> posts = postService.getFeaturedPosts();
-        return ResponseEntity.ok(posts);
+    public ResponseEntity<List<PostSummaryDto>> getFeaturedPosts(
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        if (isNotModified(webRequest, postService.getCollectionVersion(PostCacheService.SCOPE_FEATURED))) {
+            return notModified();
+        }
+        List<PostSummaryDto> posts = postService.getFeaturedPosts(fields);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(posts);
     }
 
     @GetMapping("/popular")
     @Operation(summary = "인기 포스트 조회", description = "인기 포스트 목록을 조회합니다.")
-    public ResponseEntity<List<PostResponseDto>> getPopularPosts(
-            @RequestParam(defaultValue = "10") int limit) {
-        List<PostResponseDto> posts = postService.getPopularPosts(limit);
-        return ResponseEntity.ok(posts);
+    public ResponseEntity<List<PostSummaryDto>> getPopularPosts(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        if (isNotModified(webRequest, postService.getPopularVersion(limit))) {
+            return notModified();
+        }
+        List<PostSummaryDto> posts = postService.getPopularPosts(limit, fields);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(posts);
     }
 
     @GetMapping("/recent")
     @Operation(summary = "최근 포스트 조회", description = "최근 포스트 목록을 조회합니다.")
-    public ResponseEntity<List<PostResponseDto>> getRecentPosts(
-            @RequestParam(defaultValue = "10") int limit) {
-        List<PostResponseDto> posts = postService.getRecentPosts(limit);
-        return ResponseEntity.ok(posts);
+    public ResponseEntity<List<PostSummaryDto>> getRecentPosts(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        if (isNotModified(webRequest, postService.getCollectionVersion(PostCacheService.SCOPE_ALL))) {
+            return notModified();
+        }
+        List<PostSummaryDto> posts = postService.getRecentPosts(limit, fields);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(posts);
     }
 
     @DeleteMapping("/{postId}")
@@ -137,6 +210,24 @@ public class PostController {
         return ResponseEntity.ok(post);
     }
 
+    @GetMapping("/likes")
+    @Operation(summary = "포스트 좋아요 여부 조회", description = "현재 사용자가 포스트에 좋아요했는지 한 번에 조회합니다. (최대 100개)")
+    public ResponseEntity<Map<Long, Boolean>> getLikeStatus(@RequestParam(name = "ids") List<Long> postIds) {
+        Map<Long, Boolean> status = postService.getPostLikeStatus(postIds, findCurrentUser());
+        return ResponseEntity.ok(status);
+    }
+
+    /**
+     * If-None-Match / If-Modified-Since 확인 (ETag, Last-Modified 응답 헤더도 함께 설정됨)
+     */
+    private boolean isNotModified(WebRequest webRequest, ContentVersion version) {
+        return webRequest.checkNotModified(version.getEtag(), version.getLastModified());
+    }
+
+    private <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+    }
+
     private LabUsers getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated() ||
@@ -145,4 +236,12 @@ public class PostController {
         }
         return (LabUsers) authentication.getPrincipal();
     }
+
+    private LabUsers findCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof LabUsers user)) {
+            return null;
+        }
+        return user;
+    }
 }
\ No newline at end of file
@@ -6,14 +6,21 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import kr.labit.blog.dto.upload.UploadSessionRequestDto;
+import kr.labit.blog.dto.upload.UploadSessionResponseDto;
+import kr.labit.blog.service.ChunkedUploadService;
 import kr.labit.blog.service.FileUploadService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.Map;
 
 @RestController
@@ -25,6 +32,7 @@ import java.util.Map;
 public class UploadController {
 
     private final FileUploadService fileUploadService;
+    private final ChunkedUploadService chunkedUploadService;
 
     @PostMapping("/image")
     @PreAuthorize("isAuthenticated()")
@@ -216,6 +224,70 @@ public class UploadController {
         }
     }
 
+    @PostMapping("/sessions")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(
+            summary = "이미지 분할 업로드 세션 생성",
+            description = "이어받기가 가능한 분할 업로드 세션을 만듭니다. PUT /api/upload/sessions/{sessionId} 로 구간을 보낸 뒤 complete 를 호출합니다."
+    )
+    public ResponseEntity<UploadSessionResponseDto> createUploadSession(
+            @Valid @RequestBody UploadSessionRequestDto request) throws IOException {
+
+        log.info("이미지 분할 업로드 세션 생성 요청: fileName={}, totalSize={}", request.getFileName(), request.getTotalSize());
+
+        return ResponseEntity.ok(chunkedUploadService.createSession(ChunkedUploadService.PURPOSE_IMAGE, request));
+    }
+
+    @GetMapping("/sessions/{sessionId}")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "분할 업로드 세션 조회", description = "이어서 보낼 위치(receivedSize)를 확인합니다.")
+    public ResponseEntity<UploadSessionResponseDto> getUploadSession(
+            @Parameter(description = "세션 ID") @PathVariable String sessionId) {
+
+        return ResponseEntity.ok(chunkedUploadService.getSession(sessionId));
+    }
+
+    @PutMapping("/sessions/{sessionId}")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(
+            summary = "분할 업로드 구간 전송",
+            description = "요청 본문(application/octet-stream)을 Content-Range: bytes start-end/total 위치에 씁니다. start 는 receivedSize 이하여야 합니다."
+    )
+    public ResponseEntity<UploadSessionResponseDto> uploadChunk(
+            @Parameter(description = "세션 ID") @PathVariable String sessionId,
+            @RequestHeader(HttpHeaders.CONTENT_RANGE) String contentRange,
+            HttpServletRequest request) throws IOException {
+
+        return ResponseEntity.ok(chunkedUploadService.writeChunk(sessionId, contentRange, request.getInputStream()));
+    }
+
+    @PostMapping("/sessions/{sessionId}/complete")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "이미지 분할 업로드 완료", description = "모든 구간을 받은 이미지 세션을 저장하고 URL 을 반환합니다.")
+    public ResponseEntity<Map<String, Object>> completeUploadSession(
+            @Parameter(description = "세션 ID") @PathVariable String sessionId) throws IOException {
+
+        String fileUrl = chunkedUploadService.completeImage(sessionId);
+
+        log.info("이미지 분할 업로드 성공: fileUrl={}", fileUrl);
+        return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "이미지 업로드 완료",
+                "fileUrl", fileUrl,
+                "fileName", extractFileNameFromUrl(fileUrl)
+        ));
+    }
+
+    @DeleteMapping("/sessions/{sessionId}")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "분할 업로드 취소", description = "세션과 받은 구간을 삭제합니다.")
+    public ResponseEntity<Void> abortUploadSession(
+            @Parameter(description = "세션 ID") @PathVariable String sessionId) {
+
+        chunkedUploadService.abort(sessionId);
+        return ResponseEntity.ok().build();
+    }
+
     @GetMapping("/validate-url")
     @PreAuthorize("isAuthenticated()")
     @Operation(
@@ -0,0 +1,75 @@
+package kr.labit.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 포스트 댓글 실시간 이벤트 (SSE)
+ * 모든 구독자에게 같은 내용을 보내므로 사용자별 값(isLiked)은 포함하지 않는다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentEventDto {
+
+    private Type type;
+    private Long postId;
+    private Long commentId;
+
+    // 작성/수정 시 댓글 내용
+    private CommentResponseDto comment;
+
+    // 좋아요 변경 시 현재 좋아요 수
+    private Long likeCount;
+
+    private LocalDateTime occurredAt;
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        LIKED
+    }
+
+    public static CommentEventDto created(CommentResponseDto comment) {
+        return of(Type.CREATED, comment);
+    }
+
+    public static CommentEventDto updated(CommentResponseDto comment) {
+        return of(Type.UPDATED, comment);
+    }
+
+    public static CommentEventDto deleted(Long postId, Long commentId) {
+        return CommentEventDto.builder()
+                .type(Type.DELETED)
+                .postId(postId)
+                .commentId(commentId)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    public static CommentEventDto liked(Long postId, Long commentId, Long likeCount) {
+        return CommentEventDto.builder()
+                .type(Type.LIKED)
+                .postId(postId)
+                .commentId(commentId)
+                .likeCount(likeCount)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static CommentEventDto of(Type type, CommentResponseDto comment) {
+        return CommentEventDto.builder()
+                .type(type)
+                .postId(comment.getPostId())
+                .commentId(comment.getId())
+                .comment(comment)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package kr.labit.blog.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import kr.labit.blog.entity.LabComment;
 import lombok.Builder;
 import lombok.Data;
@@ -18,9 +19,14 @@ public class CommentResponseDto {
     private Integer depth;
     private Boolean isDeleted;
     private Long likeCount;
+    private Boolean isLiked;
     private LocalDateTime createdDate;
     private LocalDateTime modifiedDate;
     private List<CommentResponseDto> replies;
+    private Long replyCount;
+
+    @JsonIgnore
+    private String threadPath;
 
     @Data
     @Builder
@@ -46,6 +52,7 @@ public class CommentResponseDto {
                 .likeCount(comment.getLikeCount())
                 .createdDate(comment.getCreatedDate())
                 .modifiedDate(comment.getModifiedDate())
+                .threadPath(comment.getThreadPath())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package kr.labit.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 조건부 GET (If-None-Match / If-Modified-Since) 용 버전 정보
+ * lastModified 가 0 이하이면 Last-Modified 비교 없이 ETag 만 사용
+ */
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class ContentVersion {
+
+    private final String etag;
+    private final long lastModified;
+}
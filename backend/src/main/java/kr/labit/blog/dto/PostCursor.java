@@ -0,0 +1,51 @@
+package kr.labit.blog.dto;
+
+import kr.labit.blog.exception.GlobalExceptionHandler.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 발행 포스트 목록 커서 (publishedDate, id)
+ * 클라이언트에는 Base64URL 로 인코딩된 불투명 토큰으로 전달
+ */
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class PostCursor {
+
+    private static final String DELIMITER = "|";
+
+    private final LocalDateTime publishedDate;
+    private final Long id;
+
+    /**
+     * 커서 토큰 생성
+     */
+    public String encode() {
+        String raw = publishedDate + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 토큰 해석 (비어 있으면 첫 페이지로 간주하여 null 반환)
+     */
+    public static PostCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(DELIMITER);
+            return PostCursor.of(
+                    LocalDateTime.parse(raw.substring(0, index)),
+                    Long.parseLong(raw.substring(index + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "INVALID_CURSOR", "유효하지 않은 커서입니다.");
+        }
+    }
+}
@@ -8,7 +8,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class PostResponseDto {
     private Long id;
     private String title;
@@ -21,6 +21,7 @@ public class PostResponseDto {
     private String status;
     private Long viewCount;
     private Long likeCount;
+    private Boolean isLiked;
     private Long commentCount;
     private Boolean isFeatured;
     private LocalDateTime publishedDate;
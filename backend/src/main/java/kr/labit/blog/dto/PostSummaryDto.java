@@ -0,0 +1,67 @@
+package kr.labit.blog.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import kr.labit.blog.entity.LabPost;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 포스트 목록용 요약 DTO (본문 제외)
+ * fields 파라미터로 일부 필드만 요청한 경우 조회하지 않은 필드는 응답에서 생략
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostSummaryDto {
+    private Long id;
+    private String title;
+    private String summary;
+    private String thumbnailUrl;
+    private List<String> tags;
+    private PostResponseDto.CategoryDto category;
+    private PostResponseDto.AuthorDto author;
+    private String status;
+    private Long viewCount;
+    private Long likeCount;
+    private Long commentCount;
+    private Boolean isFeatured;
+    private LocalDateTime publishedDate;
+    private LocalDateTime createdDate;
+    private LocalDateTime modifiedDate;
+
+    public static PostSummaryDto fromEntity(LabPost post) {
+        return PostSummaryDto.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .summary(post.getSummary())
+                .thumbnailUrl(post.getThumbnailUrl())
+                .tags(post.getTagList())
+                .category(post.getCategory() != null ?
+                        PostResponseDto.CategoryDto.builder()
+                                .id(post.getCategory().getId())
+                                .label(post.getCategory().getLabel())
+                                .href(post.getCategory().getHref())
+                                .build() : null)
+                .author(PostResponseDto.AuthorDto.builder()
+                        .id(post.getAuthor().getId())
+                        .nickname(post.getAuthor().getNickname())
+                        .profileImage(post.getAuthor().getProfileImage())
+                        .build())
+                .status(post.getStatus().name())
+                .viewCount(post.getViewCount())
+                .likeCount(post.getLikeCount())
+                .commentCount(post.getCommentCount())
+                .isFeatured(post.getIsFeatured())
+                .publishedDate(post.getPublishedDate())
+                .createdDate(post.getCreatedDate())
+                .modifiedDate(post.getModifiedDate())
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package kr.labit.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagCountDto {
+    private String tag;
+    private Long count;
+}
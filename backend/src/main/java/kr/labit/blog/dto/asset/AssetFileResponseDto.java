@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class AssetFileResponseDto {
@@ -24,4 +24,5 @@ public class AssetFileResponseDto {
     private String type = "file";
     private String uploaderName;
     private String description;
+    private Boolean isPublic;
 }
\ No newline at end of file
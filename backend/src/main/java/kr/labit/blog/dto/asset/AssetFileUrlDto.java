@@ -0,0 +1,22 @@
+package kr.labit.blog.dto.asset;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 에셋 파일 접근 URL (비공개 파일이면 서명 URL 과 만료 시각)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssetFileUrlDto {
+    private Long id;
+    private String url;
+    private Boolean isPublic;
+    private LocalDateTime expiresAt;
+}
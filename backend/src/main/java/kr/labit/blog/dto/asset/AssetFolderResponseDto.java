@@ -23,5 +23,7 @@ public class AssetFolderResponseDto {
     private LocalDateTime modifiedDate;
     private String type = "folder";
     private Integer fileCount;
+    private Long totalFileCount;
+    private Long totalSize;
     private List<AssetFolderResponseDto> children;
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package kr.labit.blog.dto.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+    private String name;
+    private String spec;
+    private Long estimatedSize;
+    private Long hitCount;
+    private Long missCount;
+    private Double hitRate;
+    private Long evictionCount;
+    private Long loadCount;
+    private Long loadFailureCount;
+    private Double averageLoadPenaltyMs;
+    private List<String> keys; // 단건 조회 시에만 (최대 100개)
+}
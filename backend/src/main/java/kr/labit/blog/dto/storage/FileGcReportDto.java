@@ -0,0 +1,30 @@
+package kr.labit.blog.dto.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 고아 파일 수집 결과 (dryRun 이면 삭제 없이 대상만 집계)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileGcReportDto {
+    private boolean dryRun;
+    private LocalDateTime startedAt;
+    private long durationMillis;
+    private long referencedCount;   // 참조 집합 크기
+    private long scannedCount;      // 검사한 파일 수
+    private long orphanCount;       // 유예 시간이 지난 미참조 파일 수
+    private long orphanBytes;
+    private long deletedCount;
+    private long reclaimedBytes;
+    private boolean truncated;      // 한 번에 삭제할 최대 건수에 도달
+    private List<String> samplePaths;
+}
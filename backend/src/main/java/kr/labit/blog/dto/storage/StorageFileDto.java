@@ -0,0 +1,26 @@
+package kr.labit.blog.dto.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 업로드 파일 색인 항목
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageFileDto {
+    private String path;        // 업로드 루트 기준 상대 경로
+    private String url;
+    private String category;    // 경로 첫 디렉토리 (blobs, derivatives, profiles 등)
+    private long size;
+    private String mimeType;
+    private String hash;
+    private String owner;
+    private LocalDateTime modifiedDate;
+}
@@ -0,0 +1,26 @@
+package kr.labit.blog.dto.upload;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionRequestDto {
+
+    @NotBlank(message = "파일 이름은 필수입니다")
+    @Size(max = 255, message = "파일 이름은 255자를 초과할 수 없습니다")
+    private String fileName;
+
+    @Size(max = 100, message = "MIME 타입은 100자를 초과할 수 없습니다")
+    private String mimeType;
+
+    @Positive(message = "파일 크기는 0보다 커야 합니다")
+    private long totalSize;
+}
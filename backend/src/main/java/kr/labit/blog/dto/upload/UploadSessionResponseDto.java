@@ -0,0 +1,25 @@
+package kr.labit.blog.dto.upload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 분할 업로드 세션 상태 (receivedSize 부터 이어서 전송)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionResponseDto {
+    private String sessionId;
+    private String fileName;
+    private long totalSize;
+    private long receivedSize;
+    private int chunkSize;      // 권장 청크 크기
+    private boolean complete;
+    private LocalDateTime expiresAt;
+}
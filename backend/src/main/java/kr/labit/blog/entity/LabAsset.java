@@ -24,6 +24,9 @@ import java.util.List;
 @Comment("에셋 관리 테이블")
 public class LabAsset {
 
+    public static final int PATH_SEGMENT_LENGTH = 12;
+    public static final String PATH_DELIMITER = "/";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ASSET_SEQ")
     @SequenceGenerator(name = "ASSET_SEQ", sequenceName = "LAB_ASSET_SEQ", allocationSize = 1)
@@ -67,7 +70,8 @@ public class LabAsset {
     @Builder.Default
     private Integer sortOrder = 0;
 
-    @Column(name = "DEPTH")
+    // 경로/깊이는 하위 트리 전체를 JDBC 로 함께 갱신하므로 엔티티 수정 시 덮어쓰지 않음
+    @Column(name = "DEPTH", updatable = false)
     @Comment("폴더 깊이")
     @Builder.Default
     private Integer depth = 0;
@@ -76,6 +80,21 @@ public class LabAsset {
     @Comment("설명")
     private String description;
 
+    @Column(name = "ASSET_PATH", length = 400, updatable = false)
+    @Comment("에셋 경로 (루트부터 자신까지의 ID 를 12자리로 이어붙임)")
+    private String assetPath;
+
+    // 하위 전체 집계는 JDBC 로 증감만 하므로 엔티티 수정 시 덮어쓰지 않음
+    @Column(name = "TOTAL_FILE_COUNT", nullable = false, updatable = false)
+    @Comment("하위 전체 파일 수 (폴더)")
+    @Builder.Default
+    private Long totalFileCount = 0L;
+
+    @Column(name = "TOTAL_SIZE", nullable = false, updatable = false)
+    @Comment("하위 전체 파일 크기 (폴더, bytes)")
+    @Builder.Default
+    private Long totalSize = 0L;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "UPLOADER_ID")
     @Comment("업로더")
@@ -123,4 +142,39 @@ public class LabAsset {
     public boolean isFile() {
         return "file".equals(this.type);
     }
+
+    /**
+     * 저장 후 ID 가 정해지면 경로 지정 (parentPath 가 null 이면 최상위)
+     */
+    public void assignAssetPath(String parentPath) {
+        String segment = toPathSegment(id);
+        this.assetPath = parentPath != null ? parentPath + PATH_DELIMITER + segment : segment;
+    }
+
+    /**
+     * 경로상의 상위 폴더 ID (루트부터, 자신 제외)
+     */
+    public List<Long> ancestorIds() {
+        return pathIds(assetPath, false);
+    }
+
+    /**
+     * 경로상의 폴더 ID (루트부터, includeSelf 이면 마지막 구간 포함)
+     */
+    public static List<Long> pathIds(String path, boolean includeSelf) {
+        List<Long> ids = new ArrayList<>();
+        if (path == null || path.isEmpty()) {
+            return ids;
+        }
+        String[] segments = path.split(PATH_DELIMITER);
+        int count = includeSelf ? segments.length : segments.length - 1;
+        for (int i = 0; i < count; i++) {
+            ids.add(Long.parseLong(segments[i]));
+        }
+        return ids;
+    }
+
+    public static String toPathSegment(Long assetId) {
+        return String.format("%0" + PATH_SEGMENT_LENGTH + "d", assetId);
+    }
 }
\ No newline at end of file
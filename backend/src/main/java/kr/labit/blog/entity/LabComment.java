@@ -25,6 +25,9 @@ import java.util.List;
 @Comment("댓글 정보 테이블")
 public class LabComment {
 
+    public static final int PATH_SEGMENT_LENGTH = 12;
+    public static final String PATH_DELIMITER = "/";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "COMMENT_SEQ")
     @SequenceGenerator(name = "COMMENT_SEQ", sequenceName = "LAB_COMMENT_SEQ", allocationSize = 1)
@@ -60,6 +63,10 @@ public class LabComment {
     @Builder.Default
     private Boolean isDeleted = false;
 
+    @Column(name = "THREAD_PATH", length = 200)
+    @Comment("스레드 정렬 경로 (루트부터 자신까지의 ID 를 12자리로 이어붙임)")
+    private String threadPath;
+
     @Column(name = "LIKE_COUNT", nullable = false)
     @Comment("좋아요 수")
     @Builder.Default
@@ -80,6 +87,20 @@ public class LabComment {
     private List<LabComment> replies = new ArrayList<>();
 
     // 편의 메서드
+
+    /**
+     * 스레드 경로 지정 (ID 가 부여된 후 호출)
+     * 경로 문자열 순서가 곧 화면 표시 순서 (루트 작성순, 루트 아래 대댓글 작성순)
+     */
+    public void assignThreadPath() {
+        String segment = toPathSegment(id);
+        this.threadPath = parent != null ? parent.getThreadPath() + PATH_DELIMITER + segment : segment;
+    }
+
+    public static String toPathSegment(Long commentId) {
+        return String.format("%0" + PATH_SEGMENT_LENGTH + "d", commentId);
+    }
+
     public void delete() {
         this.isDeleted = true;
         this.content = "삭제된 댓글입니다.";
@@ -12,7 +12,11 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "LAB_POST")
@@ -143,17 +147,38 @@ public class LabPost {
     }
 
     public List<String> getTagList() {
+        return parseTags(tags);
+    }
+
+    /**
+     * 쉼표로 구분된 태그 문자열을 목록으로 변환
+     */
+    public static List<String> parseTags(String tags) {
         if (tags == null || tags.trim().isEmpty()) {
             return new ArrayList<>();
         }
-        return List.of(tags.split(","));
+        return Arrays.stream(tags.split(","))
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty())
+                .collect(Collectors.toList());
     }
 
+    /**
+     * 태그 목록 설정 (공백 제거, 대소문자 무시 중복 제거)
+     * 태그 연결 테이블(LAB_POST_TAG)은 PostTagService 에서 동기화
+     */
     public void setTagList(List<String> tagList) {
         if (tagList == null || tagList.isEmpty()) {
             this.tags = null;
-        } else {
-            this.tags = String.join(",", tagList);
+            return;
+        }
+
+        Map<String, String> unique = new LinkedHashMap<>();
+        for (String tag : tagList) {
+            if (tag != null && !tag.trim().isEmpty()) {
+                unique.putIfAbsent(LabPostTag.normalizeKey(tag), tag.trim());
+            }
         }
+        this.tags = unique.isEmpty() ? null : String.join(",", unique.values());
     }
 }
\ No newline at end of file
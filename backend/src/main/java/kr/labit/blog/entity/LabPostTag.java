@@ -0,0 +1,44 @@
+package kr.labit.blog.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Comment;
+
+@Entity
+@Table(name = "LAB_POST_TAG",
+        uniqueConstraints = @UniqueConstraint(name = "UK_LAB_POST_TAG", columnNames = {"POST_ID", "TAG_KEY"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Comment("포스트-태그 연결 테이블")
+public class LabPostTag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "POST_TAG_SEQ")
+    @SequenceGenerator(name = "POST_TAG_SEQ", sequenceName = "LAB_POST_TAG_SEQ", allocationSize = 1)
+    @Comment("포스트 태그 ID")
+    private Long id;
+
+    @Column(name = "POST_ID", nullable = false)
+    @Comment("포스트 ID")
+    private Long postId;
+
+    @Column(name = "TAG_KEY", nullable = false, length = 100)
+    @Comment("태그 검색 키 (소문자 정규화)")
+    private String tagKey;
+
+    @Column(name = "TAG_NAME", nullable = false, length = 100)
+    @Comment("태그 표시명")
+    private String tagName;
+
+    /**
+     * 태그 검색 키 정규화
+     */
+    public static String normalizeKey(String tag) {
+        return tag == null ? "" : tag.trim().toLowerCase(java.util.Locale.ROOT);
+    }
+}
@@ -0,0 +1,44 @@
+package kr.labit.blog.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Comment;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "LAB_REACTION",
+        uniqueConstraints = @UniqueConstraint(name = "UK_LAB_REACTION", columnNames = {"TARGET_TYPE", "TARGET_ID", "USER_ID"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Comment("좋아요 테이블 (포스트/댓글)")
+public class LabReaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "REACTION_SEQ")
+    @SequenceGenerator(name = "REACTION_SEQ", sequenceName = "LAB_REACTION_SEQ", allocationSize = 1)
+    @Comment("좋아요 ID")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "TARGET_TYPE", nullable = false, length = 20)
+    @Comment("대상 유형 (POST, COMMENT)")
+    private ReactionTargetType targetType;
+
+    @Column(name = "TARGET_ID", nullable = false)
+    @Comment("대상 ID")
+    private Long targetId;
+
+    @Column(name = "USER_ID", nullable = false)
+    @Comment("사용자 ID")
+    private Long userId;
+
+    @Column(name = "CREATED_DATE", nullable = false)
+    @Comment("생성일시")
+    private LocalDateTime createdDate;
+}
@@ -0,0 +1,14 @@
+package kr.labit.blog.entity;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ReactionTargetType {
+    POST("POST", "포스트"),
+    COMMENT("COMMENT", "댓글");
+
+    private final String code;
+    private final String description;
+}
@@ -0,0 +1,160 @@
+package kr.labit.blog.repository;
+
+import kr.labit.blog.dto.asset.AssetFileResponseDto;
+import kr.labit.blog.dto.asset.AssetFolderResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 에셋 브라우저 조회용 JDBC 리포지토리
+ * 폴더별 직속 파일 수는 GROUP BY 한 번으로, 하위 전체 파일 수/크기는 폴더에 유지되는 집계 컬럼으로,
+ * 업로더 닉네임은 같은 문장에서 조인하여 함께 조회한다.
+ * 폴더는 AssetFolderResponseDto, 파일은 AssetFileResponseDto 로 변환한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LabAssetQueryJdbcRepository {
+
+    // 폴더 먼저, 그다음 파일 (각각 정렬 순서, ID 순)
+    private static final String KIND = "CASE WHEN a.TYPE = 'folder' THEN 0 ELSE 1 END";
+
+    private static final String COLUMNS =
+            "a.ID, a.NAME, a.ORIGINAL_NAME, a.TYPE, a.URL, a.MIME_TYPE, a.SIZE, a.FOLDER_ID, a.PARENT_ID, " +
+                    "a.SORT_ORDER, a.DEPTH, a.DESCRIPTION, a.IS_PUBLIC, a.CREATED_DATE, a.MODIFIED_DATE, " +
+                    "a.TOTAL_FILE_COUNT, a.TOTAL_SIZE, u.NICKNAME AS UPLOADER_NAME, s.FILE_COUNT, " + KIND + " AS KIND";
+
+    private static final String FROM =
+            "FROM LAB_ASSET a " +
+                    "LEFT JOIN LAB_USERS u ON u.ID = a.UPLOADER_ID " +
+                    "LEFT JOIN (SELECT FOLDER_ID, COUNT(*) AS FILE_COUNT " +
+                    "FROM LAB_ASSET WHERE TYPE = 'file' AND FOLDER_ID IS NOT NULL GROUP BY FOLDER_ID) s " +
+                    "ON s.FOLDER_ID = a.ID AND a.TYPE = 'folder' ";
+
+    // (KIND, SORT_ORDER, ID) 이후
+    private static final String AFTER_CURSOR =
+            "AND (" + KIND + " > ? OR (" + KIND + " = ? AND (a.SORT_ORDER > ? OR (a.SORT_ORDER = ? AND a.ID > ?)))) ";
+
+    private static final String ORDER_BY = "ORDER BY KIND, a.SORT_ORDER, a.ID";
+
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 폴더의 직속 하위 폴더와 파일 (parentId 가 null 이면 최상위)
+     */
+    public List<AssetRow> findChildren(Long parentId, AssetCursor after, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(' ').append(FROM);
+        if (parentId == null) {
+            sql.append("WHERE ((a.TYPE = 'folder' AND a.PARENT_ID IS NULL) OR (a.TYPE = 'file' AND a.FOLDER_ID IS NULL)) ");
+        } else {
+            sql.append("WHERE ((a.TYPE = 'folder' AND a.PARENT_ID = ?) OR (a.TYPE = 'file' AND a.FOLDER_ID = ?)) ");
+            args.add(parentId);
+            args.add(parentId);
+        }
+        if (after != null) {
+            sql.append(AFTER_CURSOR);
+            args.add(after.kind());
+            args.add(after.kind());
+            args.add(after.sortOrder());
+            args.add(after.sortOrder());
+            args.add(after.id());
+        }
+        sql.append(ORDER_BY).append(" FETCH FIRST ? ROWS ONLY");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), ASSET_ROW_MAPPER, args.toArray());
+    }
+
+    /**
+     * 전체 에셋을 정렬 순서대로 한 건씩 전달 (목록을 메모리에 모으지 않음)
+     */
+    public void streamAll(Consumer<AssetRow> consumer) {
+        String sql = "SELECT " + COLUMNS + " " + FROM + "ORDER BY a.SORT_ORDER, a.ID";
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            return ps;
+        }, rs -> {
+            consumer.accept(ASSET_ROW_MAPPER.mapRow(rs, 0));
+        });
+    }
+
+    /**
+     * 비공개 파일 에셋 URL (서명 URL 로만 제공)
+     */
+    public List<String> findPrivateFileUrls() {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT URL FROM LAB_ASSET WHERE TYPE = 'file' AND IS_PUBLIC = 0 AND URL IS NOT NULL", String.class);
+    }
+
+    private static final RowMapper<AssetRow> ASSET_ROW_MAPPER = (rs, rowNum) -> {
+        AssetCursor cursor = new AssetCursor(rs.getInt("KIND"), rs.getInt("SORT_ORDER"), rs.getLong("ID"));
+
+        if ("folder".equals(rs.getString("TYPE"))) {
+            return new AssetRow(cursor, AssetFolderResponseDto.builder()
+                    .id(rs.getLong("ID"))
+                    .name(rs.getString("NAME"))
+                    .description(rs.getString("DESCRIPTION"))
+                    .parentId(getLong(rs, "PARENT_ID"))
+                    .sortOrder(rs.getInt("SORT_ORDER"))
+                    .depth(rs.getInt("DEPTH"))
+                    .createdDate(toLocalDateTime(rs.getTimestamp("CREATED_DATE")))
+                    .modifiedDate(toLocalDateTime(rs.getTimestamp("MODIFIED_DATE")))
+                    .type("folder")
+                    .fileCount(rs.getInt("FILE_COUNT"))
+                    .totalFileCount(rs.getLong("TOTAL_FILE_COUNT"))
+                    .totalSize(rs.getLong("TOTAL_SIZE"))
+                    .build());
+        }
+
+        return new AssetRow(cursor, AssetFileResponseDto.builder()
+                .id(rs.getLong("ID"))
+                .name(rs.getString("NAME"))
+                .originalName(rs.getString("ORIGINAL_NAME"))
+                .url(rs.getString("URL"))
+                .mimeType(rs.getString("MIME_TYPE"))
+                .size(getLong(rs, "SIZE"))
+                .folderId(getLong(rs, "FOLDER_ID"))
+                .sortOrder(rs.getInt("SORT_ORDER"))
+                .uploadedDate(toLocalDateTime(rs.getTimestamp("CREATED_DATE")))
+                .type("file")
+                .uploaderName(rs.getString("UPLOADER_NAME"))
+                .description(rs.getString("DESCRIPTION"))
+                .isPublic(rs.getBoolean("IS_PUBLIC"))
+                .build());
+    };
+
+    private static Long getLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * 하위 목록 정렬 키 (폴더 0 / 파일 1, 정렬 순서, ID)
+     */
+    public record AssetCursor(int kind, int sortOrder, long id) {
+    }
+
+    /**
+     * 조회 결과 (정렬 키 + 폴더/파일 DTO)
+     */
+    public record AssetRow(AssetCursor cursor, Object asset) {
+    }
+}
@@ -62,4 +62,10 @@ public interface LabAssetRepository extends JpaRepository<LabAsset, Long> {
      */
     @Query("SELECT COALESCE(SUM(a.size), 0) FROM LabAsset a WHERE a.type = :type")
     Long sumSizeByType(@Param("type") String type);
-}
\ No newline at end of file
+
+    /**
+     * 비공개 파일 에셋 목록
+     */
+    @Query("SELECT a FROM LabAsset a WHERE a.type = 'file' AND a.isPublic = false AND a.url IS NOT NULL")
+    List<LabAsset> findPrivateFiles();
+}
@@ -0,0 +1,108 @@
+package kr.labit.blog.repository;
+
+import kr.labit.blog.entity.LabAsset;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 에셋 트리 JDBC 리포지토리 (ASSET_PATH 경로 기반)
+ * 하위 트리 전체는 경로 접두사 범위 (path 자신 + path/ 이상 path0 미만, '0' 은 '/' 다음 문자) 한 번으로 찾으므로
+ * 조회/삭제/이동이 깊이나 하위 항목 수와 무관하게 한 문장으로 처리된다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LabAssetTreeJdbcRepository {
+
+    private static final String SUBTREE = "(ASSET_PATH = ? OR (ASSET_PATH > ? AND ASSET_PATH < ?))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 에셋의 현재 트리 상태 (같은 트랜잭션에서 앞서 이동된 경로도 반영)
+     */
+    public Optional<TreeState> findTreeState(Long id) {
+        return jdbcTemplate.query(
+                "SELECT TYPE, ASSET_PATH, DEPTH, TOTAL_FILE_COUNT, TOTAL_SIZE, SIZE FROM LAB_ASSET WHERE ID = ?",
+                (rs, rowNum) -> new TreeState(rs.getString("TYPE"), rs.getString("ASSET_PATH"), rs.getInt("DEPTH"),
+                        rs.getLong("TOTAL_FILE_COUNT"), rs.getLong("TOTAL_SIZE"), rs.getLong("SIZE")),
+                id).stream().findFirst();
+    }
+
+    /**
+     * 하위 트리의 파일 URL (물리 파일 정리용)
+     */
+    public List<String> findFileUrlsInSubtree(String path) {
+        return jdbcTemplate.queryForList(
+                "SELECT URL FROM LAB_ASSET WHERE TYPE = 'file' AND URL IS NOT NULL AND " + SUBTREE,
+                String.class, subtreeArgs(path));
+    }
+
+    /**
+     * 하위 트리 전체 삭제 (자신 포함)
+     */
+    public int deleteSubtree(String path) {
+        return jdbcTemplate.update("DELETE FROM LAB_ASSET WHERE " + SUBTREE, subtreeArgs(path));
+    }
+
+    /**
+     * 하위 트리 전체의 경로 접두사 교체 및 폴더 깊이 조정 (자신 포함)
+     */
+    public int moveSubtree(String oldPath, String newPath, int depthDelta) {
+        List<Object> args = new ArrayList<>(List.of(newPath, oldPath.length() + 1, depthDelta));
+        Collections.addAll(args, subtreeArgs(oldPath));
+        return jdbcTemplate.update(
+                "UPDATE LAB_ASSET SET ASSET_PATH = ? || SUBSTR(ASSET_PATH, ?), " +
+                        "DEPTH = CASE WHEN TYPE = 'folder' THEN DEPTH + ? ELSE DEPTH END " +
+                        "WHERE " + SUBTREE,
+                args.toArray());
+    }
+
+    /**
+     * 폴더들의 하위 전체 파일 수/크기 증감
+     */
+    public int addToRollups(Collection<Long> folderIds, long fileCountDelta, long sizeDelta) {
+        if (folderIds.isEmpty() || (fileCountDelta == 0 && sizeDelta == 0)) {
+            return 0;
+        }
+
+        List<Object> args = new ArrayList<>(folderIds.size() + 2);
+        args.add(fileCountDelta);
+        args.add(sizeDelta);
+        args.addAll(folderIds);
+
+        String placeholders = String.join(", ", Collections.nCopies(folderIds.size(), "?"));
+        return jdbcTemplate.update(
+                "UPDATE LAB_ASSET SET TOTAL_FILE_COUNT = GREATEST(TOTAL_FILE_COUNT + ?, 0), TOTAL_SIZE = GREATEST(TOTAL_SIZE + ?, 0) " +
+                        "WHERE TYPE = 'folder' AND ID IN (" + placeholders + ")",
+                args.toArray());
+    }
+
+    /**
+     * 에셋 트리 상태 (폴더는 하위 전체 집계, 파일은 자신의 크기)
+     */
+    public record TreeState(String type, String path, int depth, long totalFileCount, long totalSize, long size) {
+
+        public boolean isFolder() {
+            return "folder".equals(type);
+        }
+
+        public long rollupFileCount() {
+            return isFolder() ? totalFileCount : 1;
+        }
+
+        public long rollupSize() {
+            return isFolder() ? totalSize : size;
+        }
+    }
+
+    private static Object[] subtreeArgs(String path) {
+        return new Object[]{path, path + LabAsset.PATH_DELIMITER, path + "0"};
+    }
+}
@@ -4,6 +4,7 @@ package kr.labit.blog.repository;
 import kr.labit.blog.entity.LabComment;
 import kr.labit.blog.entity.LabPost;
 import kr.labit.blog.entity.LabUsers;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -51,4 +52,23 @@ public interface LabCommentRepository extends JpaRepository<LabComment, Long> {
      */
     @Query("SELECT c FROM LabComment c WHERE c.isDeleted = false ORDER BY c.createdDate DESC")
     List<LabComment> findRecentComments(Pageable pageable);
-}
+
+    /**
+     * 포스트의 댓글 전체 (스레드 순서, 작성자 포함)
+     */
+    @Query("SELECT c FROM LabComment c JOIN FETCH c.author WHERE c.post.id = :postId AND c.isDeleted = false ORDER BY c.threadPath")
+    List<LabComment> findThreadsByPostId(@Param("postId") Long postId);
+
+    /**
+     * 최상위 댓글 ID - 커서 이후 (작성순)
+     */
+    @Query("SELECT c.id FROM LabComment c WHERE c.post.id = :postId AND c.depth = 0 AND c.isDeleted = false " +
+            "AND c.id > :afterId ORDER BY c.id")
+    List<Long> findRootIdsAfter(@Param("postId") Long postId, @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * 댓글의 포스트 ID 와 스레드 경로 조회
+     */
+    @Query("SELECT c.post.id, c.threadPath FROM LabComment c WHERE c.id = :commentId AND c.isDeleted = false")
+    List<Object[]> findThreadPathById(@Param("commentId") Long commentId);
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package kr.labit.blog.repository;
+
+import kr.labit.blog.dto.CommentResponseDto;
+import kr.labit.blog.entity.LabComment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 댓글 스레드 조회용 JDBC 리포지토리
+ * (POST_ID, THREAD_PATH) 인덱스 범위 스캔 한 번으로 스레드를 표시 순서대로 읽고 작성자를 함께 조회한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LabCommentThreadJdbcRepository {
+
+    private static final String COLUMNS =
+            "c.ID, c.PARENT_ID, c.CONTENT, c.DEPTH, c.LIKE_COUNT, c.CREATED_DATE, c.MODIFIED_DATE, c.THREAD_PATH, " +
+                    "u.ID AS AUTHOR_ID, u.NICKNAME, u.PROFILE_IMAGE";
+
+    // 루트별 대댓글 수와 스레드 내 순번을 함께 계산하여 루트마다 앞쪽 대댓글만 반환
+    private static final String THREADS_SQL =
+            "SELECT * FROM (" +
+                    "SELECT " + COLUMNS + ", " +
+                    "ROW_NUMBER() OVER (PARTITION BY SUBSTR(c.THREAD_PATH, 1, " + LabComment.PATH_SEGMENT_LENGTH + ") ORDER BY c.THREAD_PATH) - 1 AS THREAD_POS, " +
+                    "COUNT(*) OVER (PARTITION BY SUBSTR(c.THREAD_PATH, 1, " + LabComment.PATH_SEGMENT_LENGTH + ")) - 1 AS REPLY_COUNT " +
+                    "FROM LAB_COMMENT c JOIN LAB_USERS u ON u.ID = c.AUTHOR_ID " +
+                    "WHERE c.POST_ID = ? AND c.THREAD_PATH >= ? AND c.THREAD_PATH < ? AND c.IS_DELETED = 0" +
+                    ") WHERE THREAD_POS <= ? ORDER BY THREAD_PATH";
+
+    private static final String REPLIES_SQL =
+            "SELECT " + COLUMNS + " " +
+                    "FROM LAB_COMMENT c JOIN LAB_USERS u ON u.ID = c.AUTHOR_ID " +
+                    "WHERE c.POST_ID = ? AND c.THREAD_PATH > ? AND c.THREAD_PATH < ? AND c.IS_DELETED = 0 " +
+                    "ORDER BY c.THREAD_PATH FETCH FIRST ? ROWS ONLY";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 루트 댓글 구간의 스레드 조회 (루트 + 루트마다 대댓글 최대 replyLimit 개)
+     * 루트 댓글의 replyCount 에는 전체 대댓글 수가 담긴다.
+     */
+    public List<CommentResponseDto> findThreads(Long postId, String firstRootPath, String lastRootPath, int replyLimit) {
+        return jdbcTemplate.query(THREADS_SQL, rowMapper(postId, true),
+                postId, firstRootPath, upperBound(lastRootPath), replyLimit);
+    }
+
+    /**
+     * 댓글 아래 대댓글 조회 - afterPath 이후 (표시 순서)
+     */
+    public List<CommentResponseDto> findReplies(Long postId, String parentPath, String afterPath, int limit) {
+        return jdbcTemplate.query(REPLIES_SQL, rowMapper(postId, false),
+                postId, afterPath, upperBound(parentPath), limit);
+    }
+
+    /**
+     * 경로의 하위 전체를 포함하는 배타적 상한 (구분자 '/' 다음 문자 '0')
+     */
+    private static String upperBound(String path) {
+        return path + (char) (LabComment.PATH_DELIMITER.charAt(0) + 1);
+    }
+
+    private static RowMapper<CommentResponseDto> rowMapper(Long postId, boolean withReplyCount) {
+        return (rs, rowNum) -> {
+            Timestamp createdDate = rs.getTimestamp("CREATED_DATE");
+            Timestamp modifiedDate = rs.getTimestamp("MODIFIED_DATE");
+            long parentId = rs.getLong("PARENT_ID");
+            boolean root = rs.wasNull();
+
+            return CommentResponseDto.builder()
+                    .id(rs.getLong("ID"))
+                    .postId(postId)
+                    .content(rs.getString("CONTENT"))
+                    .author(CommentResponseDto.AuthorDto.builder()
+                            .id(rs.getLong("AUTHOR_ID"))
+                            .nickname(rs.getString("NICKNAME"))
+                            .profileImage(rs.getString("PROFILE_IMAGE"))
+                            .build())
+                    .parentId(root ? null : parentId)
+                    .depth(rs.getInt("DEPTH"))
+                    .isDeleted(false)
+                    .likeCount(rs.getLong("LIKE_COUNT"))
+                    .createdDate(createdDate != null ? createdDate.toLocalDateTime() : null)
+                    .modifiedDate(modifiedDate != null ? modifiedDate.toLocalDateTime() : null)
+                    .threadPath(rs.getString("THREAD_PATH"))
+                    .replyCount(withReplyCount && root ? rs.getLong("REPLY_COUNT") : null)
+                    .replies(new ArrayList<>())
+                    .build();
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package kr.labit.blog.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 카운터 컬럼 일괄 갱신용 JDBC 리포지토리
+ * (엔티티를 읽지 않고 delta 만큼 한 번의 배치로 증가시킨다)
+ */
+@Repository
+@RequiredArgsConstructor
+public class LabCounterJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 포스트 조회수 일괄 증가
+     */
+    public int[] addPostViewCounts(Map<Long, Long> deltas) {
+        return batchAdd("UPDATE LAB_POST SET VIEW_COUNT = VIEW_COUNT + ? WHERE ID = ?", deltas);
+    }
+
+    /**
+     * 포스트 좋아요 수 일괄 증감
+     */
+    public int[] addPostLikeCounts(Map<Long, Long> deltas) {
+        return batchAdd("UPDATE LAB_POST SET LIKE_COUNT = GREATEST(LIKE_COUNT + ?, 0) WHERE ID = ?", deltas);
+    }
+
+    /**
+     * 댓글 좋아요 수 일괄 증감
+     */
+    public int[] addCommentLikeCounts(Map<Long, Long> deltas) {
+        return batchAdd("UPDATE LAB_COMMENT SET LIKE_COUNT = GREATEST(LIKE_COUNT + ?, 0) WHERE ID = ?", deltas);
+    }
+
+    /**
+     * 포스트 댓글 수 일괄 증감
+     */
+    public int[] addPostCommentCounts(Map<Long, Long> deltas) {
+        return batchAdd("UPDATE LAB_POST SET COMMENT_COUNT = GREATEST(COMMENT_COUNT + ?, 0) WHERE ID = ?", deltas);
+    }
+
+    /**
+     * 저장된 댓글 수가 실제 댓글 수와 다른 포스트 (postId -> 실제 댓글 수)
+     */
+    public Map<Long, Long> findCommentCountDrift() {
+        Map<Long, Long> actualCounts = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT p.ID, NVL(c.CNT, 0) AS ACTUAL_COUNT FROM LAB_POST p " +
+                        "LEFT JOIN (SELECT POST_ID, COUNT(*) AS CNT FROM LAB_COMMENT WHERE IS_DELETED = 0 GROUP BY POST_ID) c " +
+                        "ON c.POST_ID = p.ID " +
+                        "WHERE p.COMMENT_COUNT <> NVL(c.CNT, 0)",
+                rs -> {
+                    actualCounts.put(rs.getLong("ID"), rs.getLong("ACTUAL_COUNT"));
+                });
+        return actualCounts;
+    }
+
+    /**
+     * 포스트 댓글 수 일괄 설정
+     */
+    public int[] setPostCommentCounts(Map<Long, Long> counts) {
+        if (counts.isEmpty()) {
+            return new int[0];
+        }
+
+        List<Object[]> args = new ArrayList<>(counts.size());
+        counts.forEach((id, count) -> args.add(new Object[]{count, id}));
+
+        return jdbcTemplate.batchUpdate("UPDATE LAB_POST SET COMMENT_COUNT = ? WHERE ID = ?", args);
+    }
+
+    /**
+     * 활성 관리자 총 조회수 증가
+     */
+    public int addAdminTotalViews(long delta) {
+        return jdbcTemplate.update(
+                "UPDATE LAB_ADMIN SET TOTAL_VIEWS = NVL(TOTAL_VIEWS, 0) + ? " +
+                        "WHERE ID = (SELECT MIN(ID) FROM LAB_ADMIN WHERE IS_ACTIVE = 1)",
+                delta);
+    }
+
+    private int[] batchAdd(String sql, Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return new int[0];
+        }
+
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> args.add(new Object[]{delta, id}));
+
+        return jdbcTemplate.batchUpdate(sql, args);
+    }
+}
@@ -0,0 +1,42 @@
+package kr.labit.blog.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.function.Consumer;
+
+/**
+ * 파일 참조 조회 JDBC 리포지토리 (고아 파일 수집용, 결과는 행 단위로 흘려보내 전체를 메모리에 올리지 않음)
+ * - URL 컬럼: LAB_ASSET.URL, LAB_USERS.PROFILE_IMAGE, LAB_ADMIN.PROFILE_IMAGE, LAB_POST.THUMBNAIL_URL
+ * - 본문: LAB_POST.CONTENT (HTML 안의 이미지 URL 은 호출자가 추출)
+ */
+@Repository
+@RequiredArgsConstructor
+public class LabFileReferenceJdbcRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void forEachReferencedUrl(Consumer<String> consumer) {
+        query("SELECT URL FROM LAB_ASSET WHERE URL IS NOT NULL " +
+                "UNION ALL SELECT PROFILE_IMAGE FROM LAB_USERS WHERE PROFILE_IMAGE IS NOT NULL " +
+                "UNION ALL SELECT PROFILE_IMAGE FROM LAB_ADMIN WHERE PROFILE_IMAGE IS NOT NULL " +
+                "UNION ALL SELECT THUMBNAIL_URL FROM LAB_POST WHERE THUMBNAIL_URL IS NOT NULL", consumer);
+    }
+
+    public void forEachPostContent(Consumer<String> consumer) {
+        query("SELECT CONTENT FROM LAB_POST WHERE CONTENT IS NOT NULL", consumer);
+    }
+
+    private void query(String sql, Consumer<String> consumer) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            consumer.accept(rs.getString(1));
+        });
+    }
+}
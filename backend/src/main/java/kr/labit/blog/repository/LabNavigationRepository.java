@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,6 +18,18 @@ public interface LabNavigationRepository extends JpaRepository<LabNavigation, Lo
     @Query("SELECT n FROM LabNavigation n WHERE n.isActive = true ORDER BY n.sortOrder, n.id")
     List<LabNavigation> findAllActiveOrderBySortOrder();
 
+    /**
+     * 전체 네비게이션 메뉴를 정렬 순서대로 조회 (비활성 포함, 스냅샷 구성용)
+     */
+    @Query("SELECT n FROM LabNavigation n ORDER BY n.sortOrder, n.id")
+    List<LabNavigation> findAllOrderBySortOrder();
+
+    /**
+     * 메뉴별 현재 부모 ID (id, parentId)
+     */
+    @Query("SELECT n.id, n.parentId FROM LabNavigation n WHERE n.id IN :ids")
+    List<Object[]> findParentIdsByIds(@Param("ids") Collection<Long> ids);
+
     /**
      * 활서화된 네비게이션 중 홈 제외.
      */
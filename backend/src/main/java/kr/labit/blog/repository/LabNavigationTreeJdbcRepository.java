@@ -0,0 +1,120 @@
+package kr.labit.blog.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 네비게이션 트리 JDBC 리포지토리 (클로저 테이블 LAB_NAVIGATION_CLOSURE, 정렬 순서 일괄 변경)
+ * 모든 (조상, 자손, 거리) 쌍을 보관하여 순환 검사는 PK 조회 한 번, 하위 트리 이동은 집합 연산 몇 개로 처리한다.
+ * 자기 자신도 거리 0 인 행으로 포함한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LabNavigationTreeJdbcRepository {
+
+    // 이동할 하위 트리와 그 바깥 조상 사이의 경로 제거
+    private static final String DETACH_SQL =
+            "DELETE FROM LAB_NAVIGATION_CLOSURE " +
+                    "WHERE DESCENDANT_ID IN (SELECT DESCENDANT_ID FROM LAB_NAVIGATION_CLOSURE WHERE ANCESTOR_ID = ?) " +
+                    "AND ANCESTOR_ID NOT IN (SELECT DESCENDANT_ID FROM LAB_NAVIGATION_CLOSURE WHERE ANCESTOR_ID = ?)";
+
+    // 새 부모의 모든 조상 × 하위 트리의 모든 자손
+    private static final String ATTACH_SQL =
+            "INSERT INTO LAB_NAVIGATION_CLOSURE (ANCESTOR_ID, DESCENDANT_ID, DEPTH) " +
+                    "SELECT p.ANCESTOR_ID, c.DESCENDANT_ID, p.DEPTH + c.DEPTH + 1 " +
+                    "FROM LAB_NAVIGATION_CLOSURE p CROSS JOIN LAB_NAVIGATION_CLOSURE c " +
+                    "WHERE p.DESCENDANT_ID = ? AND c.ANCESTOR_ID = ?";
+
+    // 하위 트리 전체의 메뉴 깊이 재계산 (조상 수 = 1부터 시작하는 깊이)
+    private static final String UPDATE_SUBTREE_DEPTH_SQL =
+            "UPDATE LAB_NAVIGATION n " +
+                    "SET DEPTH = (SELECT COUNT(*) FROM LAB_NAVIGATION_CLOSURE a WHERE a.DESCENDANT_ID = n.ID) " +
+                    "WHERE n.ID IN (SELECT DESCENDANT_ID FROM LAB_NAVIGATION_CLOSURE WHERE ANCESTOR_ID = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 새 메뉴의 경로 추가 (자기 자신 + 부모의 모든 조상)
+     */
+    public int insertNode(Long id, Long parentId) {
+        if (parentId == null) {
+            return jdbcTemplate.update("INSERT INTO LAB_NAVIGATION_CLOSURE (ANCESTOR_ID, DESCENDANT_ID, DEPTH) VALUES (?, ?, 0)", id, id);
+        }
+        return jdbcTemplate.update(
+                "INSERT INTO LAB_NAVIGATION_CLOSURE (ANCESTOR_ID, DESCENDANT_ID, DEPTH) " +
+                        "SELECT ANCESTOR_ID, ?, DEPTH + 1 FROM LAB_NAVIGATION_CLOSURE WHERE DESCENDANT_ID = ? " +
+                        "UNION ALL SELECT ?, ?, 0 FROM DUAL",
+                id, parentId, id, id);
+    }
+
+    /**
+     * ancestorId 가 descendantId 의 조상(또는 자기 자신)인지 여부
+     */
+    public boolean isAncestorOrSelf(Long ancestorId, Long descendantId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM LAB_NAVIGATION_CLOSURE WHERE ANCESTOR_ID = ? AND DESCENDANT_ID = ?",
+                Integer.class, ancestorId, descendantId);
+        return count != null && count > 0;
+    }
+
+    /**
+     * 직속 하위 메뉴(비활성 포함)가 있는지 여부
+     */
+    public boolean hasChildren(Long id) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM LAB_NAVIGATION_CLOSURE WHERE ANCESTOR_ID = ? AND DEPTH = 1 AND ROWNUM = 1",
+                Integer.class, id);
+        return count != null && count > 0;
+    }
+
+    /**
+     * 하위 트리를 새 부모 아래로 이동 (parentId 가 null 이면 루트로)
+     * 부모 ID, 클로저 경로, 하위 트리 전체의 깊이를 함께 갱신한다. 순환 여부는 호출 측에서 먼저 확인한다.
+     */
+    public void moveSubtree(Long id, Long parentId) {
+        jdbcTemplate.update("UPDATE LAB_NAVIGATION SET PARENT_ID = ? WHERE ID = ?", parentId, id);
+        jdbcTemplate.update(DETACH_SQL, id, id);
+        if (parentId != null) {
+            jdbcTemplate.update(ATTACH_SQL, parentId, id);
+        }
+        jdbcTemplate.update(UPDATE_SUBTREE_DEPTH_SQL, id);
+    }
+
+    /**
+     * 정렬 순서 일괄 변경 (한 번의 배치)
+     */
+    public int[] updateSortOrders(Map<Long, Integer> sortOrders) {
+        if (sortOrders.isEmpty()) {
+            return new int[0];
+        }
+
+        List<Object[]> args = new ArrayList<>(sortOrders.size());
+        sortOrders.forEach((id, sortOrder) -> args.add(new Object[]{sortOrder, id}));
+
+        return jdbcTemplate.batchUpdate("UPDATE LAB_NAVIGATION SET SORT_ORDER = ? WHERE ID = ?", args);
+    }
+
+    /**
+     * 클로저 테이블 행 수
+     */
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM LAB_NAVIGATION_CLOSURE", Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * PARENT_ID 기준으로 클로저 테이블 전체 재구성
+     */
+    public int rebuild() {
+        jdbcTemplate.update("DELETE FROM LAB_NAVIGATION_CLOSURE");
+        return jdbcTemplate.update(
+                "INSERT INTO LAB_NAVIGATION_CLOSURE (ANCESTOR_ID, DESCENDANT_ID, DEPTH) " +
+                        "SELECT CONNECT_BY_ROOT ID, ID, LEVEL - 1 FROM LAB_NAVIGATION " +
+                        "CONNECT BY NOCYCLE PRIOR ID = PARENT_ID");
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LabPostRepository extends JpaRepository<LabPost, Long> {
@@ -52,6 +53,18 @@ public interface LabPostRepository extends JpaRepository<LabPost, Long> {
     @Query("SELECT p FROM LabPost p WHERE p.status = 'PUBLISHED' AND p.isFeatured = true ORDER BY p.publishedDate DESC")
     List<LabPost> findFeaturedPosts();
 
+    /**
+     * 조회수 조회 (캐시된 상세 정보에 최신 조회수 반영용)
+     */
+    @Query("SELECT p.viewCount FROM LabPost p WHERE p.id = :postId")
+    Optional<Long> findViewCountById(@Param("postId") Long postId);
+
+    /**
+     * 버전 계산용 정보 조회 (수정일시, 조회수, 좋아요 수, 댓글 수, 상태)
+     */
+    @Query("SELECT p.modifiedDate, p.viewCount, p.likeCount, p.commentCount, p.status FROM LabPost p WHERE p.id = :postId")
+    List<Object[]> findVersionById(@Param("postId") Long postId);
+
     /**
      * 조회수 증가
      */
@@ -77,4 +90,10 @@ public interface LabPostRepository extends JpaRepository<LabPost, Long> {
      */
     @Query("SELECT p FROM LabPost p WHERE p.status = 'PUBLISHED' ORDER BY p.publishedDate DESC")
     List<LabPost> findRecentPosts(Pageable pageable);
+
+    /**
+     * 발행된 포스트의 ID와 수정일시 조회 (검색 색인 동기화용)
+     */
+    @Query("SELECT p.id, p.modifiedDate FROM LabPost p WHERE p.status = 'PUBLISHED'")
+    List<Object[]> findPublishedPostVersions();
 }
\ No newline at end of file
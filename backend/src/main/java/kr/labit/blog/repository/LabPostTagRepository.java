@@ -0,0 +1,34 @@
+package kr.labit.blog.repository;
+
+import kr.labit.blog.entity.LabPostTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LabPostTagRepository extends JpaRepository<LabPostTag, Long> {
+
+    /**
+     * 포스트의 태그 연결 조회
+     */
+    List<LabPostTag> findByPostId(Long postId);
+
+    /**
+     * 포스트의 태그 연결 삭제
+     */
+    @Modifying
+    @Query("DELETE FROM LabPostTag t WHERE t.postId = :postId")
+    void deleteByPostId(@Param("postId") Long postId);
+
+    /**
+     * 발행된 포스트의 태그 연결 조회 (태그 색인 초기화용)
+     * [postId, tagKey, tagName, publishedDate]
+     */
+    @Query("SELECT t.postId, t.tagKey, t.tagName, p.publishedDate FROM LabPostTag t, LabPost p " +
+            "WHERE p.id = t.postId AND p.status = 'PUBLISHED'")
+    List<Object[]> findPublishedPostTags();
+}
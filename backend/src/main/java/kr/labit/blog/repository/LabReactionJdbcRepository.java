@@ -0,0 +1,64 @@
+package kr.labit.blog.repository;
+
+import kr.labit.blog.entity.ReactionTargetType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 좋아요 행 일괄 반영용 JDBC 리포지토리
+ * 같은 (대상, 사용자) 가 여러 번 반영되어도 결과가 같도록 MERGE / DELETE 로 처리한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LabReactionJdbcRepository {
+
+    private static final String MERGE_SQL =
+            "MERGE INTO LAB_REACTION r " +
+                    "USING (SELECT ? AS TARGET_TYPE, ? AS TARGET_ID, ? AS USER_ID FROM DUAL) s " +
+                    "ON (r.TARGET_TYPE = s.TARGET_TYPE AND r.TARGET_ID = s.TARGET_ID AND r.USER_ID = s.USER_ID) " +
+                    "WHEN NOT MATCHED THEN INSERT (ID, TARGET_TYPE, TARGET_ID, USER_ID, CREATED_DATE) " +
+                    "VALUES (LAB_REACTION_SEQ.NEXTVAL, s.TARGET_TYPE, s.TARGET_ID, s.USER_ID, ?)";
+
+    private static final String DELETE_SQL =
+            "DELETE FROM LAB_REACTION WHERE TARGET_TYPE = ? AND TARGET_ID = ? AND USER_ID = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 좋아요 일괄 추가 (이미 있으면 무시)
+     */
+    public int[] insertReactions(List<ReactionRow> rows) {
+        if (rows.isEmpty()) {
+            return new int[0];
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(rows.size());
+        rows.forEach(row -> args.add(new Object[]{row.targetType().name(), row.targetId(), row.userId(), now}));
+
+        return jdbcTemplate.batchUpdate(MERGE_SQL, args);
+    }
+
+    /**
+     * 좋아요 일괄 삭제
+     */
+    public int[] deleteReactions(List<ReactionRow> rows) {
+        if (rows.isEmpty()) {
+            return new int[0];
+        }
+
+        List<Object[]> args = new ArrayList<>(rows.size());
+        rows.forEach(row -> args.add(new Object[]{row.targetType().name(), row.targetId(), row.userId()}));
+
+        return jdbcTemplate.batchUpdate(DELETE_SQL, args);
+    }
+
+    public record ReactionRow(ReactionTargetType targetType, long targetId, long userId) {
+    }
+}
@@ -0,0 +1,45 @@
+package kr.labit.blog.repository;
+
+import kr.labit.blog.entity.LabReaction;
+import kr.labit.blog.entity.ReactionTargetType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LabReactionRepository extends JpaRepository<LabReaction, Long> {
+
+    /**
+     * 대상에 좋아요한 사용자 ID 목록
+     */
+    @Query("SELECT r.userId FROM LabReaction r WHERE r.targetType = :targetType AND r.targetId = :targetId")
+    List<Long> findUserIdsByTarget(@Param("targetType") ReactionTargetType targetType, @Param("targetId") Long targetId);
+
+    /**
+     * 주어진 대상 중 사용자가 좋아요한 대상 ID 목록
+     */
+    @Query("SELECT r.targetId FROM LabReaction r WHERE r.targetType = :targetType AND r.userId = :userId AND r.targetId IN :targetIds")
+    List<Long> findLikedTargetIds(@Param("targetType") ReactionTargetType targetType,
+                                  @Param("userId") Long userId,
+                                  @Param("targetIds") Collection<Long> targetIds);
+
+    /**
+     * 대상의 좋아요 삭제
+     */
+    @Modifying
+    @Query("DELETE FROM LabReaction r WHERE r.targetType = :targetType AND r.targetId = :targetId")
+    int deleteByTarget(@Param("targetType") ReactionTargetType targetType, @Param("targetId") Long targetId);
+
+    /**
+     * 포스트에 달린 댓글들의 좋아요 삭제 (포스트 삭제 시)
+     */
+    @Modifying
+    @Query("DELETE FROM LabReaction r WHERE r.targetType = kr.labit.blog.entity.ReactionTargetType.COMMENT " +
+            "AND r.targetId IN (SELECT c.id FROM LabComment c WHERE c.post.id = :postId)")
+    int deleteCommentReactionsByPostId(@Param("postId") Long postId);
+}
@@ -0,0 +1,170 @@
+package kr.labit.blog.repository;
+
+import kr.labit.blog.dto.storage.StorageFileDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 업로드 파일 색인 JDBC 리포지토리
+ * - LAB_STORAGE_FILE: 파일별 경로/크기/MIME/해시/소유자
+ * - LAB_STORAGE_STATS: 분류(업로드 루트 바로 아래 디렉토리)별 파일 수/총 크기 (색인 변경 시 함께 증감)
+ */
+@Repository
+@RequiredArgsConstructor
+public class LabStorageIndexJdbcRepository {
+
+    private static final String COLUMNS = "PATH, CATEGORY, SIZE, MIME_TYPE, HASH, OWNER, MODIFIED_DATE";
+
+    private static final RowMapper<StorageFileDto> ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp modified = rs.getTimestamp("MODIFIED_DATE");
+        return StorageFileDto.builder()
+                .path(rs.getString("PATH"))
+                .category(rs.getString("CATEGORY"))
+                .size(rs.getLong("SIZE"))
+                .mimeType(rs.getString("MIME_TYPE"))
+                .hash(rs.getString("HASH"))
+                .owner(rs.getString("OWNER"))
+                .modifiedDate(modified != null ? modified.toLocalDateTime() : null)
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 색인된 파일 크기 (행 잠금, 없으면 empty)
+     */
+    public Optional<Long> lockSize(String path) {
+        return jdbcTemplate.queryForList("SELECT SIZE FROM LAB_STORAGE_FILE WHERE PATH = ? FOR UPDATE", Long.class, path)
+                .stream().findFirst();
+    }
+
+    /**
+     * 새 파일 등록 (이미 있으면 false)
+     */
+    public boolean insert(StorageFileDto file, LocalDateTime indexedAt) {
+        try {
+            return jdbcTemplate.update(
+                    "INSERT INTO LAB_STORAGE_FILE (" + COLUMNS + ", INDEXED_DATE) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    file.getPath(), file.getCategory(), file.getSize(), file.getMimeType(), file.getHash(), file.getOwner(),
+                    toTimestamp(file.getModifiedDate()), Timestamp.valueOf(indexedAt)) > 0;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 기존 파일 갱신 (해시/소유자는 새 값이 있을 때만 변경)
+     */
+    public int update(StorageFileDto file, LocalDateTime indexedAt) {
+        return jdbcTemplate.update(
+                "UPDATE LAB_STORAGE_FILE SET SIZE = ?, MIME_TYPE = ?, HASH = NVL(?, HASH), OWNER = NVL(?, OWNER), " +
+                        "MODIFIED_DATE = ?, INDEXED_DATE = ? WHERE PATH = ?",
+                file.getSize(), file.getMimeType(), file.getHash(), file.getOwner(),
+                toTimestamp(file.getModifiedDate()), Timestamp.valueOf(indexedAt), file.getPath());
+    }
+
+    public int delete(String path) {
+        return jdbcTemplate.update("DELETE FROM LAB_STORAGE_FILE WHERE PATH = ?", path);
+    }
+
+    /**
+     * 분류별 집계 증감
+     */
+    public void addToStats(String category, long fileCountDelta, long sizeDelta) {
+        jdbcTemplate.update(
+                "MERGE INTO LAB_STORAGE_STATS s USING (SELECT ? AS CATEGORY FROM DUAL) d ON (s.CATEGORY = d.CATEGORY) " +
+                        "WHEN MATCHED THEN UPDATE SET s.FILE_COUNT = GREATEST(s.FILE_COUNT + ?, 0), " +
+                        "s.TOTAL_SIZE = GREATEST(s.TOTAL_SIZE + ?, 0) " +
+                        "WHEN NOT MATCHED THEN INSERT (CATEGORY, FILE_COUNT, TOTAL_SIZE) VALUES (d.CATEGORY, GREATEST(?, 0), GREATEST(?, 0))",
+                category, fileCountDelta, sizeDelta, fileCountDelta, sizeDelta);
+    }
+
+    /**
+     * 분류별 집계 (분류 수만큼의 행)
+     */
+    public List<CategoryStatsRow> findStats() {
+        return jdbcTemplate.query("SELECT CATEGORY, FILE_COUNT, TOTAL_SIZE FROM LAB_STORAGE_STATS ORDER BY CATEGORY",
+                (rs, rowNum) -> new CategoryStatsRow(rs.getString("CATEGORY"), rs.getLong("FILE_COUNT"), rs.getLong("TOTAL_SIZE")));
+    }
+
+    /**
+     * 색인 목록 (경로 순, after 이후, 분류/MIME 접두사/소유자 필터)
+     */
+    public List<StorageFileDto> findPage(String category, String mimePrefix, String owner, String after, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM LAB_STORAGE_FILE WHERE 1 = 1 ");
+        if (category != null) {
+            sql.append("AND CATEGORY = ? ");
+            args.add(category);
+        }
+        if (mimePrefix != null) {
+            sql.append("AND MIME_TYPE LIKE ? ");
+            args.add(mimePrefix.replace("%", "") + "%");
+        }
+        if (owner != null) {
+            sql.append("AND OWNER = ? ");
+            args.add(owner);
+        }
+        if (after != null) {
+            sql.append("AND PATH > ? ");
+            args.add(after);
+        }
+        sql.append("ORDER BY PATH FETCH FIRST ? ROWS ONLY");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    /**
+     * 전체 검사 결과 일괄 반영 (있으면 갱신, 없으면 등록, 검사 시각 기록)
+     */
+    public void mergeScanned(List<StorageFileDto> files, LocalDateTime scannedAt) {
+        jdbcTemplate.batchUpdate(
+                "MERGE INTO LAB_STORAGE_FILE f USING (SELECT ? AS PATH FROM DUAL) d ON (f.PATH = d.PATH) " +
+                        "WHEN MATCHED THEN UPDATE SET f.SIZE = ?, f.MIME_TYPE = ?, f.HASH = NVL(?, f.HASH), " +
+                        "f.MODIFIED_DATE = ?, f.INDEXED_DATE = ? " +
+                        "WHEN NOT MATCHED THEN INSERT (PATH, CATEGORY, SIZE, MIME_TYPE, HASH, MODIFIED_DATE, INDEXED_DATE) " +
+                        "VALUES (d.PATH, ?, ?, ?, ?, ?, ?)",
+                files.stream().map(file -> new Object[]{
+                        file.getPath(),
+                        file.getSize(), file.getMimeType(), file.getHash(), toTimestamp(file.getModifiedDate()), Timestamp.valueOf(scannedAt),
+                        file.getCategory(), file.getSize(), file.getMimeType(), file.getHash(), toTimestamp(file.getModifiedDate()),
+                        Timestamp.valueOf(scannedAt)
+                }).toList());
+    }
+
+    /**
+     * 전체 검사에서 발견되지 않은 색인 삭제 (검사 중 업로드로 등록된 행은 색인 시각이 더 늦어 유지)
+     */
+    public int deleteNotScannedSince(LocalDateTime scanStartedAt) {
+        return jdbcTemplate.update("DELETE FROM LAB_STORAGE_FILE WHERE INDEXED_DATE < ?", Timestamp.valueOf(scanStartedAt));
+    }
+
+    /**
+     * 집계를 색인 기준으로 다시 계산 (전체 검사 후)
+     * 삭제와 재삽입을 한 트랜잭션으로 묶어, 그 사이 조회가 빈 집계를 보거나 동시 증감이 유실되지 않게 한다.
+     */
+    @Transactional
+    public void rebuildStats() {
+        jdbcTemplate.update("DELETE FROM LAB_STORAGE_STATS");
+        jdbcTemplate.update(
+                "INSERT INTO LAB_STORAGE_STATS (CATEGORY, FILE_COUNT, TOTAL_SIZE) " +
+                        "SELECT CATEGORY, COUNT(*), NVL(SUM(SIZE), 0) FROM LAB_STORAGE_FILE GROUP BY CATEGORY");
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+
+    public record CategoryStatsRow(String category, long fileCount, long totalSize) {
+    }
+}
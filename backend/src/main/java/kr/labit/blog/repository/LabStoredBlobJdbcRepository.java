@@ -0,0 +1,95 @@
+package kr.labit.blog.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * 내용 주소 기반 파일(blob) 메타데이터 JDBC 리포지토리
+ * 같은 내용(SHA-256)은 한 행/한 파일만 두고, 참조하는 에셋/프로필 이미지/썸네일 수를 REF_COUNT 로 증감한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LabStoredBlobJdbcRepository {
+
+    private static final RowMapper<StoredBlobRow> ROW_MAPPER = (rs, rowNum) -> new StoredBlobRow(
+            rs.getString("HASH"),
+            rs.getString("STORAGE_PATH"),
+            rs.getLong("SIZE"),
+            rs.getString("MIME_TYPE"),
+            rs.getLong("REF_COUNT"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<StoredBlobRow> findByHash(String hash) {
+        return jdbcTemplate.query(
+                "SELECT HASH, STORAGE_PATH, SIZE, MIME_TYPE, REF_COUNT FROM LAB_STORED_BLOB WHERE HASH = ?",
+                ROW_MAPPER, hash).stream().findFirst();
+    }
+
+    public Optional<StoredBlobRow> findByStoragePath(String storagePath) {
+        return jdbcTemplate.query(
+                "SELECT HASH, STORAGE_PATH, SIZE, MIME_TYPE, REF_COUNT FROM LAB_STORED_BLOB WHERE STORAGE_PATH = ?",
+                ROW_MAPPER, storagePath).stream().findFirst();
+    }
+
+    /**
+     * 메타데이터 등록 (참조 수 0, 같은 내용이 이미 등록되어 있으면 false)
+     */
+    public boolean insertIfAbsent(String hash, String storagePath, long size, String mimeType) {
+        try {
+            return jdbcTemplate.update(
+                    "INSERT INTO LAB_STORED_BLOB (HASH, STORAGE_PATH, SIZE, MIME_TYPE, REF_COUNT, CREATED_DATE, LAST_USED_DATE) " +
+                            "VALUES (?, ?, ?, ?, 0, SYSTIMESTAMP, SYSTIMESTAMP)",
+                    hash, storagePath, size, mimeType) > 0;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 중복 업로드 시 사용 시각 갱신 (참조 전 정리 대상에서 제외)
+     */
+    public int touch(String hash) {
+        return jdbcTemplate.update("UPDATE LAB_STORED_BLOB SET LAST_USED_DATE = SYSTIMESTAMP WHERE HASH = ?", hash);
+    }
+
+    /**
+     * 참조 수 증감 (경로별 delta, 0 미만으로는 내려가지 않음)
+     */
+    public int[] addReferences(Collection<String> storagePaths, long delta) {
+        return jdbcTemplate.batchUpdate(
+                "UPDATE LAB_STORED_BLOB SET REF_COUNT = GREATEST(REF_COUNT + ?, 0), LAST_USED_DATE = SYSTIMESTAMP " +
+                        "WHERE STORAGE_PATH = ?",
+                storagePaths.stream().map(path -> new Object[]{delta, path}).toList());
+    }
+
+    /**
+     * 참조가 없을 때만 메타데이터 삭제
+     */
+    public boolean deleteIfUnreferenced(String hash) {
+        return jdbcTemplate.update("DELETE FROM LAB_STORED_BLOB WHERE HASH = ? AND REF_COUNT = 0", hash) > 0;
+    }
+
+    /**
+     * cutoff 이전부터 업로드/참조 변경이 없을 때만 메타데이터 삭제 (참조 수와 무관, 고아 파일 수집 전용)
+     * 참조 집합 계산 후 참조되거나 같은 내용이 다시 업로드된 blob 은 LAST_USED_DATE 가 갱신되어 남는다.
+     */
+    public boolean deleteIfUnusedSince(String hash, LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM LAB_STORED_BLOB WHERE HASH = ? AND LAST_USED_DATE < ?",
+                hash, Timestamp.valueOf(cutoff)) > 0;
+    }
+
+    /**
+     * blob 메타데이터 (STORAGE_PATH 는 업로드 루트 기준 상대 경로)
+     */
+    public record StoredBlobRow(String hash, String storagePath, long size, String mimeType, long refCount) {
+    }
+}
@@ -0,0 +1,74 @@
+package kr.labit.blog.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 분할 업로드 세션 JDBC 리포지토리
+ * RECEIVED_SIZE 는 앞에서부터 빈틈없이 기록된 바이트 수 (재개 시 다음 청크 시작 위치)
+ */
+@Repository
+@RequiredArgsConstructor
+public class LabUploadSessionJdbcRepository {
+
+    private static final String COLUMNS =
+            "ID, OWNER, PURPOSE, FILE_NAME, MIME_TYPE, TOTAL_SIZE, RECEIVED_SIZE, CREATED_DATE, EXPIRES_DATE";
+
+    private static final RowMapper<UploadSessionRow> ROW_MAPPER = (rs, rowNum) -> new UploadSessionRow(
+            rs.getString("ID"),
+            rs.getString("OWNER"),
+            rs.getString("PURPOSE"),
+            rs.getString("FILE_NAME"),
+            rs.getString("MIME_TYPE"),
+            rs.getLong("TOTAL_SIZE"),
+            rs.getLong("RECEIVED_SIZE"),
+            rs.getTimestamp("CREATED_DATE").toLocalDateTime(),
+            rs.getTimestamp("EXPIRES_DATE").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(UploadSessionRow session) {
+        jdbcTemplate.update("INSERT INTO LAB_UPLOAD_SESSION (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                session.id(), session.owner(), session.purpose(), session.fileName(), session.mimeType(),
+                session.totalSize(), session.receivedSize(),
+                Timestamp.valueOf(session.createdDate()), Timestamp.valueOf(session.expiresDate()));
+    }
+
+    public Optional<UploadSessionRow> findById(String id) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM LAB_UPLOAD_SESSION WHERE ID = ?", ROW_MAPPER, id)
+                .stream().findFirst();
+    }
+
+    /**
+     * 수신 위치 갱신 (청크를 받을 때마다 만료 시각도 연장)
+     */
+    public void updateReceived(String id, long receivedSize, LocalDateTime expiresDate) {
+        jdbcTemplate.update("UPDATE LAB_UPLOAD_SESSION SET RECEIVED_SIZE = ?, EXPIRES_DATE = ? WHERE ID = ?",
+                receivedSize, Timestamp.valueOf(expiresDate), id);
+    }
+
+    public int delete(String id) {
+        return jdbcTemplate.update("DELETE FROM LAB_UPLOAD_SESSION WHERE ID = ?", id);
+    }
+
+    /**
+     * 만료된 세션 ID (오래된 순)
+     */
+    public List<String> findExpiredIds(LocalDateTime now, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT ID FROM LAB_UPLOAD_SESSION WHERE EXPIRES_DATE < ? ORDER BY EXPIRES_DATE FETCH FIRST ? ROWS ONLY",
+                String.class, Timestamp.valueOf(now), limit);
+    }
+
+    public record UploadSessionRow(String id, String owner, String purpose, String fileName, String mimeType,
+                                   long totalSize, long receivedSize, LocalDateTime createdDate,
+                                   LocalDateTime expiresDate) {
+    }
+}
@@ -0,0 +1,111 @@
+package kr.labit.blog.repository;
+
+import kr.labit.blog.dto.PostResponseDto;
+import kr.labit.blog.dto.PostSummaryDto;
+import kr.labit.blog.entity.LabPost;
+import kr.labit.blog.entity.PostStatus;
+import kr.labit.blog.exception.GlobalExceptionHandler.BusinessException;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * 포스트 목록 조회 시 선택 가능한 필드와 JPQL 경로
+ * (p: LabPost, c: 카테고리, a: 작성자)
+ */
+@Getter
+public enum PostSummaryField {
+    ID("id", (dto, v) -> dto.setId((Long) v[0]), "p.id"),
+    TITLE("title", (dto, v) -> dto.setTitle((String) v[0]), "p.title"),
+    SUMMARY("summary", (dto, v) -> dto.setSummary((String) v[0]), "p.summary"),
+    THUMBNAIL_URL("thumbnailUrl", (dto, v) -> dto.setThumbnailUrl((String) v[0]), "p.thumbnailUrl"),
+    TAGS("tags", (dto, v) -> dto.setTags(LabPost.parseTags((String) v[0])), "p.tags"),
+    CATEGORY("category", (dto, v) -> dto.setCategory(v[0] == null ? null : PostResponseDto.CategoryDto.builder()
+            .id((Long) v[0])
+            .label((String) v[1])
+            .href((String) v[2])
+            .build()), "c.id", "c.label", "c.href"),
+    AUTHOR("author", (dto, v) -> dto.setAuthor(PostResponseDto.AuthorDto.builder()
+            .id((Long) v[0])
+            .nickname((String) v[1])
+            .profileImage((String) v[2])
+            .build()), "a.id", "a.nickname", "a.profileImage"),
+    STATUS("status", (dto, v) -> dto.setStatus(((PostStatus) v[0]).name()), "p.status"),
+    VIEW_COUNT("viewCount", (dto, v) -> dto.setViewCount((Long) v[0]), "p.viewCount"),
+    LIKE_COUNT("likeCount", (dto, v) -> dto.setLikeCount((Long) v[0]), "p.likeCount"),
+    COMMENT_COUNT("commentCount", (dto, v) -> dto.setCommentCount((Long) v[0]), "p.commentCount"),
+    IS_FEATURED("isFeatured", (dto, v) -> dto.setIsFeatured((Boolean) v[0]), "p.isFeatured"),
+    PUBLISHED_DATE("publishedDate", (dto, v) -> dto.setPublishedDate((LocalDateTime) v[0]), "p.publishedDate"),
+    CREATED_DATE("createdDate", (dto, v) -> dto.setCreatedDate((LocalDateTime) v[0]), "p.createdDate"),
+    MODIFIED_DATE("modifiedDate", (dto, v) -> dto.setModifiedDate((LocalDateTime) v[0]), "p.modifiedDate");
+
+    private final String fieldName;
+    private final BiConsumer<PostSummaryDto, Object[]> binder;
+    private final List<String> paths;
+
+    PostSummaryField(String fieldName, BiConsumer<PostSummaryDto, Object[]> binder, String... paths) {
+        this.fieldName = fieldName;
+        this.binder = binder;
+        this.paths = List.of(paths);
+    }
+
+    /**
+     * 이미 조회된 요약에서 요청한 필드만 남긴 사본 생성 (메모리 캐시 결과용)
+     */
+    public static PostSummaryDto project(PostSummaryDto source, Set<PostSummaryField> fields) {
+        if (fields.size() == values().length) {
+            return source;
+        }
+
+        PostSummaryDto target = new PostSummaryDto();
+        for (PostSummaryField field : fields) {
+            switch (field) {
+                case ID -> target.setId(source.getId());
+                case TITLE -> target.setTitle(source.getTitle());
+                case SUMMARY -> target.setSummary(source.getSummary());
+                case THUMBNAIL_URL -> target.setThumbnailUrl(source.getThumbnailUrl());
+                case TAGS -> target.setTags(source.getTags());
+                case CATEGORY -> target.setCategory(source.getCategory());
+                case AUTHOR -> target.setAuthor(source.getAuthor());
+                case STATUS -> target.setStatus(source.getStatus());
+                case VIEW_COUNT -> target.setViewCount(source.getViewCount());
+                case LIKE_COUNT -> target.setLikeCount(source.getLikeCount());
+                case COMMENT_COUNT -> target.setCommentCount(source.getCommentCount());
+                case IS_FEATURED -> target.setIsFeatured(source.getIsFeatured());
+                case PUBLISHED_DATE -> target.setPublishedDate(source.getPublishedDate());
+                case CREATED_DATE -> target.setCreatedDate(source.getCreatedDate());
+                case MODIFIED_DATE -> target.setModifiedDate(source.getModifiedDate());
+            }
+        }
+        return target;
+    }
+
+    /**
+     * fields 파라미터 해석 (비어 있으면 전체 필드, id 는 항상 포함)
+     */
+    public static Set<PostSummaryField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(PostSummaryField.class);
+        }
+
+        Set<PostSummaryField> result = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            result.add(Arrays.stream(values())
+                    .filter(field -> field.fieldName.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new BusinessException(HttpStatus.BAD_REQUEST, "INVALID_FIELDS",
+                            "지원하지 않는 필드입니다: " + trimmed)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,173 @@
+package kr.labit.blog.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import kr.labit.blog.dto.PostCursor;
+import kr.labit.blog.dto.PostSummaryDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 포스트 목록 요약 조회 리포지토리
+ * - 요청한 필드만 SELECT (본문 CLOB 제외)
+ * - 작성자/카테고리는 필요한 경우에만 한 번의 조인으로 조회 (N+1 없음)
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostSummaryQueryRepository {
+
+    private static final String PUBLISHED = "p.status = 'PUBLISHED'";
+    private static final String LATEST_FIRST = " ORDER BY p.publishedDate DESC, p.id DESC";
+    private static final String KEYWORD_MATCH = " AND (p.title LIKE :keyword OR p.content LIKE :keyword)";
+
+    // Oracle IN 목록 최대 개수 (ORA-01795)
+    private static final int MAX_IN_LIST_SIZE = 1000;
+
+    private final EntityManager entityManager;
+
+    /**
+     * 발행된 포스트 요약 조회 (카테고리/태그 필터, 커서 또는 offset)
+     */
+    public List<PostSummaryDto> findPublished(Set<PostSummaryField> fields, Long categoryId, String tagKey,
+                                              PostCursor cursor, long offset, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder where = new StringBuilder(PUBLISHED);
+        appendFilters(where, params, categoryId, tagKey);
+
+        if (cursor != null) {
+            where.append(" AND (p.publishedDate < :cursorDate OR (p.publishedDate = :cursorDate AND p.id < :cursorId))");
+            params.put("cursorDate", cursor.getPublishedDate());
+            params.put("cursorId", cursor.getId());
+        }
+
+        return query(fields, where.toString(), LATEST_FIRST, params, offset, limit);
+    }
+
+    /**
+     * 발행된 포스트 수 (카테고리/태그 필터)
+     */
+    public long countPublished(Long categoryId, String tagKey) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder where = new StringBuilder(PUBLISHED);
+        appendFilters(where, params, categoryId, tagKey);
+
+        TypedQuery<Long> query = entityManager.createQuery(
+                "SELECT COUNT(p) FROM LabPost p WHERE " + where, Long.class);
+        params.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    /**
+     * 제목/본문에 키워드가 포함된 발행 포스트 요약 조회 (검색 색인 준비 전 대체용, 최신순)
+     */
+    public List<PostSummaryDto> searchPublished(Set<PostSummaryField> fields, String keyword, long offset, int limit) {
+        return query(fields, PUBLISHED + KEYWORD_MATCH, LATEST_FIRST, Map.of("keyword", "%" + keyword + "%"), offset, limit);
+    }
+
+    /**
+     * 제목/본문에 키워드가 포함된 발행 포스트 수
+     */
+    public long countSearchPublished(String keyword) {
+        TypedQuery<Long> query = entityManager.createQuery(
+                "SELECT COUNT(p) FROM LabPost p WHERE " + PUBLISHED + KEYWORD_MATCH, Long.class);
+        query.setParameter("keyword", "%" + keyword + "%");
+        return query.getSingleResult();
+    }
+
+    /**
+     * ID 목록 순서대로 발행 포스트 요약 조회 (삭제/미발행 포스트는 제외, IN 목록은 1000개 단위로 나누어 조회)
+     */
+    public List<PostSummaryDto> findByIds(Set<PostSummaryField> fields, List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<PostSummaryDto> rows = new ArrayList<>(postIds.size());
+        for (int i = 0; i < postIds.size(); i += MAX_IN_LIST_SIZE) {
+            List<Long> chunk = postIds.subList(i, Math.min(i + MAX_IN_LIST_SIZE, postIds.size()));
+            rows.addAll(query(fields, PUBLISHED + " AND p.id IN :ids", "", Map.of("ids", chunk), 0, chunk.size()));
+        }
+
+        Map<Long, Integer> order = new HashMap<>();
+        for (int i = 0; i < postIds.size(); i++) {
+            order.putIfAbsent(postIds.get(i), i);
+        }
+        return rows.stream()
+                .sorted(Comparator.comparing(dto -> order.get(dto.getId())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 추천 포스트 요약 조회
+     */
+    public List<PostSummaryDto> findFeatured(Set<PostSummaryField> fields) {
+        return query(fields, PUBLISHED + " AND p.isFeatured = true", LATEST_FIRST, Map.of(), 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 인기 포스트 요약 조회 (기간 내 조회수 기준)
+     */
+    public List<PostSummaryDto> findPopular(Set<PostSummaryField> fields, LocalDateTime fromDate, int limit) {
+        return query(fields, PUBLISHED + " AND p.publishedDate >= :fromDate", " ORDER BY p.viewCount DESC, p.id DESC",
+                Map.of("fromDate", fromDate), 0, limit);
+    }
+
+    private void appendFilters(StringBuilder where, Map<String, Object> params, Long categoryId, String tagKey) {
+        if (categoryId != null) {
+            where.append(" AND p.category.id = :categoryId");
+            params.put("categoryId", categoryId);
+        }
+        if (tagKey != null) {
+            where.append(" AND p.id IN (SELECT t.postId FROM LabPostTag t WHERE t.tagKey = :tagKey)");
+            params.put("tagKey", tagKey);
+        }
+    }
+
+    private List<PostSummaryDto> query(Set<PostSummaryField> fields, String where, String orderBy,
+                                       Map<String, Object> params, long offset, int limit) {
+        List<PostSummaryField> selected = new ArrayList<>(fields);
+        String select = selected.stream()
+                .flatMap(field -> field.getPaths().stream())
+                .collect(Collectors.joining(", "));
+
+        StringBuilder jpql = new StringBuilder("SELECT ").append(select).append(" FROM LabPost p");
+        if (fields.contains(PostSummaryField.AUTHOR)) {
+            jpql.append(" JOIN p.author a");
+        }
+        if (fields.contains(PostSummaryField.CATEGORY)) {
+            jpql.append(" LEFT JOIN p.category c");
+        }
+        jpql.append(" WHERE ").append(where).append(orderBy);
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        params.forEach(query::setParameter);
+        query.setFirstResult((int) offset);
+        query.setMaxResults(limit);
+
+        return query.getResultList().stream()
+                .map(row -> toDto(selected, row))
+                .collect(Collectors.toList());
+    }
+
+    private PostSummaryDto toDto(List<PostSummaryField> selected, Object[] row) {
+        PostSummaryDto dto = new PostSummaryDto();
+        int index = 0;
+        for (PostSummaryField field : selected) {
+            int width = field.getPaths().size();
+            Object[] values = new Object[width];
+            System.arraycopy(row, index, values, 0, width);
+            field.getBinder().accept(dto, values);
+            index += width;
+        }
+        return dto;
+    }
+}
@@ -3,6 +3,7 @@ package kr.labit.blog.service;
 import kr.labit.blog.dto.AdminDTO;
 import kr.labit.blog.entity.LabAdmin;
 import kr.labit.blog.repository.AdminRepository;
+import kr.labit.blog.service.storage.BlobStorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -15,6 +16,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class AdminService {
 
     private final AdminRepository adminRepository;
+    private final ViewCountService viewCountService;
+    private final BlobStorageService blobStorageService;
 
     /**
      * 활성화된 관리자 정보 조회
@@ -32,17 +35,10 @@ public class AdminService {
     }
 
     /**
-     * 관리자 조회수 증가
+     * 관리자 조회수 증가 (메모리에 누적 후 주기적으로 일괄 반영)
      */
-    @Transactional
     public void incrementTotalViews() {
-        LabAdmin admin = adminRepository.findActiveAdmin()
-                .orElseThrow(() -> new RuntimeException("활성화된 관리자를 찾을 수 없습니다."));
-
-        admin.setTotalViews(admin.getTotalViews() + 1);
-        adminRepository.save(admin);
-
-        log.debug("관리자 총 조회수 증가: {}", admin.getTotalViews());
+        viewCountService.recordTotalView();
     }
 
     /**
@@ -58,7 +54,8 @@ public class AdminService {
                 .location(admin.getLocation())
                 .email(admin.getEmail())
                 .githubUrl(admin.getGithubUrl())
-                .totalViews(formatViews(admin.getTotalViews()))
+                .totalViews(formatViews((admin.getTotalViews() != null ? admin.getTotalViews() : 0L)
+                        + viewCountService.getPendingTotalViews()))
                 .startYear(admin.getStartYear())
                 .build();
     }
@@ -136,7 +133,9 @@ public class AdminService {
 
         // 프로필 이미지 URL 업데이트 (있는 경우)
         if (adminDTO.getProfileImage() != null && !adminDTO.getProfileImage().trim().isEmpty()) {
+            String oldProfileImage = admin.getProfileImage();
             admin.setProfileImage(adminDTO.getProfileImage().trim());
+            blobStorageService.replaceReference(oldProfileImage, admin.getProfileImage());
         }
 
         // 저장
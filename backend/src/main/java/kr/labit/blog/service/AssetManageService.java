@@ -1,25 +1,52 @@
 package kr.labit.blog.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.persistence.EntityNotFoundException;
+import kr.labit.blog.dto.CursorPageDto;
 import kr.labit.blog.dto.asset.AssetFileResponseDto;
+import kr.labit.blog.dto.asset.AssetFileUrlDto;
 import kr.labit.blog.dto.asset.AssetFolderRequestDto;
 import kr.labit.blog.dto.asset.AssetFolderResponseDto;
 import kr.labit.blog.dto.asset.AssetOrderDto;
 import kr.labit.blog.entity.LabAsset;
 import kr.labit.blog.entity.LabUsers;
+import kr.labit.blog.exception.GlobalExceptionHandler.BusinessException;
+import kr.labit.blog.repository.LabAssetQueryJdbcRepository;
+import kr.labit.blog.repository.LabAssetQueryJdbcRepository.AssetCursor;
+import kr.labit.blog.repository.LabAssetQueryJdbcRepository.AssetRow;
 import kr.labit.blog.repository.LabAssetRepository;
+import kr.labit.blog.repository.LabAssetTreeJdbcRepository;
+import kr.labit.blog.repository.LabAssetTreeJdbcRepository.TreeState;
 import kr.labit.blog.repository.LabUsersRepository;
+import kr.labit.blog.service.storage.ContentAddressableStore.StagedContent;
+import kr.labit.blog.service.storage.PrivateFileRegistry;
+import kr.labit.blog.service.storage.SignedUrlService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,54 +54,202 @@ import java.util.List;
 @Slf4j
 public class AssetManageService {
 
+    private static final int MAX_CHILDREN_PAGE_SIZE = 200;
+
     private final LabAssetRepository assetRepository;
     private final LabUsersRepository usersRepository;
     private final FileStorageService fileStorageService;
     private final ActivityLogService activityLogService;
+    private final LabAssetQueryJdbcRepository assetQueryRepository;
+    private final LabAssetTreeJdbcRepository treeRepository;
+    private final ObjectMapper objectMapper;
+    private final PrivateFileRegistry privateFileRegistry;
+    private final SignedUrlService signedUrlService;
+
+    /**
+     * 모든 에셋 내보내기 (관리자용)
+     * 행을 읽는 대로 JSON 배열로 바로 기록하여 에셋 수와 무관하게 메모리 사용이 일정하다.
+     */
+    public void exportAllAssets(OutputStream outputStream) throws IOException {
+        log.info("모든 에셋 내보내기");
+
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        int[] count = {0};
+        long expiresAt = signedUrlService.nextExpiry();
+
+        generator.writeStartArray();
+        try {
+            assetQueryRepository.streamAll(row -> {
+                try {
+                    if (row.asset() instanceof AssetFileResponseDto file && privateFileRegistry.isPrivateUrl(file.getUrl())) {
+                        file.setUrl(signedUrlService.sign(file.getUrl(), expiresAt, null));
+                    }
+                    writer.writeValue(generator, row.asset());
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        generator.writeEndArray();
+        generator.flush();
+
+        log.info("모든 에셋 내보내기 완료: {} 건", count[0]);
+    }
+
+    /**
+     * 폴더의 하위 폴더/파일 조회 (폴더 먼저, 커서 페이징)
+     * 폴더별 파일 수/총 크기와 업로더 닉네임을 한 번의 쿼리로 함께 조회
+     */
+    @Cacheable(value = "adminAssets", key = "'children:' + #folderId + ':' + #cursorToken + ':' + #size", sync = true)
+    public CursorPageDto<Object> getAssetChildren(Long folderId, String cursorToken, int size) {
+        log.info("에셋 하위 목록 조회: 폴더ID={}, 커서={}", folderId, cursorToken);
+
+        if (folderId != null) {
+            LabAsset folder = assetRepository.findById(folderId)
+                    .orElseThrow(() -> new EntityNotFoundException("폴더를 찾을 수 없습니다: " + folderId));
+
+            if (!folder.isFolder()) {
+                throw new IllegalArgumentException("지정된 ID가 폴더가 아닙니다.");
+            }
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_CHILDREN_PAGE_SIZE));
+        List<AssetRow> rows = assetQueryRepository.findChildren(folderId, decodeChildrenCursor(cursorToken), pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            AssetCursor last = rows.get(rows.size() - 1).cursor();
+            nextCursor = last.kind() + ":" + last.sortOrder() + ":" + last.id();
+        }
+
+        return CursorPageDto.<Object>builder()
+                .content(rows.stream().map(AssetRow::asset).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(rows.size())
+                .build();
+    }
+
+    /**
+     * 목록의 비공개 파일 URL 을 서명 URL 로 교체
+     * 캐시된 목록은 서명 없이 보관하고 응답할 때마다 서명하여, 캐시 수명과 무관하게 유효한 URL 을 내려준다.
+     * (캐시된 객체를 바꾸지 않도록 비공개 파일 항목만 복사)
+     */
+    public CursorPageDto<Object> signPrivateUrls(CursorPageDto<Object> page) {
+        boolean hasPrivate = page.getContent().stream()
+                .anyMatch(item -> item instanceof AssetFileResponseDto file && privateFileRegistry.isPrivateUrl(file.getUrl()));
+        if (!hasPrivate) {
+            return page;
+        }
+
+        long expiresAt = signedUrlService.nextExpiry();
+        List<Object> content = page.getContent().stream()
+                .map(item -> item instanceof AssetFileResponseDto file && privateFileRegistry.isPrivateUrl(file.getUrl())
+                        ? (Object) file.toBuilder().url(signedUrlService.sign(file.getUrl(), expiresAt, null)).build()
+                        : item)
+                .collect(Collectors.toList());
+
+        return CursorPageDto.<Object>builder()
+                .content(content)
+                .nextCursor(page.getNextCursor())
+                .hasNext(page.isHasNext())
+                .size(page.getSize())
+                .build();
+    }
+
+    /**
+     * 에셋 파일 접근 URL 발급 (비공개 파일이면 서명 URL, bindUser 이면 발급한 사용자 ID 를 서명에 포함)
+     */
+    public AssetFileUrlDto getFileAccessUrl(Long id, boolean bindUser) {
+        LabAsset asset = assetRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("파일을 찾을 수 없습니다: " + id));
+
+        if (!asset.isFile()) {
+            throw new IllegalArgumentException("파일이 아닙니다.");
+        }
+
+        if (!privateFileRegistry.isPrivateUrl(asset.getUrl())) {
+            return AssetFileUrlDto.builder()
+                    .id(id)
+                    .url(asset.getUrl())
+                    .isPublic(asset.getIsPublic())
+                    .build();
+        }
+
+        Long userId = null;
+        if (bindUser) {
+            LabUsers user = getCurrentUser();
+            userId = user != null ? user.getId() : null;
+        }
+        long expiresAt = signedUrlService.nextExpiry();
+
+        return AssetFileUrlDto.builder()
+                .id(id)
+                .url(signedUrlService.sign(asset.getUrl(), expiresAt, userId))
+                .isPublic(asset.getIsPublic())
+                .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochSecond(expiresAt), ZoneId.systemDefault()))
+                .build();
+    }
 
     /**
-     * 모든 에셋 조회 (관리자용)
+     * 공유 blob 을 가리키는 비공개 파일 에셋을 전용 파일로 분리 (기동 시, 이전에 비공개로 바뀐 에셋 정리)
      */
-    @Cacheable(value = "adminAssets")
-    public List<Object> getAllAssets() {
-        log.info("모든 에셋 조회");
-
-        List<LabAsset> assets = assetRepository.findAllOrderBySortOrder();
-        List<Object> result = new ArrayList<>();
-
-        for (LabAsset asset : assets) {
-            if (asset.isFolder()) {
-                result.add(AssetFolderResponseDto.builder()
-                        .id(asset.getId())
-                        .name(asset.getName())
-                        .description(asset.getDescription())
-                        .parentId(asset.getParentId())
-                        .sortOrder(asset.getSortOrder())
-                        .depth(asset.getDepth())
-                        .createdDate(asset.getCreatedDate())
-                        .modifiedDate(asset.getModifiedDate())
-                        .type("folder")
-                        .fileCount(countFilesInFolder(asset.getId()))
-                        .build());
-            } else {
-                result.add(AssetFileResponseDto.builder()
-                        .id(asset.getId())
-                        .name(asset.getName())
-                        .originalName(asset.getOriginalName())
-                        .url(asset.getUrl())
-                        .mimeType(asset.getMimeType())
-                        .size(asset.getSize())
-                        .folderId(asset.getFolderId())
-                        .sortOrder(asset.getSortOrder())
-                        .uploadedDate(asset.getCreatedDate())
-                        .type("file")
-                        .uploaderName(asset.getUploader() != null ? asset.getUploader().getNickname() : null)
-                        .description(asset.getDescription())
-                        .build());
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void separatePrivateFiles() {
+        try {
+            int separated = 0;
+            for (LabAsset asset : assetRepository.findPrivateFiles()) {
+                String privateUrl = fileStorageService.makePrivate(asset.getUrl());
+                if (!privateUrl.equals(asset.getUrl())) {
+                    asset.setUrl(privateUrl);
+                    separated++;
+                }
+            }
+            if (separated > 0) {
+                privateFileRegistry.refreshAfterCommit();
+                log.info("비공개 에셋 파일 분리 완료: {} 건", separated);
             }
+        } catch (Exception e) {
+            log.error("비공개 에셋 파일 분리 중 오류 발생", e);
+        }
+    }
+
+    /**
+     * 에셋 파일 공개 여부 변경 (비공개 파일은 서명 URL 로만 제공)
+     */
+    @Transactional
+    @CacheEvict(value = "adminAssets", allEntries = true)
+    public void updateFileVisibility(Long id, boolean isPublic) {
+        log.info("에셋 파일 공개 여부 변경: ID={}, 공개={}", id, isPublic);
+
+        LabAsset asset = assetRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("파일을 찾을 수 없습니다: " + id));
+
+        if (!asset.isFile()) {
+            throw new IllegalArgumentException("파일이 아닙니다.");
+        }
+
+        // 비공개 파일은 다른 파일과 경로를 공유하지 않도록 전용 파일로 분리 (공개 전환 시 다시 blob 으로 합침)
+        if (!Boolean.valueOf(isPublic).equals(asset.getIsPublic()) && asset.getUrl() != null) {
+            asset.setUrl(isPublic
+                    ? fileStorageService.makePublic(asset.getUrl(), asset.getMimeType())
+                    : fileStorageService.makePrivate(asset.getUrl()));
         }
+        asset.setIsPublic(isPublic);
+        privateFileRegistry.refreshAfterCommit();
 
-        return result;
+        // 활동 로그 기록
+        activityLogService.logActivity("에셋 파일 공개 여부 변경",
+                (isPublic ? "공개: " : "비공개: ") + asset.getOriginalName(), "success", "asset", id);
     }
 
     /**
@@ -86,8 +261,9 @@ public class AssetManageService {
         log.info("에셋 폴더 생성: {}", requestDto.getName());
 
         // 부모 폴더 검증
+        LabAsset parent = null;
         if (requestDto.getParentId() != null) {
-            LabAsset parent = assetRepository.findById(requestDto.getParentId())
+            parent = assetRepository.findById(requestDto.getParentId())
                     .orElseThrow(() -> new EntityNotFoundException("부모 폴더를 찾을 수 없습니다: " + requestDto.getParentId()));
 
             if (!parent.isFolder()) {
@@ -96,7 +272,7 @@ public class AssetManageService {
         }
 
         Integer maxSortOrder = getMaxSortOrder(requestDto.getParentId());
-        Integer depth = calculateDepth(requestDto.getParentId());
+        Integer depth = parent != null ? (parent.getDepth() != null ? parent.getDepth() : 0) + 1 : 0;
 
         LabAsset folder = LabAsset.builder()
                 .name(requestDto.getName())
@@ -109,6 +285,8 @@ public class AssetManageService {
                 .build();
 
         LabAsset saved = assetRepository.save(folder);
+        // 시퀀스로 ID 가 정해진 뒤 INSERT 전에 경로 지정
+        saved.assignAssetPath(parent != null ? parent.getAssetPath() : null);
 
         // 활동 로그 기록
         activityLogService.logActivity("에셋 폴더 생성", "폴더 생성: " + saved.getName(),
@@ -125,6 +303,8 @@ public class AssetManageService {
                 .modifiedDate(saved.getModifiedDate())
                 .type("folder")
                 .fileCount(0)
+                .totalFileCount(0L)
+                .totalSize(0L)
                 .build();
     }
 
@@ -165,6 +345,8 @@ public class AssetManageService {
                 .modifiedDate(updated.getModifiedDate())
                 .type("folder")
                 .fileCount(countFilesInFolder(updated.getId()))
+                .totalFileCount(updated.getTotalFileCount())
+                .totalSize(updated.getTotalSize())
                 .build();
     }
 
@@ -183,21 +365,18 @@ public class AssetManageService {
             throw new IllegalArgumentException("폴더가 아닙니다.");
         }
 
-        // 하위 폴더나 파일들 확인
-        List<LabAsset> children = assetRepository.findByParentIdOrFolderId(id, id);
-        if (!children.isEmpty()) {
-            // 하위 파일들의 물리적 파일 삭제
-            for (LabAsset child : children) {
-                if (child.isFile() && child.getUrl() != null) {
-                    fileStorageService.deleteFile(child.getUrl());
-                }
-            }
-            // 하위 에셋들 삭제
-            assetRepository.deleteAll(children);
-        }
+        // 하위 전체 (모든 깊이) 를 경로 범위로 한 번에 삭제하고, 상위 폴더 집계에서 차감
+        TreeState state = getTreeState(id);
+        List<String> fileUrls = treeRepository.findFileUrlsInSubtree(state.path());
+        treeRepository.addToRollups(LabAsset.pathIds(state.path(), false), -state.totalFileCount(), -state.totalSize());
+        int deletedCount = treeRepository.deleteSubtree(state.path());
+        log.debug("에셋 폴더 하위 트리 삭제: ID={}, {} 건", id, deletedCount);
+
+        // 하위 파일들의 저장 파일 참조 해제
+        fileStorageService.releaseFiles(fileUrls);
+        privateFileRegistry.refreshAfterCommit();
 
         String deletedName = folder.getName();
-        assetRepository.delete(folder);
 
         // 활동 로그 기록
         activityLogService.logActivity("에셋 폴더 삭제", "폴더 삭제: " + deletedName,
@@ -213,33 +392,63 @@ public class AssetManageService {
         log.info("에셋 파일 업로드: 파일명={}, 폴더ID={}", file.getOriginalFilename(), folderId);
 
         // 폴더 검증
-        if (folderId != null) {
-            LabAsset folder = assetRepository.findById(folderId)
-                    .orElseThrow(() -> new EntityNotFoundException("폴더를 찾을 수 없습니다: " + folderId));
-
-            if (!folder.isFolder()) {
-                throw new IllegalArgumentException("지정된 ID가 폴더가 아닙니다.");
-            }
-        }
+        LabAsset folder = findTargetFolder(folderId);
 
         // 파일 저장
         String fileUrl = fileStorageService.storeFile(file);
 
+        return createFileAsset(folder, folderId, fileUrl, file.getOriginalFilename(), file.getContentType(), file.getSize());
+    }
+
+    /**
+     * 분할 업로드로 받은 에셋 파일 등록
+     */
+    @Transactional
+    @CacheEvict(value = "adminAssets", allEntries = true)
+    public AssetFileResponseDto uploadAssetFile(StagedContent content, String originalName, String mimeType, Long folderId) {
+        log.info("에셋 파일 분할 업로드 완료: 파일명={}, 폴더ID={}, 크기={}", originalName, folderId, content.size());
+
+        LabAsset folder = findTargetFolder(folderId);
+        String fileUrl = fileStorageService.storeStaged(content, originalName, mimeType);
+
+        return createFileAsset(folder, folderId, fileUrl, originalName, mimeType, content.size());
+    }
+
+    /**
+     * 업로드 대상 폴더 (최상위이면 null)
+     */
+    public LabAsset findTargetFolder(Long folderId) {
+        if (folderId == null) {
+            return null;
+        }
+        LabAsset folder = assetRepository.findById(folderId)
+                .orElseThrow(() -> new EntityNotFoundException("폴더를 찾을 수 없습니다: " + folderId));
+
+        if (!folder.isFolder()) {
+            throw new IllegalArgumentException("지정된 ID가 폴더가 아닙니다.");
+        }
+        return folder;
+    }
+
+    private AssetFileResponseDto createFileAsset(LabAsset folder, Long folderId, String fileUrl,
+                                                 String originalName, String mimeType, long size) {
         Integer maxSortOrder = getMaxSortOrderForFiles(folderId);
 
         LabAsset asset = LabAsset.builder()
-                .name(generateUniqueFileName(file.getOriginalFilename()))
-                .originalName(file.getOriginalFilename())
+                .name(generateUniqueFileName(originalName))
+                .originalName(originalName)
                 .type("file")
                 .url(fileUrl)
-                .mimeType(file.getContentType())
-                .size(file.getSize())
+                .mimeType(mimeType)
+                .size(size)
                 .folderId(folderId)
                 .sortOrder(maxSortOrder + 1)
                 .uploader(getCurrentUser())
                 .build();
 
         LabAsset saved = assetRepository.save(asset);
+        saved.assignAssetPath(folder != null ? folder.getAssetPath() : null);
+        treeRepository.addToRollups(saved.ancestorIds(), 1, size);
 
         // 활동 로그 기록
         activityLogService.logActivity("에셋 파일 업로드", "파일 업로드: " + saved.getOriginalName(),
@@ -257,6 +466,7 @@ public class AssetManageService {
                 .uploadedDate(saved.getCreatedDate())
                 .type("file")
                 .uploaderName(saved.getUploader() != null ? saved.getUploader().getNickname() : null)
+                .isPublic(saved.getIsPublic())
                 .build();
     }
 
@@ -275,14 +485,20 @@ public class AssetManageService {
             throw new IllegalArgumentException("파일이 아닙니다.");
         }
 
-        // 물리적 파일 삭제
-        if (asset.getUrl() != null) {
-            fileStorageService.deleteFile(asset.getUrl());
-        }
+        TreeState state = getTreeState(id);
+        treeRepository.addToRollups(LabAsset.pathIds(state.path(), false), -1, -state.size());
 
         String deletedName = asset.getOriginalName();
         assetRepository.delete(asset);
 
+        // 저장 파일 참조 해제
+        if (asset.getUrl() != null) {
+            fileStorageService.releaseFiles(List.of(asset.getUrl()));
+        }
+        if (Boolean.FALSE.equals(asset.getIsPublic())) {
+            privateFileRegistry.refreshAfterCommit();
+        }
+
         // 활동 로그 기록
         activityLogService.logActivity("에셋 파일 삭제", "파일 삭제: " + deletedName,
                 "success", "asset", id);
@@ -299,29 +515,9 @@ public class AssetManageService {
         LabAsset asset = assetRepository.findById(assetId)
                 .orElseThrow(() -> new EntityNotFoundException("에셋을 찾을 수 없습니다: " + assetId));
 
-        // 목표 폴더 검증
-        if (targetFolderId != null) {
-            LabAsset targetFolder = assetRepository.findById(targetFolderId)
-                    .orElseThrow(() -> new EntityNotFoundException("목표 폴더를 찾을 수 없습니다: " + targetFolderId));
-
-            if (!targetFolder.isFolder()) {
-                throw new IllegalArgumentException("목표가 폴더가 아닙니다.");
-            }
-
-            // 폴더를 자기 자신이나 하위 폴더로 이동하는 것 방지
-            if (asset.isFolder()) {
-                validateFolderMove(assetId, targetFolderId);
-            }
-        }
-
         Long oldLocation = asset.isFolder() ? asset.getParentId() : asset.getFolderId();
 
-        if (asset.isFolder()) {
-            asset.setParentId(targetFolderId);
-            asset.setDepth(calculateDepth(targetFolderId));
-        } else {
-            asset.setFolderId(targetFolderId);
-        }
+        relocate(asset, targetFolderId);
 
         asset.setSortOrder(asset.isFolder() ?
                 getMaxSortOrder(targetFolderId) + 1 :
@@ -343,20 +539,23 @@ public class AssetManageService {
     public void updateAssetOrder(List<AssetOrderDto> orderData) {
         log.info("에셋 순서 변경: {} 개 에셋", orderData.size());
 
-        for (AssetOrderDto order : orderData) {
-            LabAsset asset = assetRepository.findById(order.getId())
-                    .orElseThrow(() -> new EntityNotFoundException("에셋을 찾을 수 없습니다: " + order.getId()));
+        Map<Long, LabAsset> assetsById = assetRepository.findAllById(
+                        orderData.stream().map(AssetOrderDto::getId).toList()).stream()
+                .collect(Collectors.toMap(LabAsset::getId, Function.identity()));
 
-            asset.setSortOrder(order.getSortOrder());
+        for (AssetOrderDto order : orderData) {
+            LabAsset asset = assetsById.get(order.getId());
+            if (asset == null) {
+                throw new EntityNotFoundException("에셋을 찾을 수 없습니다: " + order.getId());
+            }
 
-            if (asset.isFolder()) {
-                asset.setParentId(order.getFolderId());
-                asset.setDepth(calculateDepth(order.getFolderId()));
-            } else {
-                asset.setFolderId(order.getFolderId());
+            // 위치가 바뀐 에셋만 하위 트리 이동
+            Long currentLocation = asset.isFolder() ? asset.getParentId() : asset.getFolderId();
+            if (!Objects.equals(currentLocation, order.getFolderId())) {
+                relocate(asset, order.getFolderId());
             }
 
-            assetRepository.save(asset);
+            asset.setSortOrder(order.getSortOrder());
         }
 
         // 활동 로그 기록
@@ -366,6 +565,24 @@ public class AssetManageService {
 
     // 헬퍼 메소드들
 
+    /**
+     * 하위 목록 커서 ("종류:정렬순서:ID", 비어 있으면 처음부터)
+     */
+    private AssetCursor decodeChildrenCursor(String cursorToken) {
+        if (cursorToken == null || cursorToken.isBlank()) {
+            return null;
+        }
+        String[] parts = cursorToken.split(":");
+        try {
+            if (parts.length == 3) {
+                return new AssetCursor(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Long.parseLong(parts[2]));
+            }
+        } catch (NumberFormatException e) {
+            // 아래에서 처리
+        }
+        throw new BusinessException(HttpStatus.BAD_REQUEST, "INVALID_CURSOR", "유효하지 않은 커서입니다.");
+    }
+
     private LabUsers getCurrentUser() {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         return usersRepository.findByEmail(username).orElse(null);
@@ -391,17 +608,6 @@ public class AssetManageService {
                 .orElse(0);
     }
 
-    private Integer calculateDepth(Long parentId) {
-        if (parentId == null) {
-            return 0;
-        }
-
-        LabAsset parent = assetRepository.findById(parentId)
-                .orElseThrow(() -> new EntityNotFoundException("부모 폴더를 찾을 수 없습니다: " + parentId));
-
-        return (parent.getDepth() != null ? parent.getDepth() : 0) + 1;
-    }
-
     private String generateUniqueFileName(String originalFilename) {
         String extension = "";
         int lastDotIndex = originalFilename.lastIndexOf('.');
@@ -415,32 +621,58 @@ public class AssetManageService {
         return baseName + "_" + timestamp + extension;
     }
 
-    private void validateFolderMove(Long folderId, Long targetFolderId) {
-        if (folderId.equals(targetFolderId)) {
-            throw new IllegalArgumentException("폴더를 자기 자신으로 이동할 수 없습니다.");
-        }
+    /**
+     * 에셋(폴더면 하위 트리 전체)을 목표 폴더로 이동 (targetFolderId 가 null 이면 최상위)
+     * 경로 접두사 교체 한 번으로 하위 전체의 경로/깊이를 바꾸고, 이전/새 상위 폴더 집계를 증감한다.
+     */
+    private void relocate(LabAsset asset, Long targetFolderId) {
+        TreeState state = getTreeState(asset.getId());
 
-        // 하위 폴더로 이동하는지 검사
-        LabAsset targetFolder = assetRepository.findById(targetFolderId)
-                .orElseThrow(() -> new EntityNotFoundException("목표 폴더를 찾을 수 없습니다: " + targetFolderId));
+        String targetPath = null;
+        int targetDepth = -1;
+        if (targetFolderId != null) {
+            TreeState target = treeRepository.findTreeState(targetFolderId)
+                    .orElseThrow(() -> new EntityNotFoundException("목표 폴더를 찾을 수 없습니다: " + targetFolderId));
 
-        checkCircularReference(folderId, targetFolder);
-    }
+            if (!target.isFolder()) {
+                throw new IllegalArgumentException("목표가 폴더가 아닙니다.");
+            }
 
-    private void checkCircularReference(Long folderId, LabAsset candidate) {
-        if (candidate.getParentId() == null) {
-            return; // 루트에 도달했으므로 순환 참조 없음
-        }
+            // 폴더를 자기 자신이나 하위 폴더로 이동하는 것 방지
+            if (state.isFolder()) {
+                if (state.path().equals(target.path())) {
+                    throw new IllegalArgumentException("폴더를 자기 자신으로 이동할 수 없습니다.");
+                }
+                if (target.path().startsWith(state.path() + LabAsset.PATH_DELIMITER)) {
+                    throw new IllegalArgumentException("폴더를 자신의 하위 폴더로 이동할 수 없습니다.");
+                }
+            }
 
-        if (candidate.getParentId().equals(folderId)) {
-            throw new IllegalArgumentException("폴더를 자신의 하위 폴더로 이동할 수 없습니다.");
+            targetPath = target.path();
+            targetDepth = target.depth();
         }
 
-        LabAsset parent = assetRepository.findById(candidate.getParentId())
-                .orElse(null);
+        String segment = LabAsset.toPathSegment(asset.getId());
+        String newPath = targetPath != null ? targetPath + LabAsset.PATH_DELIMITER + segment : segment;
+        int newDepth = state.isFolder() ? targetDepth + 1 : state.depth();
 
-        if (parent != null && parent.isFolder()) {
-            checkCircularReference(folderId, parent);
+        if (!newPath.equals(state.path())) {
+            treeRepository.addToRollups(LabAsset.pathIds(state.path(), false), -state.rollupFileCount(), -state.rollupSize());
+            treeRepository.moveSubtree(state.path(), newPath, newDepth - state.depth());
+            treeRepository.addToRollups(LabAsset.pathIds(newPath, false), state.rollupFileCount(), state.rollupSize());
         }
+
+        if (asset.isFolder()) {
+            asset.setParentId(targetFolderId);
+        } else {
+            asset.setFolderId(targetFolderId);
+        }
+        asset.setDepth(newDepth);
+        asset.setAssetPath(newPath);
+    }
+
+    private TreeState getTreeState(Long assetId) {
+        return treeRepository.findTreeState(assetId)
+                .orElseThrow(() -> new EntityNotFoundException("에셋을 찾을 수 없습니다: " + assetId));
     }
-}
\ No newline at end of file
+}
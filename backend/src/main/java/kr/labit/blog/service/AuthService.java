@@ -10,6 +10,7 @@ import kr.labit.blog.entity.UserRole;
 import kr.labit.blog.repository.LabUsersRepository;
 import kr.labit.blog.security.jwt.JwtBlacklistService;
 import kr.labit.blog.security.jwt.JwtTokenProvider;
+import kr.labit.blog.service.storage.BlobStorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -28,6 +29,7 @@ public class AuthService {
     private final LabUsersRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
     private final JwtBlacklistService jwtBlacklistService;
+    private final BlobStorageService blobStorageService;
 //    private final RefreshTokenService refreshTokenService;
 
     /**
@@ -364,11 +366,13 @@ public class AuthService {
         }
 
         // 사용자 정보 업데이트
+        String oldProfileImage = user.getProfileImage();
         user.updateProfile(
                 updateRequest.getNickname(),
                 updateRequest.getEmail(),
                 updateRequest.getProfileImage()
         );
+        blobStorageService.replaceReference(oldProfileImage, user.getProfileImage());
 
         LabUsers savedUser = userRepository.save(user);
 
@@ -399,7 +403,9 @@ public class AuthService {
             throw new IllegalArgumentException("비활성화된 사용자입니다.");
         }
 
+        String oldProfileImage = user.getProfileImage();
         user.updateProfile(user.getNickname(), user.getEmail(), profileImageUrl);
+        blobStorageService.replaceReference(oldProfileImage, user.getProfileImage());
         LabUsers savedUser = userRepository.save(user);
 
         log.info("프로필 이미지 업데이트 완료: userId={}", savedUser.getId());
@@ -0,0 +1,435 @@
+package kr.labit.blog.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.labit.blog.dto.asset.AssetFileResponseDto;
+import kr.labit.blog.dto.upload.UploadSessionRequestDto;
+import kr.labit.blog.dto.upload.UploadSessionResponseDto;
+import kr.labit.blog.exception.GlobalExceptionHandler.BusinessException;
+import kr.labit.blog.repository.LabUploadSessionJdbcRepository;
+import kr.labit.blog.repository.LabUploadSessionJdbcRepository.UploadSessionRow;
+import kr.labit.blog.service.storage.ContentAddressableStore;
+import kr.labit.blog.service.storage.ContentAddressableStore.StagedContent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 재개 가능한 분할 업로드
+ * - 세션 생성 → PUT (Content-Range: bytes start-end/total) 로 구간 전송 → 완료 순서
+ * - 요청 본문을 고정 크기 버퍼로 읽어 세션 임시 파일에 위치 지정 쓰기 (업로드당 메모리는 파일 크기와 무관)
+ * - 앞에서부터 이어지는 구간을 쓰면서 SHA-256 을 함께 계산하여 완료 시 다시 읽지 않음
+ *   (재시작 등으로 계산 상태가 없으면 완료 시 파일을 한 번 읽어 계산)
+ * - 연결이 끊기면 그때까지 쓴 위치가 저장되므로 상태 조회 후 receivedSize 부터 이어서 전송
+ * - 만료된 세션과 세션 정보 없이 남은 임시 파일은 주기적으로 정리
+ * 청크 전송 중에는 DB 연결을 잡고 있지 않도록 트랜잭션 없이 위치만 갱신한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChunkedUploadService {
+
+    public static final String PURPOSE_ASSET = "asset";
+    public static final String PURPOSE_IMAGE = "image";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int CLEANUP_BATCH_SIZE = 200;
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+)");
+
+    private final LabUploadSessionJdbcRepository sessionRepository;
+    private final ContentAddressableStore contentStore;
+    private final FileStorageService fileStorageService;
+    private final FileUploadService fileUploadService;
+    private final AssetManageService assetManageService;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "upload-session-cleaner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 세션별 쓰기 잠금과 증분 해시 상태 (진행 중인 세션만)
+    private final Map<String, SessionState> states = new ConcurrentHashMap<>();
+
+    @Value("${app.chunked-upload.chunk-size:5242880}")
+    private int chunkSize;
+
+    @Value("${app.chunked-upload.session-expiry-hours:24}")
+    private long sessionExpiryHours;
+
+    @Value("${app.chunked-upload.cleanup-interval-minutes:30}")
+    private long cleanupIntervalMinutes;
+
+    @PostConstruct
+    private void init() {
+        scheduler.scheduleWithFixedDelay(this::cleanupSafely, cleanupIntervalMinutes, cleanupIntervalMinutes, TimeUnit.MINUTES);
+        log.info("분할 업로드 초기화 완료: 권장 청크 {} bytes, 세션 만료 {}시간", chunkSize, sessionExpiryHours);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 업로드 세션 생성 (용도별 이름/크기 검사를 먼저 수행)
+     */
+    public UploadSessionResponseDto createSession(String purpose, UploadSessionRequestDto request) throws IOException {
+        try {
+            if (PURPOSE_ASSET.equals(purpose)) {
+                fileStorageService.validateUpload(request.getFileName(), request.getTotalSize());
+            } else {
+                fileUploadService.validateImage(request.getFileName(), request.getMimeType(), request.getTotalSize());
+            }
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "INVALID_UPLOAD", e.getMessage());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        UploadSessionRow session = new UploadSessionRow(UUID.randomUUID().toString(), currentOwner(), purpose,
+                request.getFileName(), request.getMimeType(), request.getTotalSize(), 0, now, now.plusHours(sessionExpiryHours));
+
+        Files.createFile(contentStore.sessionFile(session.id()));
+        sessionRepository.insert(session);
+
+        log.info("분할 업로드 세션 생성: id={}, 용도={}, 파일={}, 크기={}",
+                session.id(), purpose, session.fileName(), session.totalSize());
+        return toResponse(session);
+    }
+
+    /**
+     * 세션 상태 조회 (재개 위치 확인)
+     */
+    public UploadSessionResponseDto getSession(String sessionId) {
+        return toResponse(findOwnedSession(sessionId));
+    }
+
+    /**
+     * 구간 수신 (이미 받은 앞부분은 건너뛰고, 받은 위치보다 뒤에서 시작하면 409)
+     */
+    public UploadSessionResponseDto writeChunk(String sessionId, String contentRange, InputStream body) throws IOException {
+        UploadSessionRow session = findOwnedSession(sessionId);
+        ChunkRange range = parseContentRange(contentRange, session.totalSize());
+
+        SessionState state = lockSession(session);
+        long received;
+        try {
+            // 잠금 전에 다른 요청이 받은 구간 반영
+            session = reload(session);
+            received = session.receivedSize();
+            if (range.start() > received) {
+                throw new BusinessException(HttpStatus.CONFLICT, "UPLOAD_OFFSET_MISMATCH",
+                        "이어서 받을 위치는 " + received + " 입니다.");
+            }
+
+            long position = range.start();
+            long limit = range.end() + 1;
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            try (FileChannel channel = FileChannel.open(contentStore.sessionFile(sessionId), StandardOpenOption.WRITE);
+                 ReadableByteChannel in = Channels.newChannel(body)) {
+                while (position < limit) {
+                    buffer.clear().limit((int) Math.min(BUFFER_SIZE, limit - position));
+                    int read = in.read(buffer);
+                    if (read < 0) {
+                        break;
+                    }
+                    buffer.flip();
+
+                    // 재전송된 앞부분은 건너뜀
+                    int skip = (int) Math.max(0, Math.min(read, received - position));
+                    buffer.position(skip);
+                    long writeAt = position + skip;
+                    while (buffer.hasRemaining()) {
+                        writeAt += channel.write(buffer, writeAt);
+                    }
+                    if (writeAt > received) {
+                        state.update(buffer.position(skip), received);
+                        received = writeAt;
+                    }
+                    position += read;
+                }
+            } catch (NoSuchFileException e) {
+                throw new BusinessException(HttpStatus.NOT_FOUND, "UPLOAD_SESSION_NOT_FOUND", "업로드 세션을 찾을 수 없습니다.");
+            } finally {
+                if (received != session.receivedSize()) {
+                    sessionRepository.updateReceived(sessionId, received, LocalDateTime.now().plusHours(sessionExpiryHours));
+                }
+            }
+
+            if (position < limit) {
+                throw new BusinessException(HttpStatus.BAD_REQUEST, "UPLOAD_CHUNK_INCOMPLETE",
+                        "요청 본문이 Content-Range 보다 짧습니다. 받은 위치: " + received);
+            }
+        } finally {
+            state.lock.unlock();
+        }
+
+        return toResponse(withReceived(session, received));
+    }
+
+    /**
+     * 에셋 업로드 완료 (에셋 생성)
+     */
+    public AssetFileResponseDto completeAsset(String sessionId, Long folderId) throws IOException {
+        UploadSessionRow session = findOwnedSession(sessionId, PURPOSE_ASSET);
+        return complete(session, staged ->
+                assetManageService.uploadAssetFile(staged, session.fileName(), session.mimeType(), folderId));
+    }
+
+    /**
+     * 이미지 업로드 완료 (이미지 URL 반환)
+     */
+    public String completeImage(String sessionId) throws IOException {
+        UploadSessionRow session = findOwnedSession(sessionId, PURPOSE_IMAGE);
+        return complete(session, staged -> fileUploadService.uploadImage(staged, session.fileName(), session.mimeType()));
+    }
+
+    /**
+     * 업로드 취소
+     */
+    public void abort(String sessionId) {
+        UploadSessionRow session = findOwnedSession(sessionId);
+        SessionState state = lockSession(session);
+        try {
+            discardSession(sessionId);
+        } finally {
+            state.lock.unlock();
+        }
+        log.info("분할 업로드 취소: id={}", sessionId);
+    }
+
+    private <T> T complete(UploadSessionRow session, StagedHandler<T> handler) throws IOException {
+        SessionState state = lockSession(session);
+        try {
+            session = reload(session);
+            if (session.receivedSize() < session.totalSize()) {
+                throw new BusinessException(HttpStatus.CONFLICT, "UPLOAD_INCOMPLETE",
+                        "아직 받지 않은 구간이 있습니다. 받은 위치: " + session.receivedSize());
+            }
+
+            Path file = contentStore.sessionFile(session.id());
+            String hash = state.completedHash(session.totalSize());
+            if (hash == null) {
+                hash = contentStore.hashOf(file);
+            }
+
+            try {
+                T result = handler.handle(new StagedContent(hash, session.totalSize(), file));
+                discardSession(session.id());
+                return result;
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException(HttpStatus.BAD_REQUEST, "INVALID_UPLOAD", e.getMessage());
+            } finally {
+                // 저장 단계에서 임시 파일이 이동/삭제되었으면 세션도 종료
+                if (Files.notExists(file)) {
+                    discardSession(session.id());
+                }
+            }
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    private UploadSessionRow findOwnedSession(String sessionId, String purpose) {
+        UploadSessionRow session = findOwnedSession(sessionId);
+        if (!purpose.equals(session.purpose())) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "UPLOAD_PURPOSE_MISMATCH", "업로드 용도가 다릅니다.");
+        }
+        return session;
+    }
+
+    private UploadSessionRow findOwnedSession(String sessionId) {
+        UploadSessionRow session = sessionRepository.findById(sessionId)
+                .filter(row -> row.expiresDate().isAfter(LocalDateTime.now()))
+                .orElseThrow(() -> new BusinessException(HttpStatus.NOT_FOUND, "UPLOAD_SESSION_NOT_FOUND",
+                        "업로드 세션을 찾을 수 없습니다."));
+        if (!session.owner().equals(currentOwner())) {
+            throw new AccessDeniedException("다른 사용자의 업로드 세션입니다.");
+        }
+        return session;
+    }
+
+    private UploadSessionRow reload(UploadSessionRow session) {
+        return sessionRepository.findById(session.id())
+                .orElseThrow(() -> new BusinessException(HttpStatus.NOT_FOUND, "UPLOAD_SESSION_NOT_FOUND",
+                        "업로드 세션을 찾을 수 없습니다."));
+    }
+
+    /**
+     * 세션 쓰기 잠금 (같은 세션에 동시에 쓰는 요청은 409)
+     */
+    private SessionState lockSession(UploadSessionRow session) {
+        SessionState state = states.computeIfAbsent(session.id(), id -> new SessionState(session.receivedSize() == 0));
+        if (!state.lock.tryLock()) {
+            throw new BusinessException(HttpStatus.CONFLICT, "UPLOAD_IN_PROGRESS", "같은 세션의 다른 요청을 처리하고 있습니다.");
+        }
+        return state;
+    }
+
+    private void discardSession(String sessionId) {
+        sessionRepository.delete(sessionId);
+        states.remove(sessionId);
+        try {
+            Files.deleteIfExists(contentStore.sessionFile(sessionId));
+        } catch (IOException e) {
+            log.warn("업로드 세션 임시 파일 삭제 실패: {}", sessionId, e);
+        }
+    }
+
+    /**
+     * 만료된 세션과 세션 정보 없이 남은 임시 파일 정리 (사용 중인 세션은 건너뜀)
+     */
+    private void cleanupSafely() {
+        try {
+            int removed = 0;
+            for (String sessionId : sessionRepository.findExpiredIds(LocalDateTime.now(), CLEANUP_BATCH_SIZE)) {
+                removed += discardIfIdle(sessionId) ? 1 : 0;
+            }
+            LocalDateTime orphanCutoff = LocalDateTime.now().minusHours(sessionExpiryHours);
+            for (String sessionId : contentStore.listSessionIds()) {
+                Path file = contentStore.sessionFile(sessionId);
+                if (sessionRepository.findById(sessionId).isEmpty()
+                        && Files.getLastModifiedTime(file).toInstant().isBefore(orphanCutoff.atZone(ZoneId.systemDefault()).toInstant())) {
+                    removed += discardIfIdle(sessionId) ? 1 : 0;
+                }
+            }
+            if (removed > 0) {
+                log.info("만료된 분할 업로드 세션 정리 완료: {} 건", removed);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("분할 업로드 세션 정리 실패", e);
+        }
+    }
+
+    private boolean discardIfIdle(String sessionId) {
+        SessionState state = states.computeIfAbsent(sessionId, id -> new SessionState(false));
+        if (!state.lock.tryLock()) {
+            return false;
+        }
+        try {
+            discardSession(sessionId);
+            return true;
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    private static ChunkRange parseContentRange(String contentRange, long totalSize) {
+        Matcher matcher = contentRange != null ? CONTENT_RANGE.matcher(contentRange.trim()) : null;
+        if (matcher == null || !matcher.matches()) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "INVALID_CONTENT_RANGE",
+                    "Content-Range 형식은 bytes start-end/total 입니다.");
+        }
+        long start = Long.parseLong(matcher.group(1));
+        long end = Long.parseLong(matcher.group(2));
+        long total = Long.parseLong(matcher.group(3));
+        if (total != totalSize || start > end || end >= totalSize) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "INVALID_CONTENT_RANGE",
+                    "Content-Range 가 파일 크기(" + totalSize + ")와 맞지 않습니다.");
+        }
+        return new ChunkRange(start, end);
+    }
+
+    private UploadSessionResponseDto toResponse(UploadSessionRow session) {
+        return UploadSessionResponseDto.builder()
+                .sessionId(session.id())
+                .fileName(session.fileName())
+                .totalSize(session.totalSize())
+                .receivedSize(session.receivedSize())
+                .chunkSize(chunkSize)
+                .complete(session.receivedSize() >= session.totalSize())
+                .expiresAt(session.expiresDate())
+                .build();
+    }
+
+    private UploadSessionRow withReceived(UploadSessionRow session, long received) {
+        return new UploadSessionRow(session.id(), session.owner(), session.purpose(), session.fileName(), session.mimeType(),
+                session.totalSize(), received, session.createdDate(), LocalDateTime.now().plusHours(sessionExpiryHours));
+    }
+
+    private static String currentOwner() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+
+    private record ChunkRange(long start, long end) {
+    }
+
+    @FunctionalInterface
+    private interface StagedHandler<T> {
+        T handle(StagedContent staged) throws IOException;
+    }
+
+    /**
+     * 세션 쓰기 잠금과 증분 해시 (digestOffset 까지 해시에 반영됨, 이어지지 않으면 해시 상태를 버림)
+     */
+    private static final class SessionState {
+        private final ReentrantLock lock = new ReentrantLock();
+        private MessageDigest digest;
+        private long digestOffset;
+
+        private SessionState(boolean fromStart) {
+            this.digest = fromStart ? newDigest() : null;
+        }
+
+        /**
+         * 파일 offset 위치부터 새로 쓴 바이트 반영
+         */
+        private void update(ByteBuffer written, long offset) {
+            if (digest == null) {
+                return;
+            }
+            if (offset != digestOffset) {
+                digest = null;
+                return;
+            }
+            digestOffset += written.remaining();
+            digest.update(written);
+        }
+
+        /**
+         * 전체 해시 (한 번만 계산 가능하므로 이후 호출은 null)
+         */
+        private String completedHash(long totalSize) {
+            String hash = digest != null && digestOffset == totalSize ? HexFormat.of().formatHex(digest.digest()) : null;
+            digest = null;
+            return hash;
+        }
+
+        private static MessageDigest newDigest() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package kr.labit.blog.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.labit.blog.repository.LabCounterJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 포스트 댓글 수 write-behind 카운터
+ * - 댓글 작성/삭제 시 +1/-1 만 메모리에 누적하고 주기적으로 한 번의 배치로 반영 (댓글 쓰기는 O(1))
+ * - 주기적으로 실제 댓글 수와 비교하여 어긋난 포스트를 보정
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CommentCountService {
+
+    private final LabCounterJdbcRepository counterRepository;
+
+    // 포스트별 미반영 댓글 수 증감 (커밋된 댓글만)
+    private final ConcurrentHashMap<Long, LongAdder> pendingDeltas = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "comment-count-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${app.comment-count.flush-interval-seconds:5}")
+    private long flushIntervalSeconds;
+
+    @Value("${app.comment-count.reconcile-interval-minutes:60}")
+    private long reconcileIntervalMinutes;
+
+    @PostConstruct
+    private void init() {
+        scheduler.scheduleWithFixedDelay(this::flushSafely, flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(this::reconcileSafely, reconcileIntervalMinutes, reconcileIntervalMinutes, TimeUnit.MINUTES);
+        log.info("댓글 수 카운터 초기화 완료: 반영 주기 {}초, 보정 주기 {}분", flushIntervalSeconds, reconcileIntervalMinutes);
+    }
+
+    /**
+     * 종료 시 남은 댓글 수 반영
+     */
+    @PreDestroy
+    private void shutdown() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+        log.info("댓글 수 카운터 종료: 미반영 댓글 수 반영 완료");
+    }
+
+    /**
+     * 댓글 수 증감 기록 (트랜잭션 중이면 커밋된 경우에만 반영)
+     */
+    public void recordDelta(Long postId, long delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addDelta(postId, delta);
+                }
+            });
+        } else {
+            addDelta(postId, delta);
+        }
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 댓글 수 증감
+     */
+    public long getPendingDelta(Long postId) {
+        LongAdder adder = pendingDeltas.get(postId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    /**
+     * 누적된 댓글 수 증감을 DB에 반영
+     */
+    public synchronized void flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+        pendingDeltas.forEach((postId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.put(postId, delta);
+            } else {
+                // 증감 추가와 같은 항목 잠금 안에서 확인하여, 제거된 카운터에 기록되어 유실되지 않도록 한다
+                pendingDeltas.computeIfPresent(postId, (id, current) -> current.sum() == 0 ? null : current);
+            }
+        });
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            counterRepository.addPostCommentCounts(deltas);
+        } catch (RuntimeException e) {
+            // 반영 실패 시 다음 주기에 다시 시도하도록 되돌림
+            deltas.forEach(this::addDelta);
+            throw e;
+        }
+
+        log.debug("댓글 수 반영 완료: 포스트 {}건", deltas.size());
+    }
+
+    /**
+     * 실제 댓글 수와 어긋난 포스트 보정
+     * 미반영 증감이 남아 있는 포스트는 다음 주기로 미룬다.
+     */
+    public synchronized int reconcile() {
+        flush();
+
+        Map<Long, Long> drift = counterRepository.findCommentCountDrift();
+        drift.keySet().removeIf(postId -> getPendingDelta(postId) != 0);
+        if (drift.isEmpty()) {
+            return 0;
+        }
+
+        counterRepository.setPostCommentCounts(drift);
+        log.info("댓글 수 보정 완료: 포스트 {}건", drift.size());
+        return drift.size();
+    }
+
+    private void addDelta(Long postId, long delta) {
+        pendingDeltas.compute(postId, (id, adder) -> {
+            LongAdder pending = adder != null ? adder : new LongAdder();
+            pending.add(delta);
+            return pending;
+        });
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("댓글 수 반영 중 오류 발생", e);
+        }
+    }
+
+    private void reconcileSafely() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("댓글 수 보정 중 오류 발생", e);
+        }
+    }
+}
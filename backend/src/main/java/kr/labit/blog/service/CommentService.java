@@ -1,23 +1,37 @@
 package kr.labit.blog.service;
 
 import kr.labit.blog.dto.CommentCreateRequestDto;
+import kr.labit.blog.dto.CommentEventDto;
 import kr.labit.blog.dto.CommentResponseDto;
 import kr.labit.blog.dto.CommentUpdateRequestDto;
+import kr.labit.blog.dto.CursorPageDto;
 import kr.labit.blog.entity.LabComment;
 import kr.labit.blog.entity.LabPost;
 import kr.labit.blog.entity.LabUsers;
+import kr.labit.blog.entity.ReactionTargetType;
+import kr.labit.blog.exception.GlobalExceptionHandler.BusinessException;
 import kr.labit.blog.repository.LabCommentRepository;
+import kr.labit.blog.repository.LabCommentThreadJdbcRepository;
 import kr.labit.blog.repository.LabPostRepository;
+import kr.labit.blog.service.reaction.ReactionService;
+import kr.labit.blog.service.stream.CommentEventHub;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,9 +40,17 @@ import java.util.stream.Collectors;
 @Slf4j
 public class CommentService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
+
+    // 스레드 목록에서 최상위 댓글마다 함께 보여줄 대댓글 수
+    private static final int REPLY_PREVIEW_SIZE = 3;
+
     private final LabCommentRepository commentRepository;
     private final LabPostRepository postRepository;
-    private final PostService postService;
+    private final CommentCountService commentCountService;
+    private final ReactionService reactionService;
+    private final LabCommentThreadJdbcRepository threadRepository;
+    private final CommentEventHub commentEventHub;
 
     /**
      * 댓글 생성
@@ -64,12 +86,16 @@ public class CommentService {
                 .build();
 
         LabComment savedComment = commentRepository.save(comment);
+        savedComment.assignThreadPath();
+
+        // 포스트의 댓글 수 증가 (커밋 후 누적, 주기적으로 일괄 반영)
+        commentCountService.recordDelta(post.getId(), 1);
 
-        // 포스트의 댓글 수 업데이트
-        updatePostCommentCount(post.getId());
+        CommentResponseDto responseDto = CommentResponseDto.fromEntity(savedComment);
+        commentEventHub.publish(CommentEventDto.created(responseDto));
 
         log.info("댓글 생성 완료: ID = {}", savedComment.getId());
-        return CommentResponseDto.fromEntity(savedComment);
+        return responseDto;
     }
 
     /**
@@ -95,8 +121,11 @@ public class CommentService {
         comment.setContent(requestDto.getContent());
         LabComment updatedComment = commentRepository.save(comment);
 
+        CommentResponseDto responseDto = CommentResponseDto.fromEntity(updatedComment);
+        commentEventHub.publish(CommentEventDto.updated(responseDto));
+
         log.info("댓글 수정 완료: ID = {}", updatedComment.getId());
-        return CommentResponseDto.fromEntity(updatedComment);
+        return responseDto;
     }
 
     /**
@@ -114,31 +143,124 @@ public class CommentService {
             throw new RuntimeException("댓글을 삭제할 권한이 없습니다.");
         }
 
+        // 이미 삭제된 댓글은 댓글 수에 다시 반영하지 않음
+        if (comment.getIsDeleted()) {
+            log.info("이미 삭제된 댓글: ID = {}", commentId);
+            return;
+        }
+
         Long postId = comment.getPost().getId();
 
         // 소프트 삭제
         comment.delete();
         commentRepository.save(comment);
 
-        // 포스트의 댓글 수 업데이트
-        updatePostCommentCount(postId);
+        // 삭제된 댓글의 좋아요 정리
+        reactionService.removeCommentReactions(commentId);
+
+        // 포스트의 댓글 수 감소 (커밋 후 누적, 주기적으로 일괄 반영)
+        commentCountService.recordDelta(postId, -1);
+        commentEventHub.publish(CommentEventDto.deleted(postId, commentId));
 
         log.info("댓글 삭제 완료: ID = {}", commentId);
     }
 
     /**
      * 포스트의 댓글 목록 조회 (트리 구조)
+     * 스레드 경로 순으로 한 번에 읽어 작성자까지 함께 조회
      */
     public List<CommentResponseDto> getCommentsByPost(Long postId) {
         log.info("포스트 댓글 조회 요청: 포스트 ID = {}", postId);
 
-        LabPost post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("포스트를 찾을 수 없습니다."));
+        if (!postRepository.existsById(postId)) {
+            throw new RuntimeException("포스트를 찾을 수 없습니다.");
+        }
 
-        List<LabComment> comments = commentRepository.findCommentsByPost(post);
+        List<CommentResponseDto> comments = commentRepository.findThreadsByPostId(postId).stream()
+                .map(CommentResponseDto::fromEntity)
+                .collect(Collectors.toList());
         return buildCommentTree(comments);
     }
 
+    /**
+     * 포스트의 댓글 스레드 조회 - 최상위 댓글 커서 페이징
+     * 최상위 댓글마다 앞쪽 대댓글 일부와 전체 대댓글 수(replyCount)를 함께 반환
+     */
+    public CursorPageDto<CommentResponseDto> getCommentThreads(Long postId, String cursorToken, int size) {
+        log.info("포스트 댓글 스레드 조회 요청: 포스트 ID = {}, 커서 = {}", postId, cursorToken);
+
+        int pageSize = normalizePageSize(size);
+        Long afterId = decodeRootCursor(cursorToken);
+
+        List<Long> rootIds = commentRepository.findRootIdsAfter(postId, afterId, Limit.of(pageSize + 1));
+        boolean hasNext = rootIds.size() > pageSize;
+        if (hasNext) {
+            rootIds = rootIds.subList(0, pageSize);
+        }
+
+        List<CommentResponseDto> threads = List.of();
+        if (!rootIds.isEmpty()) {
+            List<CommentResponseDto> rows = threadRepository.findThreads(postId,
+                    LabComment.toPathSegment(rootIds.get(0)),
+                    LabComment.toPathSegment(rootIds.get(rootIds.size() - 1)),
+                    REPLY_PREVIEW_SIZE);
+
+            // 구간 안의 삭제된 최상위 댓글에 달린 대댓글은 제외
+            Set<Long> roots = new HashSet<>(rootIds);
+            threads = buildCommentTree(rows).stream()
+                    .filter(thread -> roots.contains(thread.getId()))
+                    .collect(Collectors.toList());
+        }
+
+        return CursorPageDto.<CommentResponseDto>builder()
+                .content(threads)
+                .nextCursor(hasNext ? String.valueOf(rootIds.get(rootIds.size() - 1)) : null)
+                .hasNext(hasNext)
+                .size(threads.size())
+                .build();
+    }
+
+    /**
+     * 댓글의 대댓글 더보기 (표시 순서, 커서 페이징)
+     */
+    public CursorPageDto<CommentResponseDto> getReplies(Long commentId, String cursorToken, int size) {
+        log.info("대댓글 조회 요청: 댓글 ID = {}, 커서 = {}", commentId, cursorToken);
+
+        Object[] thread = commentRepository.findThreadPathById(commentId).stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("댓글을 찾을 수 없습니다."));
+        Long postId = (Long) thread[0];
+        String parentPath = (String) thread[1];
+
+        int pageSize = normalizePageSize(size);
+        String afterPath = decodeReplyCursor(cursorToken, parentPath);
+
+        List<CommentResponseDto> replies = threadRepository.findReplies(postId, parentPath, afterPath, pageSize + 1);
+        boolean hasNext = replies.size() > pageSize;
+        if (hasNext) {
+            replies = replies.subList(0, pageSize);
+        }
+
+        return CursorPageDto.<CommentResponseDto>builder()
+                .content(replies)
+                .nextCursor(hasNext ? replies.get(replies.size() - 1).getThreadPath() : null)
+                .hasNext(hasNext)
+                .size(replies.size())
+                .build();
+    }
+
+    /**
+     * 포스트 댓글 실시간 이벤트 구독 (작성/수정/삭제/좋아요)
+     */
+    public Flux<ServerSentEvent<CommentEventDto>> streamComments(Long postId) {
+        log.info("포스트 댓글 스트림 구독 요청: 포스트 ID = {}", postId);
+
+        if (!postRepository.existsById(postId)) {
+            throw new RuntimeException("포스트를 찾을 수 없습니다.");
+        }
+        return commentEventHub.subscribe(postId);
+    }
+
     /**
      * 사용자의 댓글 목록 조회
      */
@@ -152,66 +274,86 @@ public class CommentService {
     /**
      * 댓글 좋아요/취소
      */
-    @Transactional
     public CommentResponseDto toggleCommentLike(Long commentId, LabUsers currentUser) {
         log.info("댓글 좋아요 토글 요청: ID = {}, 사용자 = {}", commentId, currentUser.getNickname());
 
         LabComment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("댓글을 찾을 수 없습니다."));
 
-        // TODO: 실제로는 별도의 좋아요 테이블을 만들어서 중복 방지 처리
-        comment.incrementLikeCount();
-        LabComment updatedComment = commentRepository.save(comment);
+        // 좋아요 행과 좋아요 수는 메모리에 누적 후 주기적으로 일괄 반영
+        boolean liked = reactionService.toggle(ReactionTargetType.COMMENT, commentId, currentUser.getId());
 
-        return CommentResponseDto.fromEntity(updatedComment);
+        CommentResponseDto dto = CommentResponseDto.fromEntity(comment);
+        dto.setLikeCount(comment.getLikeCount() + reactionService.getPendingCount(ReactionTargetType.COMMENT, commentId));
+        dto.setIsLiked(liked);
+
+        commentEventHub.publish(CommentEventDto.liked(dto.getPostId(), commentId, dto.getLikeCount()));
+        return dto;
     }
 
     /**
-     * 댓글 트리 구조 구성
+     * 사용자가 좋아요한 댓글 여부 (여러 댓글을 한 번에 확인)
      */
-    private List<CommentResponseDto> buildCommentTree(List<LabComment> comments) {
-        // 부모 ID별로 그룹핑
-        Map<Long, List<LabComment>> commentsByParentId = comments.stream()
-                .filter(comment -> comment.getParent() != null)
-                .collect(Collectors.groupingBy(comment -> comment.getParent().getId()));
-
-        // 최상위 댓글들
-        List<LabComment> rootComments = comments.stream()
-                .filter(comment -> comment.getParent() == null)
-                .collect(Collectors.toList());
-
-        return rootComments.stream()
-                .map(comment -> buildCommentDto(comment, commentsByParentId))
-                .collect(Collectors.toList());
+    public Map<Long, Boolean> getCommentLikeStatus(List<Long> commentIds, LabUsers currentUser) {
+        return reactionService.getLikeStatus(ReactionTargetType.COMMENT, commentIds, currentUser);
     }
 
     /**
-     * 댓글 DTO 구성 (재귀적으로 대댓글 포함)
+     * 댓글 트리 구조 구성 (스레드 순서로 정렬된 목록을 한 번 순회)
      */
-    private CommentResponseDto buildCommentDto(LabComment comment, Map<Long, List<LabComment>> commentsByParentId) {
-        CommentResponseDto dto = CommentResponseDto.fromEntity(comment);
+    private List<CommentResponseDto> buildCommentTree(List<CommentResponseDto> comments) {
+        Map<Long, CommentResponseDto> commentsById = new HashMap<>();
+        List<CommentResponseDto> rootComments = new ArrayList<>();
 
-        List<LabComment> replies = commentsByParentId.get(comment.getId());
-        if (replies != null && !replies.isEmpty()) {
-            List<CommentResponseDto> replyDtos = replies.stream()
-                    .map(reply -> buildCommentDto(reply, commentsByParentId))
-                    .collect(Collectors.toList());
-            dto.setReplies(replyDtos);
-        } else {
-            dto.setReplies(new ArrayList<>());
+        for (CommentResponseDto comment : comments) {
+            if (comment.getReplies() == null) {
+                comment.setReplies(new ArrayList<>());
+            }
+            commentsById.put(comment.getId(), comment);
+
+            if (comment.getParentId() == null) {
+                rootComments.add(comment);
+                continue;
+            }
+
+            // 부모가 삭제되어 목록에 없으면 표시하지 않음
+            CommentResponseDto parent = commentsById.get(comment.getParentId());
+            if (parent != null) {
+                parent.getReplies().add(comment);
+            }
         }
 
-        return dto;
+        return rootComments;
+    }
+
+    private int normalizePageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
     }
 
     /**
-     * 포스트의 댓글 수 업데이트
+     * 최상위 댓글 커서 (마지막 최상위 댓글 ID, 비어 있으면 처음부터)
      */
-    private void updatePostCommentCount(Long postId) {
-        LabPost post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("포스트를 찾을 수 없습니다."));
+    private Long decodeRootCursor(String cursorToken) {
+        if (cursorToken == null || cursorToken.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(cursorToken);
+        } catch (NumberFormatException e) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "INVALID_CURSOR", "유효하지 않은 커서입니다.");
+        }
+    }
 
-        Long commentCount = commentRepository.countCommentsByPost(post);
-        postService.updateCommentCount(postId, commentCount);
+    /**
+     * 대댓글 커서 (마지막 대댓글의 스레드 경로, 비어 있으면 부모 바로 다음부터)
+     */
+    private String decodeReplyCursor(String cursorToken, String parentPath) {
+        if (cursorToken == null || cursorToken.isBlank()) {
+            return parentPath;
+        }
+        if (!cursorToken.startsWith(parentPath + LabComment.PATH_DELIMITER) || !cursorToken.matches("[0-9/]+")) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "INVALID_CURSOR", "유효하지 않은 커서입니다.");
+        }
+        return cursorToken;
     }
 }
\ No newline at end of file
@@ -1,14 +1,22 @@
 package kr.labit.blog.service;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import kr.labit.blog.config.CacheConfig;
 import kr.labit.blog.dto.dashboard.ActivityLogDto;
+import kr.labit.blog.dto.dashboard.CacheStatsDto;
 import kr.labit.blog.dto.dashboard.DashboardStatsDto;
 import kr.labit.blog.dto.dashboard.SystemStatusDto;
 import kr.labit.blog.entity.LabActivityLog;
+import kr.labit.blog.exception.GlobalExceptionHandler.BusinessException;
 import kr.labit.blog.repository.LabActivityLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.core.env.Environment;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +34,11 @@ import java.util.stream.Collectors;
 public class DashboardService {
 
     private final LabActivityLogRepository activityLogRepository;
-//
-//    private final CacheManager cacheManager;
-//
+
+    private final CacheManager cacheManager;
+
+    private final Environment environment;
+
 //    private final DataSource dataSource;
 
     /**
@@ -164,19 +174,44 @@ public class DashboardService {
                 .collect(Collectors.toList());
     }
 
-//    /**
-//     * 모든 캐시 초기화
-//     */
-//    @Transactional
-//    public void clearAllCaches() {
-//        log.info("모든 캐시 초기화");
-//
-//        cacheManager.getCacheNames().forEach(cacheName -> {
-//            cacheManager.getCache(cacheName).clear();
-//            log.debug("캐시 초기화: {}", cacheName);
-//        });
-//    }
-//
+    /**
+     * 전체 캐시 통계 조회
+     */
+    public List<CacheStatsDto> getCacheStats() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(cacheName -> toCacheStats(cacheName, false))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 단일 캐시 상세 조회 (키 목록 포함)
+     */
+    public CacheStatsDto getCacheStats(String cacheName) {
+        return toCacheStats(cacheName, true);
+    }
+
+    /**
+     * 단일 캐시 초기화
+     */
+    public void clearCache(String cacheName) {
+        log.info("캐시 초기화: {}", cacheName);
+
+        getCaffeineCache(cacheName).clear();
+    }
+
+    /**
+     * 모든 캐시 초기화
+     */
+    public void clearAllCaches() {
+        log.info("모든 캐시 초기화");
+
+        cacheManager.getCacheNames().forEach(cacheName -> {
+            cacheManager.getCache(cacheName).clear();
+            log.debug("캐시 초기화: {}", cacheName);
+        });
+    }
+
 //    /**
 //     * 시스템 헬스 체크
 //     */
@@ -447,4 +482,34 @@ public class DashboardService {
                 .newValue(log.getNewValue())
                 .build();
     }
+
+    private CacheStatsDto toCacheStats(String cacheName, boolean includeKeys) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = getCaffeineCache(cacheName).getNativeCache();
+        CacheStats stats = nativeCache.stats();
+
+        return CacheStatsDto.builder()
+                .name(cacheName)
+                .spec(CacheConfig.getSpec(environment, cacheName))
+                .estimatedSize(nativeCache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .loadCount(stats.loadCount())
+                .loadFailureCount(stats.loadFailureCount())
+                .averageLoadPenaltyMs(stats.averageLoadPenalty() / 1_000_000.0)
+                .keys(includeKeys ? nativeCache.asMap().keySet().stream()
+                        .limit(100)
+                        .map(String::valueOf)
+                        .collect(Collectors.toList()) : null)
+                .build();
+    }
+
+    private CaffeineCache getCaffeineCache(String cacheName) {
+        if (!cacheManager.getCacheNames().contains(cacheName)
+                || !(cacheManager.getCache(cacheName) instanceof CaffeineCache caffeineCache)) {
+            throw new BusinessException(HttpStatus.NOT_FOUND, "CACHE_NOT_FOUND", "캐시를 찾을 수 없습니다: " + cacheName);
+        }
+        return caffeineCache;
+    }
 }
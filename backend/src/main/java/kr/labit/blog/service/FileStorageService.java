@@ -1,23 +1,31 @@
 package kr.labit.blog.service;
 
+import kr.labit.blog.service.storage.BlobStorageService;
+import kr.labit.blog.service.storage.BlobStorageService.StoredBlob;
+import kr.labit.blog.service.storage.ContentAddressableStore.StagedContent;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.UUID;
+import java.util.Collection;
+import java.util.List;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class FileStorageService {
 
+    private final BlobStorageService blobStorageService;
+
+    // 이전 방식 (/uploads/yyyy/MM/dd/{uuid}) 으로 저장된 파일의 루트
     @Value("${app.file-upload.path:/uploads}")
     private String uploadPath;
 
@@ -28,42 +36,114 @@ public class FileStorageService {
     private String allowedTypes;
 
     /**
-     * 파일 저장
+     * 파일 저장 (같은 내용은 기존 파일을 재사용하고, 에셋 참조 하나를 추가)
      */
     public String storeFile(MultipartFile file) {
         validateFile(file);
 
         try {
-            // 날짜별 폴더 생성
-            String dateFolder = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
-            Path uploadDir = Paths.get(uploadPath, dateFolder);
-            Files.createDirectories(uploadDir);
+            StoredBlob blob = blobStorageService.store(file, getFileExtension(file.getOriginalFilename()));
+            blobStorageService.acquire(blob.url());
 
-            // 고유한 파일명 생성
-            String originalFileName = file.getOriginalFilename();
-            String extension = getFileExtension(originalFileName);
-            String uniqueFileName = UUID.randomUUID().toString() + "." + extension;
+            log.info("파일 저장 완료: {} -> {}{}", file.getOriginalFilename(), blob.url(), blob.deduplicated() ? " (중복 내용)" : "");
+            return blob.url();
 
-            // 파일 저장
-            Path targetPath = uploadDir.resolve(uniqueFileName);
-            Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception e) {
+            log.error("파일 저장 중 오류 발생: {}", file.getOriginalFilename(), e);
+            throw new RuntimeException("파일 저장에 실패했습니다.", e);
+        }
+    }
 
-            // 웹에서 접근 가능한 URL 반환
-            String fileUrl = "/uploads/" + dateFolder + "/" + uniqueFileName;
+    /**
+     * 분할 업로드로 받은 파일 저장 (storeFile 과 같은 검사/참조 규칙)
+     */
+    public String storeStaged(StagedContent staged, String fileName, String mimeType) {
+        validateUpload(fileName, staged.size());
 
-            log.info("파일 저장 완료: {} -> {}", originalFileName, fileUrl);
-            return fileUrl;
+        try {
+            StoredBlob blob = blobStorageService.storeStaged(staged, getFileExtension(fileName), mimeType);
+            blobStorageService.acquire(blob.url());
 
-        } catch (Exception e) {
-            log.error("파일 저장 중 오류 발생: {}", file.getOriginalFilename(), e);
+            log.info("파일 저장 완료: {} -> {}{}", fileName, blob.url(), blob.deduplicated() ? " (중복 내용)" : "");
+            return blob.url();
+
+        } catch (IOException e) {
+            log.error("파일 저장 중 오류 발생: {}", fileName, e);
             throw new RuntimeException("파일 저장에 실패했습니다.", e);
         }
     }
 
     /**
-     * 파일 삭제
+     * 비공개 전환: 공유 blob 을 에셋 전용 파일로 복사하고 새 URL 반환 (blob 참조는 해제)
+     * 이전 방식 파일은 에셋마다 따로 저장되어 있으므로 그대로 사용한다.
+     */
+    public String makePrivate(String fileUrl) {
+        try {
+            return blobStorageService.copyToPrivate(fileUrl);
+        } catch (IOException e) {
+            log.error("비공개 전용 파일 복사 중 오류 발생: {}", fileUrl, e);
+            throw new RuntimeException("파일 공개 여부 변경에 실패했습니다.", e);
+        }
+    }
+
+    /**
+     * 공개 전환: 전용 파일 내용을 blob 으로 저장(같은 내용은 재사용)하고 참조 하나를 추가, 전용 파일은 커밋 후 삭제
+     */
+    public String makePublic(String fileUrl, String mimeType) {
+        if (!blobStorageService.isPrivateFileUrl(fileUrl)) {
+            return fileUrl;
+        }
+        try {
+            StoredBlob blob = blobStorageService.storePrivateCopy(fileUrl, mimeType);
+            blobStorageService.acquire(blob.url());
+            releaseFiles(List.of(fileUrl));
+            return blob.url();
+        } catch (IOException e) {
+            log.error("공개 파일 저장 중 오류 발생: {}", fileUrl, e);
+            throw new RuntimeException("파일 공개 여부 변경에 실패했습니다.", e);
+        }
+    }
+
+    /**
+     * 에셋 파일 참조 해제
+     * blob 은 참조 수만 줄이고 (참조가 없어지면 유예 후 정리), 이전 방식/비공개 전용 파일은 커밋이 확정된 뒤 삭제한다.
+     */
+    public void releaseFiles(Collection<String> fileUrls) {
+        blobStorageService.releaseAll(fileUrls);
+
+        List<String> legacyUrls = fileUrls.stream()
+                .filter(fileUrl -> fileUrl != null && !blobStorageService.isBlobUrl(fileUrl))
+                .toList();
+        if (legacyUrls.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            legacyUrls.forEach(this::deleteFile);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (String fileUrl : legacyUrls) {
+                    try {
+                        deleteFile(fileUrl);
+                    } catch (RuntimeException e) {
+                        // 이미 커밋된 삭제이므로 요청은 성공 처리
+                        log.warn("커밋 후 물리 파일 삭제 실패: {} - {}", fileUrl, e.getMessage());
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 이전 방식으로 저장된 파일 또는 비공개 전용 파일 삭제
      */
     public void deleteFile(String fileUrl) {
+        if (blobStorageService.deletePrivateFile(fileUrl)) {
+            log.info("비공개 전용 파일 삭제 완료: {}", fileUrl);
+            return;
+        }
         try {
             if (fileUrl != null && fileUrl.startsWith("/uploads/")) {
                 Path filePath = Paths.get(uploadPath, fileUrl.substring("/uploads/".length()));
@@ -82,12 +162,18 @@ public class FileStorageService {
         if (file.isEmpty()) {
             throw new IllegalArgumentException("빈 파일은 업로드할 수 없습니다.");
         }
+        validateUpload(file.getOriginalFilename(), file.getSize());
+    }
 
-        if (file.getSize() > maxFileSize) {
+    /**
+     * 파일 이름/크기 검사 (분할 업로드는 세션 생성 시 미리 검사)
+     */
+    public void validateUpload(String fileName, long size) {
+        if (size > maxFileSize) {
             throw new IllegalArgumentException("파일 크기가 너무 큽니다. 최대 " + (maxFileSize / 1024 / 1024) + "MB까지 가능합니다.");
         }
 
-        String extension = getFileExtension(file.getOriginalFilename());
+        String extension = getFileExtension(fileName);
         if (!isAllowedFileType(extension)) {
             throw new IllegalArgumentException("지원하지 않는 파일 형식입니다: " + extension);
         }
@@ -1,5 +1,13 @@
 package kr.labit.blog.service;
 
+import kr.labit.blog.dto.storage.StorageFileDto;
+import kr.labit.blog.service.storage.BlobStorageService;
+import kr.labit.blog.service.storage.BlobStorageService.StoredBlob;
+import kr.labit.blog.service.storage.ContentAddressableStore.StagedContent;
+import kr.labit.blog.service.storage.FileMetadataCache;
+import kr.labit.blog.service.storage.ImageDerivativeService;
+import kr.labit.blog.service.storage.OffHeapFileCache;
+import kr.labit.blog.service.storage.StorageIndexService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,11 +18,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,6 +26,12 @@ import java.util.stream.Collectors;
 @Slf4j
 public class FileUploadService {
 
+    private final BlobStorageService blobStorageService;
+    private final FileMetadataCache metadataCache;
+    private final OffHeapFileCache fileCache;
+    private final ImageDerivativeService derivativeService;
+    private final StorageIndexService storageIndex;
+
     @Value("${app.upload.dir}")
     private String uploadDir;
 
@@ -30,27 +40,18 @@ public class FileUploadService {
 
     /**
      * 프로필 이미지 업로드
+     * 참조(사용자/관리자 프로필 저장)는 저장 시점에 추가되며, 그때까지는 미참조 유예 시간 동안 유지된다.
      */
     public String uploadProfileImage(MultipartFile file) throws IOException {
         validateImageFile(file);
 
-        // 업로드 디렉토리 생성
-        Path uploadPath = createUploadDirectory("profiles");
-
-        // 고유한 파일명 생성
-        String fileName = generateUniqueFileName(file.getOriginalFilename());
-
-        // 파일 저장
-        Path filePath = uploadPath.resolve(fileName);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-        // Backend API URL 반환
-        String fileUrl = generateFileUrl("profiles", fileName);
-
-        log.info("프로필 이미지 업로드 완료: {}", fileUrl);
-        log.info("실제 파일 경로: {}", filePath.toAbsolutePath());
+        StoredBlob blob = blobStorageService.store(file, getFileExtension(file.getOriginalFilename()).toLowerCase());
+        if (!blob.deduplicated()) {
+            derivativeService.enqueue(blob.storagePath());
+        }
 
-        return fileUrl;
+        log.info("프로필 이미지 업로드 완료: {}{}", blob.url(), blob.deduplicated() ? " (중복 내용)" : "");
+        return blob.url();
     }
 
     /**
@@ -59,16 +60,28 @@ public class FileUploadService {
     public String uploadPostImage(MultipartFile file) throws IOException {
         validateImageFile(file);
 
-        Path uploadPath = createUploadDirectory("posts");
-        String fileName = generateUniqueFileName(file.getOriginalFilename());
+        StoredBlob blob = blobStorageService.store(file, getFileExtension(file.getOriginalFilename()).toLowerCase());
+        if (!blob.deduplicated()) {
+            derivativeService.enqueue(blob.storagePath());
+        }
 
-        Path filePath = uploadPath.resolve(fileName);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        log.info("포스트 이미지 업로드 완료: {}{}", blob.url(), blob.deduplicated() ? " (중복 내용)" : "");
+        return blob.url();
+    }
 
-        String fileUrl = generateFileUrl("posts", fileName);
-        log.info("포스트 이미지 업로드 완료: {}", fileUrl);
+    /**
+     * 분할 업로드로 받은 이미지 저장 (uploadPostImage 와 같은 검사 규칙)
+     */
+    public String uploadImage(StagedContent staged, String fileName, String contentType) throws IOException {
+        validateImage(fileName, contentType, staged.size());
 
-        return fileUrl;
+        StoredBlob blob = blobStorageService.storeStaged(staged, getFileExtension(fileName).toLowerCase(), contentType);
+        if (!blob.deduplicated()) {
+            derivativeService.enqueue(blob.storagePath());
+        }
+
+        log.info("이미지 분할 업로드 완료: {}{}", blob.url(), blob.deduplicated() ? " (중복 내용)" : "");
+        return blob.url();
     }
 
     /**
@@ -78,21 +91,25 @@ public class FileUploadService {
         if (file.isEmpty()) {
             throw new IllegalArgumentException("파일이 비어있습니다.");
         }
+        validateImage(file.getOriginalFilename(), file.getContentType(), file.getSize());
+    }
 
+    /**
+     * 이미지 이름/타입/크기 검증 (분할 업로드는 세션 생성 시 미리 검사)
+     */
+    public void validateImage(String originalFilename, String contentType, long size) {
         // 파일 크기 체크 (5MB)
         long maxSize = 5 * 1024 * 1024;
-        if (file.getSize() > maxSize) {
+        if (size > maxSize) {
             throw new IllegalArgumentException("파일 크기가 5MB를 초과합니다.");
         }
 
         // 파일 타입 체크
-        String contentType = file.getContentType();
         if (contentType == null || !contentType.startsWith("image/")) {
             throw new IllegalArgumentException("이미지 파일만 업로드 가능합니다.");
         }
 
         // 허용된 확장자 체크
-        String originalFilename = file.getOriginalFilename();
         if (originalFilename == null) {
             throw new IllegalArgumentException("파일명이 없습니다.");
         }
@@ -103,41 +120,6 @@ public class FileUploadService {
         }
     }
 
-    /**
-     * 업로드 디렉토리 생성
-     */
-    private Path createUploadDirectory(String subDir) throws IOException {
-        // 년/월 기반 디렉토리 구조
-        String yearMonth = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy/MM"));
-        Path uploadPath = Paths.get(uploadDir, subDir, yearMonth);
-
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
-            log.info("업로드 디렉토리 생성: {}", uploadPath.toAbsolutePath());
-        }
-
-        return uploadPath;
-    }
-
-    /**
-     * 고유한 파일명 생성
-     */
-    private String generateUniqueFileName(String originalFilename) {
-        String extension = getFileExtension(originalFilename);
-        String uuid = UUID.randomUUID().toString();
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-
-        return String.format("%s_%s.%s", timestamp, uuid.substring(0, 8), extension);
-    }
-
-    /**
-     * Backend API 기반 파일 URL 생성
-     */
-    private String generateFileUrl(String subDir, String fileName) {
-        String yearMonth = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy/MM"));
-        return String.format("%s/%s/%s/%s", baseUrl, subDir, yearMonth, fileName);
-    }
-
     /**
      * 파일 확장자 추출
      */
@@ -160,7 +142,10 @@ public class FileUploadService {
      * 실제 파일 경로 조회 (FileController에서 사용)
      */
     public Path getFilePath(String subDir, String yearMonth, String fileName) {
-        return Paths.get(uploadDir, subDir, yearMonth, fileName);
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path filePath = root.resolve(subDir).resolve(yearMonth).resolve(fileName).normalize();
+        // 업로드 루트 밖을 가리키는 경로 차단
+        return filePath.startsWith(root) && !filePath.equals(root) ? filePath : null;
     }
 
     /**
@@ -168,17 +153,33 @@ public class FileUploadService {
      */
     public boolean fileExists(String subDir, String yearMonth, String fileName) {
         Path filePath = getFilePath(subDir, yearMonth, fileName);
-        return Files.exists(filePath);
+        return filePath != null && Files.exists(filePath);
     }
 
     /**
-     * 파일 삭제
+     * 파일 삭제 (blob 은 참조가 없을 때만 삭제)
      */
     public boolean deleteFile(String fileUrl) {
+        if (blobStorageService.isBlobUrl(fileUrl)) {
+            boolean deleted = blobStorageService.deleteIfUnreferenced(fileUrl);
+            if (!deleted) {
+                log.warn("참조 중이거나 존재하지 않는 파일은 삭제할 수 없음: {}", fileUrl);
+            }
+            return deleted;
+        }
+
         try {
             String relativePath = extractRelativePathFromUrl(fileUrl);
-            Path filePath = Paths.get(uploadDir).resolve(relativePath);
+            Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+            Path filePath = root.resolve(relativePath).normalize();
+            if (!filePath.startsWith(root) || filePath.equals(root)) {
+                throw new IllegalArgumentException("잘못된 파일 URL 형식입니다.");
+            }
 
+            metadataCache.invalidate(filePath);
+            fileCache.invalidate(filePath);
+            derivativeService.deleteVariants(filePath);
+            storageIndex.remove(filePath);
             if (Files.exists(filePath)) {
                 Files.delete(filePath);
                 log.info("파일 삭제 완료: {}", filePath);
@@ -208,43 +209,26 @@ public class FileUploadService {
     }
 
     /**
-     * 업로드된 파일 목록 조회
+     * 업로드된 파일 목록 조회 (색인 기준, 경로 순 최대 limit 건)
      */
-    public List<String> getUploadedFiles(String subDir) throws IOException {
-        Path uploadPath = Paths.get(uploadDir, subDir);
-
-        if (!Files.exists(uploadPath)) {
-            return List.of();
-        }
-
-        return Files.walk(uploadPath)
-                .filter(Files::isRegularFile)
-                .map(path -> {
-                    String relativePath = Paths.get(uploadDir).relativize(path).toString();
-                    return baseUrl + "/" + relativePath.replace("\\", "/");
-                })
+    public List<String> getUploadedFiles(String subDir, int limit) {
+        return storageIndex.listFiles(subDir, null, null, null, limit).getContent().stream()
+                .map(StorageFileDto::getUrl)
                 .collect(Collectors.toList());
     }
 
     /**
-     * 디렉토리 크기 조회
+     * 디렉토리 크기 조회 (색인 집계 기준)
      */
-    public long getDirectorySize() throws IOException {
-        Path uploadPath = Paths.get(uploadDir);
-        if (!Files.exists(uploadPath)) {
-            return 0;
-        }
+    public long getDirectorySize() {
+        return storageIndex.getTotalSize();
+    }
 
-        return Files.walk(uploadPath)
-                .filter(Files::isRegularFile)
-                .mapToLong(path -> {
-                    try {
-                        return Files.size(path);
-                    } catch (IOException e) {
-                        return 0;
-                    }
-                })
-                .sum();
+    /**
+     * 분류(업로드 루트 바로 아래 디렉토리)별 파일 수 (색인 집계 기준)
+     */
+    public long getFileCount(String subDir) {
+        return storageIndex.getFileCount(subDir);
     }
 
     /**
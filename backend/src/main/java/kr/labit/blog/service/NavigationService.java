@@ -9,17 +9,22 @@ import kr.labit.blog.entity.LabNavigation;
 import kr.labit.blog.entity.LabUsers;
 import kr.labit.blog.entity.UserRole;
 import kr.labit.blog.repository.LabNavigationRepository;
+import kr.labit.blog.repository.LabNavigationTreeJdbcRepository;
+import kr.labit.blog.service.navigation.NavigationSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -31,169 +36,128 @@ public class NavigationService {
 
     private final ActivityLogService activityLogService;
 
+    private final LabNavigationTreeJdbcRepository treeRepository;
+
+    // 역할별 트리와 breadcrumb 인덱스 (쓰기 커밋 시마다 통째로 교체)
+    private volatile NavigationSnapshot snapshot;
+
 
     /**
-     * 사용자 역할에 따른 네비게이션 트리 조회
+     * 클로저 테이블이 비어 있으면 PARENT_ID 기준으로 채움
      */
-    public List<NavigationResponseDto> getNavigationTreeByUserRole(LabUsers user) {
-        log.info("사용자 역할별 네비게이션 트리 조회: 사용자 = {}",
-                user != null ? user.getNickname() : "게스트");
-
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeClosure() {
         try {
-            List<LabNavigation> allMenus = navigationRepository.findAllActiveOrderBySortOrder();
-
-            if (allMenus.isEmpty()) {
-                log.warn("활성화된 네비게이션 메뉴가 없습니다.");
-                return new ArrayList<>();
+            if (treeRepository.count() == 0 && navigationRepository.count() > 0) {
+                int rows = treeRepository.rebuild();
+                log.info("네비게이션 클로저 테이블 초기화 완료: {} 행", rows);
             }
-
-            // 사용자 권한에 따라 메뉴 필터링
-            List<LabNavigation> filteredMenus = filterMenusByUserRole(allMenus, user);
-
-            // 트리 구조 구성
-            List<LabNavigation> treeMenus = buildNavigationTree(filteredMenus);
-
-            // DTO로 변환
-            List<NavigationResponseDto> result = treeMenus.stream()
-                    .map(NavigationResponseDto::fromEntity)
-                    .collect(Collectors.toList());
-
-            log.info("네비게이션 트리 조회 완료: {} 개의 루트 메뉴", result.size());
-            return result;
-
         } catch (Exception e) {
-            log.error("네비게이션 트리 조회 중 오류 발생", e);
-            throw new RuntimeException("네비게이션 메뉴를 불러올 수 없습니다.", e);
+            log.error("네비게이션 클로저 테이블 초기화 중 오류 발생", e);
         }
     }
 
     /**
-     * 사용자 권한에 따른 메뉴 필터링
+     * 사용자 역할에 따른 네비게이션 트리 조회 (스냅샷에서 조회, 쿼리 없음)
      */
-    private List<LabNavigation> filterMenusByUserRole(List<LabNavigation> allMenus, LabUsers user) {
-        // 현재는 모든 메뉴를 반환하지만, 필요시 권한별로 필터링 로직 추가
-        // 예: 관리자 전용 메뉴, 특정 역할 전용 메뉴 등
-
+    public List<NavigationResponseDto> getNavigationTreeByUserRole(LabUsers user) {
         UserRole userRole = user != null ? user.getRole() : UserRole.USER;
+        log.debug("사용자 역할별 네비게이션 트리 조회: 사용자 = {}, 역할 = {}",
+                user != null ? user.getNickname() : "게스트", userRole);
 
-        return allMenus.stream()
-                .filter(menu -> isMenuAccessible(menu, userRole))
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * 메뉴 접근 권한 확인
-     */
-    private boolean isMenuAccessible(LabNavigation menu, UserRole userRole) {
-        // 기본적으로 모든 메뉴는 접근 가능
-        // 필요시 메뉴별 접근 권한 로직 추가
-
-        // 예시: 관리자 메뉴는 ADMIN 이상만 접근 가능
-        if (menu.getDescription() != null && menu.getDescription().contains("관리자")) {
-            return userRole == UserRole.ADMIN || userRole == UserRole.SUPER_ADMIN;
-        }
-
-        return true;
+        return getSnapshot().getTree(userRole);
     }
 
     /**
-     * 트리 형태의 네비게이션 메뉴 조회 (캐시 적용)
+     * 트리 형태의 네비게이션 메뉴 조회 (게스트 기준)
      */
-    @Cacheable(value = "navigationTree", unless = "#result.isEmpty()")
     public List<NavigationResponseDto> getNavigationTree() {
         return getNavigationTreeByUserRole(null);
     }
 
     /**
-     * 특정 경로의 네비게이션 경로 조회 (breadcrumb용)
+     * 특정 경로의 네비게이션 경로 조회 (breadcrumb용, 스냅샷에서 조회)
      */
     public List<NavigationResponseDto> getNavigationPath(String href) {
-        log.info("네비게이션 경로 조회: {}", href);
-
-        List<LabNavigation> menus = navigationRepository.findByHref(href);
-        if (menus.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        LabNavigation targetMenu = menus.get(0);
-        List<LabNavigation> path = buildNavigationPath(targetMenu);
+        log.debug("네비게이션 경로 조회: {}", href);
+        return getSnapshot().getPath(href);
+    }
 
-        return path.stream()
-                .map(NavigationResponseDto::fromEntity)
-                .collect(Collectors.toList());
+    /**
+     * 네비게이션 캐시 무효화 (스냅샷 재구성)
+     */
+    public void evictNavigationCache() {
+        log.info("네비게이션 캐시 무효화");
+        refreshSnapshot();
     }
 
     /**
-     * 메뉴 트리 구조 생성
+     * 현재 스냅샷 (아직 없으면 생성)
      */
-    private List<LabNavigation> buildNavigationTree(List<LabNavigation> allMenus) {
-        // 부모 ID별로 그룹핑
-        Map<Long, List<LabNavigation>> menusByParentId = allMenus.stream()
-                .filter(menu -> menu.getParentId() != null)
-                .collect(Collectors.groupingBy(LabNavigation::getParentId));
-
-        // 루트 메뉴들 찾기
-        List<LabNavigation> rootMenus = allMenus.stream()
-                .filter(menu -> menu.getParentId() == null)
-                .collect(Collectors.toList());
-
-        // 각 메뉴에 자식 메뉴들 연결
-        allMenus.forEach(menu -> {
-            List<LabNavigation> children = menusByParentId.get(menu.getId());
-            if (children != null) {
-                menu.setChildren(children);
-            }
-        });
+    private NavigationSnapshot getSnapshot() {
+        NavigationSnapshot current = snapshot;
+        return current != null ? current : loadSnapshot();
+    }
 
-        return rootMenus;
+    /**
+     * 스냅샷이 없을 때 최초 구성
+     * 락을 기다리던 다른 조회가 이미 구성했다면 다시 읽지 않고 그 스냅샷을 사용한다.
+     */
+    private synchronized NavigationSnapshot loadSnapshot() {
+        NavigationSnapshot current = snapshot;
+        return current != null ? current : refreshSnapshot();
     }
 
     /**
-     * 특정 메뉴까지의 경로 생성 (breadcrumb)
+     * 전체 메뉴를 읽어 스냅샷을 새로 만들고 한 번에 교체
+     * 순서대로 실행되므로 마지막 재구성은 항상 그 이전의 모든 커밋을 반영한다.
      */
-    private List<LabNavigation> buildNavigationPath(LabNavigation targetMenu) {
-        List<LabNavigation> path = new ArrayList<>();
-        LabNavigation currentMenu = targetMenu;
-
-        while (currentMenu != null) {
-            path.add(0, currentMenu); // 앞쪽에 추가하여 역순으로 만들기
-
-            if (currentMenu.getParentId() != null) {
-                currentMenu = navigationRepository.findById(currentMenu.getParentId())
-                        .orElse(null);
-            } else {
-                break;
-            }
+    private synchronized NavigationSnapshot refreshSnapshot() {
+        try {
+            NavigationSnapshot rebuilt = NavigationSnapshot.build(navigationRepository.findAllOrderBySortOrder());
+            snapshot = rebuilt;
+            log.info("네비게이션 스냅샷 재구성 완료: 메뉴 {} 개", rebuilt.getMenuCount());
+            return rebuilt;
+        } catch (Exception e) {
+            // 다음 조회 시 다시 시도
+            snapshot = null;
+            log.error("네비게이션 스냅샷 재구성 중 오류 발생", e);
+            throw new RuntimeException("네비게이션 메뉴를 불러올 수 없습니다.", e);
         }
-
-        return path;
     }
 
     /**
-     * 네비게이션 캐시 무효화
+     * 커밋 후 스냅샷 재구성 (트랜잭션 밖이면 즉시)
      */
-    @org.springframework.cache.annotation.CacheEvict(value = "navigationTree", allEntries = true)
-    public void evictNavigationCache() {
-        log.info("네비게이션 캐시 무효화");
+    private void refreshSnapshotAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refreshSnapshot();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    refreshSnapshot();
+                } catch (RuntimeException e) {
+                    // 이미 커밋된 변경이므로 요청은 성공 처리하고, 다음 조회 시 다시 구성
+                    log.warn("커밋 후 네비게이션 스냅샷 재구성 실패: {}", e.getMessage());
+                }
+            }
+        });
     }
 
     /**
      * 네비게이션 메뉴 생성
      */
     @Transactional
-    @CacheEvict(value = {"adminNavigations", "navigationTree"}, allEntries = true)
     public NavigationResponseDto createNavigation(NavigationRequestDto requestDto) {
         log.info("네비게이션 메뉴 생성: {}", requestDto.getLabel());
 
-        // 부모 메뉴 검증
-        if (requestDto.getParentId() != null) {
-            LabNavigation parent = navigationRepository.findById(requestDto.getParentId())
-                    .orElseThrow(() -> new EntityNotFoundException("부모 메뉴를 찾을 수 없습니다: " + requestDto.getParentId()));
-        }
-
-        // sortOrder 계산
-        Integer maxSortOrder = getMaxSortOrder(requestDto.getParentId());
+        // 부모 메뉴 검증 및 sortOrder 계산
         Integer depth = calculateDepth(requestDto.getParentId());
+        Integer maxSortOrder = getMaxSortOrder(requestDto.getParentId());
 
         LabNavigation navigation = LabNavigation.builder()
                 .label(requestDto.getLabel())
@@ -206,12 +170,15 @@ public class NavigationService {
                 .isActive(requestDto.getIsActive())
                 .build();
 
-        LabNavigation saved = navigationRepository.save(navigation);
+        // 클로저 경로가 메뉴 행을 참조하므로 먼저 반영
+        LabNavigation saved = navigationRepository.saveAndFlush(navigation);
+        treeRepository.insertNode(saved.getId(), saved.getParentId());
 
         // 활동 로그 기록
         activityLogService.logActivity("네비게이션 메뉴 생성", "메뉴 생성: " + saved.getLabel(),
                 "success", "navigation", saved.getId());
 
+        refreshSnapshotAfterCommit();
         return NavigationResponseDto.fromEntity(saved);
     }
 
@@ -219,7 +186,6 @@ public class NavigationService {
      * 네비게이션 메뉴 수정
      */
     @Transactional
-    @CacheEvict(value = {"adminNavigations", "navigationTree"}, allEntries = true)
     public NavigationResponseDto updateNavigation(Long id, NavigationRequestDto requestDto) {
         log.info("네비게이션 메뉴 수정: ID={}", id);
 
@@ -228,11 +194,6 @@ public class NavigationService {
 
         String oldValue = navigation.getLabel();
 
-        // 부모 메뉴 검증 (자기 자신이나 자식 메뉴로 설정되지 않도록)
-        if (requestDto.getParentId() != null) {
-            validateParentChange(id, requestDto.getParentId());
-        }
-
         // 업데이트
         navigation.setLabel(requestDto.getLabel());
         navigation.setHref(requestDto.getHref());
@@ -240,10 +201,9 @@ public class NavigationService {
         navigation.setDescription(requestDto.getDescription());
         navigation.setIsActive(requestDto.getIsActive());
 
-        // 부모가 변경되면 depth와 sortOrder 재계산
-        if (!java.util.Objects.equals(navigation.getParentId(), requestDto.getParentId())) {
-            navigation.setParentId(requestDto.getParentId());
-            navigation.setDepth(calculateDepth(requestDto.getParentId()));
+        // 부모가 변경되면 하위 트리 전체 이동 후 sortOrder 재계산
+        if (!Objects.equals(navigation.getParentId(), requestDto.getParentId())) {
+            moveNavigation(navigation, requestDto.getParentId());
             navigation.setSortOrder(getMaxSortOrder(requestDto.getParentId()) + 1);
         }
 
@@ -254,6 +214,7 @@ public class NavigationService {
                 String.format("메뉴 수정: %s -> %s", oldValue, updated.getLabel()),
                 "success", "navigation", updated.getId());
 
+        refreshSnapshotAfterCommit();
         return NavigationResponseDto.fromEntity(updated);
     }
 
@@ -261,16 +222,14 @@ public class NavigationService {
      * 네비게이션 메뉴 삭제
      */
     @Transactional
-    @CacheEvict(value = {"adminNavigations", "navigationTree"}, allEntries = true)
     public void deleteNavigation(Long id) {
         log.info("네비게이션 메뉴 삭제: ID={}", id);
 
         LabNavigation navigation = navigationRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("네비게이션 메뉴를 찾을 수 없습니다: " + id));
 
-        // 하위 메뉴가 있는지 확인
-        List<LabNavigation> children = navigationRepository.findChildrenByParentId(id);
-        if (!children.isEmpty()) {
+        // 하위 메뉴가 있는지 확인 (비활성 포함, 클로저 경로는 FK 로 함께 삭제됨)
+        if (treeRepository.hasChildren(id)) {
             throw new IllegalStateException("하위 메뉴가 있는 메뉴는 삭제할 수 없습니다.");
         }
 
@@ -280,37 +239,59 @@ public class NavigationService {
         // 활동 로그 기록
         activityLogService.logActivity("네비게이션 메뉴 삭제", "메뉴 삭제: " + deletedLabel,
                 "success", "navigation", id);
+
+        refreshSnapshotAfterCommit();
     }
 
     /**
      * 네비게이션 순서 변경
      */
     @Transactional
-    @CacheEvict(value = {"adminNavigations", "navigationTree"}, allEntries = true)
     public void updateNavigationOrder(List<NavigationOrderDto> orderData) {
         log.info("네비게이션 순서 변경: {} 개 메뉴", orderData.size());
 
-        for (NavigationOrderDto order : orderData) {
-            LabNavigation navigation = navigationRepository.findById(order.getId())
-                    .orElseThrow(() -> new EntityNotFoundException("네비게이션 메뉴를 찾을 수 없습니다: " + order.getId()));
+        // 현재 부모 ID 를 한 번에 조회
+        Map<Long, Long> currentParentIds = new HashMap<>();
+        navigationRepository.findParentIdsByIds(orderData.stream().map(NavigationOrderDto::getId).toList())
+                .forEach(row -> currentParentIds.put((Long) row[0], (Long) row[1]));
 
-            navigation.setSortOrder(order.getSortOrder());
-            navigation.setParentId(order.getParentId());
-            navigation.setDepth(calculateDepth(order.getParentId()));
+        Map<Long, Integer> sortOrders = new LinkedHashMap<>();
+        int moved = 0;
+        for (NavigationOrderDto order : orderData) {
+            if (!currentParentIds.containsKey(order.getId())) {
+                throw new EntityNotFoundException("네비게이션 메뉴를 찾을 수 없습니다: " + order.getId());
+            }
 
-            navigationRepository.save(navigation);
+            // 부모가 바뀐 메뉴만 하위 트리 이동 (순환 검사는 클로저 테이블 조회 한 번)
+            if (!Objects.equals(currentParentIds.get(order.getId()), order.getParentId())) {
+                if (order.getParentId() != null) {
+                    validateParentChange(order.getId(), order.getParentId());
+                    if (!navigationRepository.existsById(order.getParentId())) {
+                        throw new EntityNotFoundException("부모 메뉴를 찾을 수 없습니다: " + order.getParentId());
+                    }
+                }
+                treeRepository.moveSubtree(order.getId(), order.getParentId());
+                currentParentIds.put(order.getId(), order.getParentId());
+                moved++;
+            }
+            sortOrders.put(order.getId(), order.getSortOrder());
         }
 
+        // 정렬 순서는 한 번의 배치로 반영
+        treeRepository.updateSortOrders(sortOrders);
+        log.info("네비게이션 순서 변경 완료: 정렬 {} 개, 이동 {} 개", sortOrders.size(), moved);
+
         // 활동 로그 기록
         activityLogService.logActivity("네비게이션 순서 변경",
                 orderData.size() + "개 메뉴 순서 변경", "success", "navigation", null);
+
+        refreshSnapshotAfterCommit();
     }
 
     /**
      * 네비게이션 활성화/비활성화 토글
      */
     @Transactional
-    @CacheEvict(value = {"adminNavigations", "navigationTree"}, allEntries = true)
     public void toggleNavigationStatus(Long id) {
         log.info("네비게이션 상태 토글: ID={}", id);
 
@@ -326,27 +307,24 @@ public class NavigationService {
         activityLogService.logActivity("네비게이션 상태 변경",
                 String.format("메뉴 %s: %s", navigation.getLabel(), newStatus ? "활성화" : "비활성화"),
                 "success", "navigation", id);
+
+        refreshSnapshotAfterCommit();
     }
 
     /**
      * 부모 메뉴 변경
      */
     @Transactional
-    @CacheEvict(value = {"adminNavigations", "navigationTree"}, allEntries = true)
     public void updateNavigationParent(Long id, Long parentId) {
         log.info("네비게이션 부모 변경: ID={}, 새 부모 ID={}", id, parentId);
 
         LabNavigation navigation = navigationRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("네비게이션 메뉴를 찾을 수 없습니다: " + id));
 
-        // 부모 메뉴 검증
-        if (parentId != null) {
-            validateParentChange(id, parentId);
-        }
-
         Long oldParentId = navigation.getParentId();
-        navigation.setParentId(parentId);
-        navigation.setDepth(calculateDepth(parentId));
+        if (!Objects.equals(oldParentId, parentId)) {
+            moveNavigation(navigation, parentId);
+        }
         navigation.setSortOrder(getMaxSortOrder(parentId) + 1);
 
         navigationRepository.save(navigation);
@@ -355,6 +333,8 @@ public class NavigationService {
         activityLogService.logActivity("네비게이션 부모 변경",
                 String.format("메뉴 %s 부모 변경: %s -> %s", navigation.getLabel(), oldParentId, parentId),
                 "success", "navigation", id);
+
+        refreshSnapshotAfterCommit();
     }
 
     // 헬퍼 메소드들
@@ -384,33 +364,32 @@ public class NavigationService {
         return (parent.getDepth() != null ? parent.getDepth() : 0) + 1;
     }
 
-    private void validateParentChange(Long navigationId, Long newParentId) {
-        if (navigationId.equals(newParentId)) {
-            throw new IllegalArgumentException("자기 자신을 부모로 설정할 수 없습니다.");
+    /**
+     * 하위 트리 전체를 새 부모 아래로 이동
+     * DB 의 부모 ID/클로저 경로/깊이는 한 번에 갱신하고, 영속 상태의 엔티티도 같은 값으로 맞춘다.
+     */
+    private void moveNavigation(LabNavigation navigation, Long newParentId) {
+        if (newParentId != null) {
+            validateParentChange(navigation.getId(), newParentId);
         }
+        Integer depth = calculateDepth(newParentId);
 
-        // 순환 참조 검사 (자식 메뉴를 부모로 설정하는 것 방지)
-        LabNavigation newParent = navigationRepository.findById(newParentId)
-                .orElseThrow(() -> new EntityNotFoundException("부모 메뉴를 찾을 수 없습니다: " + newParentId));
-
-        checkCircularReference(navigationId, newParent);
+        treeRepository.moveSubtree(navigation.getId(), newParentId);
+        navigation.setParentId(newParentId);
+        navigation.setDepth(depth);
     }
 
-    private void checkCircularReference(Long navigationId, LabNavigation candidate) {
-        if (candidate.getParentId() == null) {
-            return; // 루트에 도달했으므로 순환 참조 없음
+    /**
+     * 자기 자신이나 하위 메뉴를 부모로 설정하지 않도록 검사 (클로저 테이블 조회 한 번)
+     */
+    private void validateParentChange(Long navigationId, Long newParentId) {
+        if (navigationId.equals(newParentId)) {
+            throw new IllegalArgumentException("자기 자신을 부모로 설정할 수 없습니다.");
         }
 
-        if (candidate.getParentId().equals(navigationId)) {
+        if (treeRepository.isAncestorOrSelf(navigationId, newParentId)) {
             throw new IllegalArgumentException("순환 참조가 발생합니다.");
         }
-
-        LabNavigation parent = navigationRepository.findById(candidate.getParentId())
-                .orElse(null);
-
-        if (parent != null) {
-            checkCircularReference(navigationId, parent);
-        }
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,230 @@
+package kr.labit.blog.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.labit.blog.dto.PostSummaryDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 포스트 캐시 의존성 관리
+ * 캐시 항목마다 포함된 포스트와 목록 범위(scope)를 기록해 두고,
+ * 포스트 변경 시 실제로 영향을 받는 항목만 제거한다.
+ *
+ * 의존성 키
+ * - post:{id}     목록에 해당 포스트가 포함됨 (내용 수정, 목록에서 제거 시)
+ * - detail:{id}   포스트 상세
+ * - members:{scope} offset 페이지 등 구성원이 바뀌면 전부 달라지는 목록
+ * - head:{scope}  커서 첫 페이지 (최신 발행 포스트가 앞에 추가될 때)
+ * - insert:{scope} 커서 이후 페이지 (기존 발행일시로 중간에 끼어들 때)
+ *
+ * scope: all, featured, category:{id}, tag:{tagKey}
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostCacheService {
+
+    public static final String SCOPE_ALL = "all";
+    public static final String SCOPE_FEATURED = "featured";
+
+    private final CacheManager cacheManager;
+
+    // 의존성 키 -> 캐시 항목
+    private final ConcurrentHashMap<String, Set<CacheEntryRef>> entriesByDependency = new ConcurrentHashMap<>();
+
+    // 의존성 키 -> 마지막 무효화 순번 (로딩 중 무효화된 항목을 다시 캐시하지 않기 위함)
+    private final ConcurrentHashMap<String, Long> invalidatedAt = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "post-cache-cleaner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    private void init() {
+        scheduler.scheduleWithFixedDelay(this::purgeExpiredRefs, 5, 5, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    public static String category(Long categoryId) {
+        return "category:" + categoryId;
+    }
+
+    public static String tag(String tagKey) {
+        return "tag:" + tagKey;
+    }
+
+    public static String detail(Long postId) {
+        return "detail:" + postId;
+    }
+
+    /**
+     * 캐시 조회 (없으면 로딩 후 의존성과 함께 저장)
+     */
+    public <T> T get(String cacheName, String key, Supplier<T> loader, Function<T, Set<String>> dependencies) {
+        Cache cache = cacheManager.getCache(cacheName);
+        long startedAt = sequence.get();
+        CacheEntryRef ref = new CacheEntryRef(cacheName, key);
+
+        T value;
+        try {
+            value = cache.get(key, () -> {
+                T loaded = loader.get();
+                dependencies.apply(loaded).forEach(dependency ->
+                        entriesByDependency.computeIfAbsent(dependency, k -> ConcurrentHashMap.newKeySet()).add(ref));
+                return loaded;
+            });
+        } catch (Cache.ValueRetrievalException e) {
+            // 로딩 중 발생한 예외는 그대로 전달
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        // 로딩 도중 관련 변경이 있었다면 저장된 값을 버림
+        if (dependencies.apply(value).stream().anyMatch(dependency -> invalidatedAt.getOrDefault(dependency, 0L) > startedAt)) {
+            cache.evict(key);
+        }
+        return value;
+    }
+
+    /**
+     * 목록 캐시 의존성 (포함된 포스트 + 추가 범위 키)
+     */
+    public static Set<String> listDependencies(Collection<PostSummaryDto> posts, String... scopeKeys) {
+        Set<String> dependencies = new HashSet<>(List.of(scopeKeys));
+        posts.forEach(post -> dependencies.add("post:" + post.getId()));
+        return dependencies;
+    }
+
+    /**
+     * 포스트 내용 변경 (목록 구성/순서 변화 없음)
+     */
+    public void evictPost(Long postId) {
+        evict(Set.of("post:" + postId, detail(postId)));
+    }
+
+    /**
+     * 포스트 상세만 변경 (좋아요 수, 댓글 수 등)
+     */
+    public void evictDetail(Long postId) {
+        evict(Set.of(detail(postId)));
+    }
+
+    /**
+     * 새로 발행되어 목록 맨 앞에 추가됨
+     */
+    public void evictPublishedAtHead(Collection<String> scopes) {
+        Set<String> dependencies = new HashSet<>();
+        scopes.forEach(scope -> {
+            dependencies.add("members:" + scope);
+            dependencies.add("head:" + scope);
+        });
+        evict(dependencies);
+    }
+
+    /**
+     * 기존 발행일시 그대로 목록 중간에 추가됨 (카테고리/태그 변경, 추천 지정)
+     */
+    public void evictInserted(Collection<String> scopes) {
+        Set<String> dependencies = new HashSet<>();
+        scopes.forEach(scope -> {
+            dependencies.add("members:" + scope);
+            dependencies.add("head:" + scope);
+            dependencies.add("insert:" + scope);
+        });
+        evict(dependencies);
+    }
+
+    /**
+     * 목록에서 제거됨 (비공개 전환, 삭제, 카테고리/태그 변경)
+     * 커서 페이지는 해당 포스트를 포함한 경우에만 영향을 받는다.
+     */
+    public void evictRemoved(Long postId, Collection<String> scopes) {
+        Set<String> dependencies = new HashSet<>(Set.of("post:" + postId, detail(postId)));
+        scopes.forEach(scope -> dependencies.add("members:" + scope));
+        evict(dependencies);
+    }
+
+    /**
+     * 의존성 키에 해당하는 캐시 항목 제거 (트랜잭션 중이면 커밋 후 한 번 더 제거)
+     */
+    private void evict(Set<String> dependencies) {
+        evictNow(dependencies);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(dependencies);
+                }
+            });
+        }
+    }
+
+    private void evictNow(Set<String> dependencies) {
+        long seq = sequence.incrementAndGet();
+        int evicted = 0;
+
+        for (String dependency : dependencies) {
+            invalidatedAt.put(dependency, seq);
+            Set<CacheEntryRef> refs = entriesByDependency.remove(dependency);
+            if (refs == null) {
+                continue;
+            }
+            for (CacheEntryRef ref : refs) {
+                Cache cache = cacheManager.getCache(ref.cacheName());
+                if (cache != null) {
+                    cache.evict(ref.key());
+                    evicted++;
+                }
+            }
+        }
+
+        log.debug("포스트 캐시 무효화: 의존성 {} 개, 항목 {} 개", dependencies.size(), evicted);
+    }
+
+    /**
+     * 만료/용량 초과로 이미 사라진 캐시 항목의 의존성 정리
+     */
+    private void purgeExpiredRefs() {
+        try {
+            entriesByDependency.forEach((dependency, refs) -> {
+                refs.removeIf(ref -> !(cacheManager.getCache(ref.cacheName()) instanceof CaffeineCache cache)
+                        || !cache.getNativeCache().asMap().containsKey(ref.key()));
+                entriesByDependency.computeIfPresent(dependency, (k, v) -> v.isEmpty() ? null : v);
+            });
+        } catch (Exception e) {
+            log.error("포스트 캐시 의존성 정리 중 오류 발생", e);
+        }
+    }
+
+    private record CacheEntryRef(String cacheName, String key) {
+    }
+}
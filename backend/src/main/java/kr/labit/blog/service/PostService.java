@@ -1,26 +1,44 @@
 package kr.labit.blog.service;
 
+import kr.labit.blog.dto.ContentVersion;
+import kr.labit.blog.dto.CursorPageDto;
 import kr.labit.blog.dto.PostCreateRequestDto;
+import kr.labit.blog.dto.PostCursor;
 import kr.labit.blog.dto.PostResponseDto;
+import kr.labit.blog.dto.PostSummaryDto;
 import kr.labit.blog.dto.PostUpdateRequestDto;
+import kr.labit.blog.dto.TagCountDto;
 import kr.labit.blog.entity.LabNavigation;
 import kr.labit.blog.entity.LabPost;
+import kr.labit.blog.entity.LabPostTag;
 import kr.labit.blog.entity.LabUsers;
 import kr.labit.blog.entity.PostStatus;
+import kr.labit.blog.entity.ReactionTargetType;
 import kr.labit.blog.repository.LabNavigationRepository;
 import kr.labit.blog.repository.LabPostRepository;
+import kr.labit.blog.repository.PostSummaryField;
+import kr.labit.blog.repository.PostSummaryQueryRepository;
+import kr.labit.blog.service.reaction.ReactionService;
+import kr.labit.blog.service.search.PostSearchIndex;
+import kr.labit.blog.service.storage.BlobStorageService;
+import kr.labit.blog.service.trending.TrendingRanker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,14 +47,25 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PostService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
+
     private final LabPostRepository postRepository;
     private final LabNavigationRepository navigationRepository;
+    private final ViewCountService viewCountService;
+    private final PostSearchIndex postSearchIndex;
+    private final PostTagService postTagService;
+    private final PostSummaryQueryRepository postSummaryRepository;
+    private final PostCacheService postCacheService;
+    private final TrendingRanker trendingRanker;
+    private final ReactionService reactionService;
+    private final PostVersionService postVersionService;
+    private final CommentCountService commentCountService;
+    private final BlobStorageService blobStorageService;
 
     /**
      * 포스트 생성
      */
     @Transactional
-    @CacheEvict(value = {"posts", "popularPosts", "recentPosts"}, allEntries = true)
     public PostResponseDto createPost(PostCreateRequestDto requestDto, LabUsers author) {
         log.info("포스트 생성 요청: 제목 = {}, 작성자 = {}", requestDto.getTitle(), author.getNickname());
 
@@ -65,6 +94,12 @@ public class PostService {
         }
 
         LabPost savedPost = postRepository.save(post);
+        blobStorageService.acquire(savedPost.getThumbnailUrl());
+        postTagService.syncTags(savedPost);
+        postSearchIndex.index(savedPost);
+        Set<String> scopes = getCacheScopes(savedPost);
+        postCacheService.evictPublishedAtHead(scopes);
+        postVersionService.bumpCollections(scopes);
         log.info("포스트 생성 완료: ID = {}", savedPost.getId());
 
         return PostResponseDto.fromEntity(savedPost);
@@ -74,7 +109,6 @@ public class PostService {
      * 포스트 수정
      */
     @Transactional
-    @CacheEvict(value = {"posts", "popularPosts", "recentPosts"}, allEntries = true)
     public PostResponseDto updatePost(Long postId, PostUpdateRequestDto requestDto, LabUsers currentUser) {
         log.info("포스트 수정 요청: ID = {}, 사용자 = {}", postId, currentUser.getNickname());
 
@@ -86,6 +120,10 @@ public class PostService {
             throw new RuntimeException("포스트를 수정할 권한이 없습니다.");
         }
 
+        // 캐시 무효화 범위 계산을 위한 수정 전 상태
+        Set<String> scopesBefore = getCacheScopes(post);
+        boolean hadPublishedDate = post.getPublishedDate() != null;
+
         // 카테고리 업데이트
         if (requestDto.getCategoryId() != null) {
             LabNavigation category = navigationRepository.findById(requestDto.getCategoryId())
@@ -97,6 +135,7 @@ public class PostService {
         post.setTitle(requestDto.getTitle());
         post.setContent(requestDto.getContent());
         post.setSummary(requestDto.getSummary());
+        blobStorageService.replaceReference(post.getThumbnailUrl(), requestDto.getThumbnailUrl());
         post.setThumbnailUrl(requestDto.getThumbnailUrl());
         post.setTagList(requestDto.getTags());
 
@@ -116,6 +155,14 @@ public class PostService {
         }
 
         LabPost updatedPost = postRepository.save(post);
+        postTagService.syncTags(updatedPost);
+        postSearchIndex.index(updatedPost);
+        evictUpdatedPost(updatedPost, scopesBefore, hadPublishedDate);
+        if (updatedPost.isPublished()) {
+            trendingRanker.evictSummary(postId);
+        } else {
+            trendingRanker.remove(postId);
+        }
         log.info("포스트 수정 완료: ID = {}", updatedPost.getId());
 
         return PostResponseDto.fromEntity(updatedPost);
@@ -124,39 +171,70 @@ public class PostService {
     /**
      * 포스트 조회 (조회수 증가)
      */
-    @Transactional
     public PostResponseDto getPost(Long postId) {
+        return getPost(postId, version -> false).orElseThrow();
+    }
+
+    /**
+     * 포스트 조회 - 조건부 (notModified 가 true 를 반환하면 조회수만 기록하고 빈 값 반환)
+     * 버전은 카운터 컬럼만 읽어 계산하므로 변경이 없으면 엔티티 로딩/응답 구성 없이 끝난다.
+     */
+    public Optional<PostResponseDto> getPost(Long postId, Predicate<ContentVersion> notModified) {
         log.info("포스트 조회 요청: ID = {}", postId);
 
-        LabPost post = postRepository.findById(postId)
+        Object[] row = postRepository.findVersionById(postId).stream()
+                .findFirst()
                 .orElseThrow(() -> new RuntimeException("포스트를 찾을 수 없습니다."));
+        LocalDateTime modifiedDate = (LocalDateTime) row[0];
+        long viewCount = (Long) row[1] + viewCountService.getPendingPostViews(postId);
+        long likeCount = (Long) row[2] + reactionService.getPendingCount(ReactionTargetType.POST, postId);
+        long commentCount = (Long) row[3] + commentCountService.getPendingDelta(postId);
+        PostStatus status = (PostStatus) row[4];
+
+        // 조회수 증가 (메모리에 누적 후 주기적으로 일괄 반영)
+        viewCountService.recordPostView(postId);
+        if (status == PostStatus.PUBLISHED) {
+            trendingRanker.recordView(postId);
+        }
 
-        // 조회수 증가
-        postRepository.incrementViewCount(postId);
-        post.incrementViewCount();
+        ContentVersion version = postVersionService.getPostVersion(postId, modifiedDate, viewCount, likeCount, commentCount);
+        if (notModified.test(version)) {
+            return Optional.empty();
+        }
 
-        return PostResponseDto.fromEntity(post);
+        // 카운터는 캐시하지 않고 매번 최신 값 반영
+        return Optional.of(getCachedDetail(postId).toBuilder()
+                .viewCount(viewCount)
+                .likeCount(likeCount)
+                .commentCount(commentCount)
+                .build());
     }
 
     /**
-     * 포스트 목록 조회
+     * 포스트 목록 조회 (요약 프로젝션)
      */
-    @Cacheable(value = "posts", key = "#pageable.pageNumber + '_' + #pageable.pageSize")
-    public Page<PostResponseDto> getPosts(Pageable pageable) {
+    public Page<PostSummaryDto> getPosts(Pageable pageable, String fields) {
         log.info("포스트 목록 조회 요청: 페이지 = {}, 크기 = {}", pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<LabPost> posts = postRepository.findPublishedPosts(pageable);
-        return posts.map(PostResponseDto::fromEntity);
+        return postCacheService.get("posts", "view:" + pageKey(pageable, fields), () -> {
+            List<PostSummaryDto> content = postSummaryRepository.findPublished(
+                    PostSummaryField.parse(fields), null, null, null, pageable.getOffset(), pageable.getPageSize());
+            return PageableExecutionUtils.getPage(content, pageable, () -> postSummaryRepository.countPublished(null, null));
+        }, page -> PostCacheService.listDependencies(page.getContent(), "members:" + PostCacheService.SCOPE_ALL));
     }
 
     /**
-     * 카테고리별 포스트 조회
+     * 카테고리별 포스트 조회 (요약 프로젝션)
      */
-    public Page<PostResponseDto> getPostsByCategory(Long categoryId, Pageable pageable) {
+    public Page<PostSummaryDto> getPostsByCategory(Long categoryId, Pageable pageable, String fields) {
         log.info("카테고리별 포스트 조회 요청: 카테고리 ID = {}", categoryId);
 
-        Page<LabPost> posts = postRepository.findPublishedPostsByCategory(categoryId, pageable);
-        return posts.map(PostResponseDto::fromEntity);
+        String scope = PostCacheService.category(categoryId);
+        return postCacheService.get("posts", scope + ":" + pageKey(pageable, fields), () -> {
+            List<PostSummaryDto> content = postSummaryRepository.findPublished(
+                    PostSummaryField.parse(fields), categoryId, null, null, pageable.getOffset(), pageable.getPageSize());
+            return PageableExecutionUtils.getPage(content, pageable, () -> postSummaryRepository.countPublished(categoryId, null));
+        }, page -> PostCacheService.listDependencies(page.getContent(), "members:" + scope));
     }
 
     /**
@@ -170,73 +248,169 @@ public class PostService {
     }
 
     /**
-     * 포스트 검색
+     * 포스트 검색 (검색 색인 조회 후 해당 페이지의 포스트만 DB에서 로드)
      */
-    public Page<PostResponseDto> searchPosts(String keyword, Pageable pageable) {
+    public Page<PostSummaryDto> searchPosts(String keyword, Pageable pageable, String fields) {
         log.info("포스트 검색 요청: 키워드 = {}", keyword);
 
-        Page<LabPost> posts = postRepository.searchPublishedPosts(keyword, pageable);
-        return posts.map(PostResponseDto::fromEntity);
+        Set<PostSummaryField> selectedFields = PostSummaryField.parse(fields);
+
+        // 색인 초기화 전에는 DB 검색으로 대체
+        if (!postSearchIndex.isReady()) {
+            List<PostSummaryDto> content = postSummaryRepository.searchPublished(
+                    selectedFields, keyword, pageable.getOffset(), pageable.getPageSize());
+            return PageableExecutionUtils.getPage(content, pageable, () -> postSummaryRepository.countSearchPublished(keyword));
+        }
+
+        PostSearchIndex.SearchResult result = postSearchIndex.search(keyword, pageable.getOffset(), pageable.getPageSize());
+        List<PostSummaryDto> content = postSummaryRepository.findByIds(selectedFields, result.getPostIds());
+
+        return new PageImpl<>(content, pageable, result.getTotal());
     }
 
     /**
-     * 태그별 포스트 조회
+     * 태그별 포스트 조회 (태그 색인 조회 후 해당 페이지의 포스트만 DB에서 로드)
      */
-    public Page<PostResponseDto> getPostsByTag(String tag, Pageable pageable) {
+    public Page<PostSummaryDto> getPostsByTag(String tag, Pageable pageable, String fields) {
         log.info("태그별 포스트 조회 요청: 태그 = {}", tag);
 
-        Page<LabPost> posts = postRepository.findPublishedPostsByTag(tag, pageable);
-        return posts.map(PostResponseDto::fromEntity);
+        String scope = PostCacheService.tag(LabPostTag.normalizeKey(tag));
+        return postCacheService.get("posts", scope + ":" + pageKey(pageable, fields),
+                () -> loadPostsByTag(tag, pageable, fields),
+                page -> PostCacheService.listDependencies(page.getContent(), "members:" + scope));
+    }
+
+    private Page<PostSummaryDto> loadPostsByTag(String tag, Pageable pageable, String fields) {
+        Set<PostSummaryField> selectedFields = PostSummaryField.parse(fields);
+
+        // 색인 초기화 전에는 태그 연결 테이블 조회로 대체
+        if (!postTagService.isReady()) {
+            String tagKey = LabPostTag.normalizeKey(tag);
+            List<PostSummaryDto> content = postSummaryRepository.findPublished(
+                    selectedFields, null, tagKey, null, pageable.getOffset(), pageable.getPageSize());
+            return PageableExecutionUtils.getPage(content, pageable, () -> postSummaryRepository.countPublished(null, tagKey));
+        }
+
+        List<Long> postIds = postTagService.findPostIdsByTag(tag, pageable.getOffset(), pageable.getPageSize());
+        List<PostSummaryDto> content = postSummaryRepository.findByIds(selectedFields, postIds);
+
+        return new PageImpl<>(content, pageable, postTagService.countPostsByTag(tag));
+    }
+
+    /**
+     * 태그 목록 조회 (태그별 포스트 수)
+     */
+    public List<TagCountDto> getTagCounts(int limit) {
+        log.info("태그 목록 조회 요청: 제한 = {}", limit);
+
+        return postTagService.getTagCounts(limit);
+    }
+
+    /**
+     * 발행 포스트 커서 조회 (COUNT 쿼리 없음)
+     */
+    public CursorPageDto<PostSummaryDto> getPostsByCursor(String cursorToken, int size, String fields) {
+        log.info("포스트 목록 커서 조회 요청: 크기 = {}", size);
+
+        PostCursor cursor = PostCursor.decode(cursorToken);
+        int pageSize = normalizeCursorSize(size);
+
+        return getCursorPage(PostCacheService.SCOPE_ALL, cursorToken, pageSize, fields, () ->
+                postSummaryRepository.findPublished(cursorFields(fields), null, null, cursor, 0, pageSize + 1));
+    }
+
+    /**
+     * 카테고리별 발행 포스트 커서 조회
+     */
+    public CursorPageDto<PostSummaryDto> getPostsByCategoryCursor(Long categoryId, String cursorToken, int size, String fields) {
+        log.info("카테고리별 포스트 커서 조회 요청: 카테고리 ID = {}", categoryId);
+
+        PostCursor cursor = PostCursor.decode(cursorToken);
+        int pageSize = normalizeCursorSize(size);
+
+        return getCursorPage(PostCacheService.category(categoryId), cursorToken, pageSize, fields, () ->
+                postSummaryRepository.findPublished(cursorFields(fields), categoryId, null, cursor, 0, pageSize + 1));
+    }
+
+    /**
+     * 태그별 발행 포스트 커서 조회
+     */
+    public CursorPageDto<PostSummaryDto> getPostsByTagCursor(String tag, String cursorToken, int size, String fields) {
+        log.info("태그별 포스트 커서 조회 요청: 태그 = {}", tag);
+
+        PostCursor cursor = PostCursor.decode(cursorToken);
+        int pageSize = normalizeCursorSize(size);
+        Set<PostSummaryField> selectedFields = cursorFields(fields);
+        String tagKey = LabPostTag.normalizeKey(tag);
+
+        return getCursorPage(PostCacheService.tag(tagKey), cursorToken, pageSize, fields, () -> postTagService.isReady()
+                ? postSummaryRepository.findByIds(selectedFields, postTagService.findPostIdsByTagAfter(tag, cursor, pageSize + 1))
+                : postSummaryRepository.findPublished(selectedFields, null, tagKey, cursor, 0, pageSize + 1));
     }
 
     /**
      * 추천 포스트 조회
      */
-    @Cacheable(value = "featuredPosts")
-    public List<PostResponseDto> getFeaturedPosts() {
+    public List<PostSummaryDto> getFeaturedPosts(String fields) {
         log.info("추천 포스트 조회 요청");
 
-        List<LabPost> posts = postRepository.findFeaturedPosts();
-        return posts.stream()
-                .map(PostResponseDto::fromEntity)
-                .collect(Collectors.toList());
+        return postCacheService.get("featuredPosts", String.valueOf(fields),
+                () -> postSummaryRepository.findFeatured(PostSummaryField.parse(fields)),
+                posts -> PostCacheService.listDependencies(posts, "members:" + PostCacheService.SCOPE_FEATURED));
     }
 
     /**
-     * 인기 포스트 조회 (최근 7일)
+     * 인기 포스트 조회 (시간 감쇠 조회 점수 기준)
+     * 랭킹 데이터가 아직 없으면 최근 7일 조회수 기준으로 대체
      */
-    @Cacheable(value = "popularPosts")
-    public List<PostResponseDto> getPopularPosts(int limit) {
+    public List<PostSummaryDto> getPopularPosts(int limit, String fields) {
         log.info("인기 포스트 조회 요청: 제한 = {}", limit);
 
-        LocalDateTime fromDate = LocalDateTime.now().minusDays(7);
-        Pageable pageable = PageRequest.of(0, limit);
+        if (!trendingRanker.isEmpty()) {
+            Set<PostSummaryField> selectedFields = PostSummaryField.parse(fields);
+            return trendingRanker.getTopPosts(limit).stream()
+                    .map(post -> PostSummaryField.project(post, selectedFields))
+                    .collect(Collectors.toList());
+        }
 
-        List<LabPost> posts = postRepository.findPopularPosts(fromDate, pageable);
-        return posts.stream()
-                .map(PostResponseDto::fromEntity)
-                .collect(Collectors.toList());
+        LocalDateTime fromDate = LocalDateTime.now().minusDays(7);
+        return postCacheService.get("popularPosts", limit + ":" + fields,
+                () -> postSummaryRepository.findPopular(PostSummaryField.parse(fields), fromDate, limit),
+                posts -> PostCacheService.listDependencies(posts, "members:" + PostCacheService.SCOPE_ALL));
     }
 
     /**
      * 최근 포스트 조회
      */
-    @Cacheable(value = "recentPosts")
-    public List<PostResponseDto> getRecentPosts(int limit) {
+    public List<PostSummaryDto> getRecentPosts(int limit, String fields) {
         log.info("최근 포스트 조회 요청: 제한 = {}", limit);
 
-        Pageable pageable = PageRequest.of(0, limit);
-        List<LabPost> posts = postRepository.findRecentPosts(pageable);
-        return posts.stream()
-                .map(PostResponseDto::fromEntity)
-                .collect(Collectors.toList());
+        return postCacheService.get("recentPosts", limit + ":" + fields,
+                () -> postSummaryRepository.findPublished(PostSummaryField.parse(fields), null, null, null, 0, limit),
+                posts -> PostCacheService.listDependencies(posts, "head:" + PostCacheService.SCOPE_ALL));
+    }
+
+    /**
+     * 목록 버전 (scope: all, featured)
+     */
+    public ContentVersion getCollectionVersion(String scope) {
+        return postVersionService.getCollectionVersion(scope);
+    }
+
+    /**
+     * 인기 포스트 목록 버전 (랭킹 순서가 바뀌면 달라짐)
+     */
+    public ContentVersion getPopularVersion(int limit) {
+        if (trendingRanker.isEmpty()) {
+            return postVersionService.getCollectionVersion(PostCacheService.SCOPE_ALL);
+        }
+        return postVersionService.getRankingVersion(PostCacheService.SCOPE_ALL, trendingRanker.getTopPostIds(limit));
     }
 
     /**
      * 포스트 삭제
      */
     @Transactional
-    @CacheEvict(value = {"posts", "popularPosts", "recentPosts", "featuredPosts"}, allEntries = true)
     public void deletePost(Long postId, LabUsers currentUser) {
         log.info("포스트 삭제 요청: ID = {}, 사용자 = {}", postId, currentUser.getNickname());
 
@@ -248,33 +422,150 @@ public class PostService {
             throw new RuntimeException("포스트를 삭제할 권한이 없습니다.");
         }
 
+        Set<String> scopes = getCacheScopes(post);
+
+        postTagService.removeTags(postId);
+        reactionService.removePostReactions(postId);
         postRepository.delete(post);
+        blobStorageService.release(post.getThumbnailUrl());
+        postSearchIndex.remove(postId);
+        postCacheService.evictRemoved(postId, scopes);
+        postVersionService.bumpCollections(scopes);
+        trendingRanker.remove(postId);
         log.info("포스트 삭제 완료: ID = {}", postId);
     }
 
     /**
      * 포스트 좋아요/취소
      */
-    @Transactional
     public PostResponseDto togglePostLike(Long postId, LabUsers currentUser) {
         log.info("포스트 좋아요 토글 요청: ID = {}, 사용자 = {}", postId, currentUser.getNickname());
 
-        LabPost post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("포스트를 찾을 수 없습니다."));
+        PostResponseDto cached = getCachedDetail(postId);
 
-        // TODO: 실제로는 별도의 좋아요 테이블을 만들어서 중복 방지 처리
-        // 여기서는 단순히 카운트만 증가/감소
-        post.incrementLikeCount();
-        LabPost updatedPost = postRepository.save(post);
+        // 좋아요 행과 좋아요 수는 메모리에 누적 후 주기적으로 일괄 반영
+        boolean liked = reactionService.toggle(ReactionTargetType.POST, postId, currentUser.getId());
 
-        return PostResponseDto.fromEntity(updatedPost);
+        long viewCount = postRepository.findViewCountById(postId).orElse(cached.getViewCount());
+        return cached.toBuilder()
+                .viewCount(viewCount + viewCountService.getPendingPostViews(postId))
+                .likeCount(cached.getLikeCount() + reactionService.getPendingCount(ReactionTargetType.POST, postId))
+                .isLiked(liked)
+                .build();
     }
 
     /**
-     * 댓글 수 업데이트
+     * 사용자가 좋아요한 포스트 여부 (목록 한 페이지 분량을 한 번에 확인)
      */
-    @Transactional
-    public void updateCommentCount(Long postId, Long commentCount) {
-        postRepository.updateCommentCount(postId, commentCount);
+    public Map<Long, Boolean> getPostLikeStatus(List<Long> postIds, LabUsers currentUser) {
+        return reactionService.getLikeStatus(ReactionTargetType.POST, postIds, currentUser);
+    }
+
+    /**
+     * 포스트가 속한 목록 범위 (발행된 포스트만)
+     */
+    private Set<String> getCacheScopes(LabPost post) {
+        Set<String> scopes = new HashSet<>();
+        if (!post.isPublished()) {
+            return scopes;
+        }
+
+        scopes.add(PostCacheService.SCOPE_ALL);
+        if (post.getCategory() != null) {
+            scopes.add(PostCacheService.category(post.getCategory().getId()));
+        }
+        if (Boolean.TRUE.equals(post.getIsFeatured())) {
+            scopes.add(PostCacheService.SCOPE_FEATURED);
+        }
+        post.getTagList().forEach(tag -> scopes.add(PostCacheService.tag(LabPostTag.normalizeKey(tag))));
+        return scopes;
+    }
+
+    /**
+     * 포스트 수정에 따른 캐시 무효화 (영향받는 목록만)
+     */
+    private void evictUpdatedPost(LabPost post, Set<String> scopesBefore, boolean hadPublishedDate) {
+        Set<String> scopesAfter = getCacheScopes(post);
+
+        Set<String> removed = new HashSet<>(scopesBefore);
+        removed.removeAll(scopesAfter);
+        Set<String> added = new HashSet<>(scopesAfter);
+        added.removeAll(scopesBefore);
+
+        Set<String> affected = new HashSet<>(scopesBefore);
+        affected.addAll(scopesAfter);
+        postVersionService.bumpCollections(affected);
+
+        postCacheService.evictPost(post.getId());
+        if (!removed.isEmpty()) {
+            postCacheService.evictRemoved(post.getId(), removed);
+        }
+        if (!added.isEmpty()) {
+            // 새로 발행된 경우 맨 앞, 기존 발행일시를 유지한 경우 중간에 추가
+            if (scopesBefore.isEmpty() && !hadPublishedDate) {
+                postCacheService.evictPublishedAtHead(added);
+            } else {
+                postCacheService.evictInserted(added);
+            }
+        }
+    }
+
+    /**
+     * 커서 페이지 캐시 조회
+     * 첫 페이지는 새 발행 포스트에, 이후 페이지는 중간 삽입에만 영향을 받는다.
+     */
+    private CursorPageDto<PostSummaryDto> getCursorPage(String scope, String cursorToken, int pageSize, String fields,
+                                                        Supplier<List<PostSummaryDto>> loader) {
+        boolean firstPage = cursorToken == null || cursorToken.isBlank();
+        String key = "cursor:" + scope + ":" + (firstPage ? "" : cursorToken) + ":" + pageSize + ":" + fields;
+
+        return postCacheService.get("posts", key, () -> toCursorPage(loader.get(), pageSize),
+                page -> PostCacheService.listDependencies(page.getContent(),
+                        (firstPage ? "head:" : "insert:") + scope));
+    }
+
+    private PostResponseDto getCachedDetail(Long postId) {
+        return postCacheService.get("postDetail", String.valueOf(postId),
+                () -> PostResponseDto.fromEntity(postRepository.findById(postId)
+                        .orElseThrow(() -> new RuntimeException("포스트를 찾을 수 없습니다."))),
+                dto -> Set.of(PostCacheService.detail(postId)));
+    }
+
+    private String pageKey(Pageable pageable, String fields) {
+        return pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + fields;
+    }
+
+    /**
+     * 커서 조회 결과 변환 (size + 1 건을 조회하여 다음 페이지 여부 판단)
+     */
+    private CursorPageDto<PostSummaryDto> toCursorPage(List<PostSummaryDto> posts, int size) {
+        boolean hasNext = posts.size() > size;
+        List<PostSummaryDto> page = hasNext ? posts.subList(0, size) : posts;
+
+        String nextCursor = null;
+        if (hasNext) {
+            PostSummaryDto last = page.get(page.size() - 1);
+            nextCursor = PostCursor.of(last.getPublishedDate(), last.getId()).encode();
+        }
+
+        return CursorPageDto.<PostSummaryDto>builder()
+                .content(page)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(page.size())
+                .build();
+    }
+
+    /**
+     * 커서 생성에 필요한 필드(id, publishedDate)는 항상 조회
+     */
+    private Set<PostSummaryField> cursorFields(String fields) {
+        Set<PostSummaryField> selectedFields = PostSummaryField.parse(fields);
+        selectedFields.add(PostSummaryField.PUBLISHED_DATE);
+        return selectedFields;
+    }
+
+    private int normalizeCursorSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,287 @@
+package kr.labit.blog.service;
+
+import kr.labit.blog.dto.PostCursor;
+import kr.labit.blog.dto.TagCountDto;
+import kr.labit.blog.entity.LabPost;
+import kr.labit.blog.entity.LabPostTag;
+import kr.labit.blog.repository.LabPostRepository;
+import kr.labit.blog.repository.LabPostTagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 포스트 태그 관리 및 태그 색인
+ * - LAB_POST_TAG 연결 테이블 유지
+ * - 발행된 포스트에 대한 태그 -> 포스트 ID 정렬 목록 (발행일시 최신순)
+ * - 태그별 포스트 수 (태그 클라우드용, 추가/제거 시 함께 증감하여 O(1) 조회)
+ * 태그 하나의 목록/포스트 수 변경은 postingsByTag.compute 안에서 하여, 빈 태그 제거와 동시 추가가 엇갈리지 않는다.
+ * 색인은 연결 테이블 변경이 커밋된 뒤에 반영한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class PostTagService {
+
+    private static final int BACKFILL_BATCH_SIZE = 200;
+
+    private static final Comparator<PostKey> LATEST_FIRST = Comparator
+            .comparingLong(PostKey::publishedAt).reversed()
+            .thenComparing(Comparator.comparingLong(PostKey::postId).reversed());
+
+    private final LabPostTagRepository postTagRepository;
+    private final LabPostRepository postRepository;
+
+    // tagKey -> 발행 포스트 목록 (최신순) 과 포스트 수
+    private final ConcurrentHashMap<String, TagPosting> postingsByTag = new ConcurrentHashMap<>();
+
+    // tagKey -> 표시명
+    private final ConcurrentHashMap<String, String> tagNames = new ConcurrentHashMap<>();
+
+    // postId -> 색인된 정보 (재색인/삭제 시 사용)
+    private final ConcurrentHashMap<Long, IndexedPost> indexedPosts = new ConcurrentHashMap<>();
+
+    private volatile boolean ready = false;
+
+    /**
+     * 애플리케이션 기동 후 태그 색인 구성
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        try {
+            if (postTagRepository.count() == 0) {
+                backfillFromPosts();
+            }
+
+            Map<Long, List<Object[]>> rowsByPost = postTagRepository.findPublishedPostTags().stream()
+                    .collect(Collectors.groupingBy(row -> (Long) row[0]));
+
+            rowsByPost.forEach((postId, rows) -> {
+                Map<String, String> tags = new LinkedHashMap<>();
+                rows.forEach(row -> tags.put((String) row[1], (String) row[2]));
+                addToIndex(postId, toEpochMillis((LocalDateTime) rows.get(0)[3]), tags);
+            });
+
+            ready = true;
+            log.info("태그 색인 초기화 완료: 포스트 {} 건, 태그 {} 개", indexedPosts.size(), postingsByTag.size());
+        } catch (Exception e) {
+            log.error("태그 색인 초기화 실패 (DB 조회로 대체)", e);
+        }
+    }
+
+    /**
+     * 태그 색인 사용 가능 여부
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 포스트 태그 동기화 (연결 테이블 + 색인)
+     */
+    @Transactional
+    public void syncTags(LabPost post) {
+        Map<String, String> tags = toTagMap(post.getTagList());
+
+        postTagRepository.deleteByPostId(post.getId());
+        postTagRepository.flush();
+        postTagRepository.saveAll(tags.entrySet().stream()
+                .map(entry -> LabPostTag.builder()
+                        .postId(post.getId())
+                        .tagKey(entry.getKey())
+                        .tagName(entry.getValue())
+                        .build())
+                .collect(Collectors.toList()));
+
+        Long postId = post.getId();
+        boolean published = post.isPublished();
+        long publishedAt = toEpochMillis(post.getPublishedDate());
+        runAfterCommit(() -> {
+            removeFromIndex(postId);
+            if (published) {
+                addToIndex(postId, publishedAt, tags);
+            }
+        });
+    }
+
+    /**
+     * 포스트 삭제 시 태그 정리
+     */
+    @Transactional
+    public void removeTags(Long postId) {
+        postTagRepository.deleteByPostId(postId);
+        runAfterCommit(() -> removeFromIndex(postId));
+    }
+
+    /**
+     * 태그의 발행 포스트 ID 조회 (최신순)
+     */
+    public List<Long> findPostIdsByTag(String tag, long offset, int limit) {
+        TagPosting posting = postingsByTag.get(LabPostTag.normalizeKey(tag));
+        if (posting == null) {
+            return List.of();
+        }
+
+        return posting.keys().stream()
+                .skip(offset)
+                .limit(limit)
+                .map(PostKey::postId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 태그의 발행 포스트 ID 조회 - 커서 이후 (cursor 가 null 이면 처음부터)
+     */
+    public List<Long> findPostIdsByTagAfter(String tag, PostCursor cursor, int limit) {
+        TagPosting posting = postingsByTag.get(LabPostTag.normalizeKey(tag));
+        if (posting == null) {
+            return List.of();
+        }
+
+        NavigableSet<PostKey> tail = cursor == null ? posting.keys()
+                : posting.keys().tailSet(new PostKey(toEpochMillis(cursor.getPublishedDate()), cursor.getId()), false);
+
+        return tail.stream()
+                .limit(limit)
+                .map(PostKey::postId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 태그의 발행 포스트 수
+     */
+    public long countPostsByTag(String tag) {
+        TagPosting posting = postingsByTag.get(LabPostTag.normalizeKey(tag));
+        return posting != null ? posting.count().get() : 0;
+    }
+
+    /**
+     * 태그 클라우드 (포스트 수 내림차순)
+     */
+    public List<TagCountDto> getTagCounts(int limit) {
+        return postingsByTag.entrySet().stream()
+                .map(entry -> TagCountDto.builder()
+                        .tag(tagNames.getOrDefault(entry.getKey(), entry.getKey()))
+                        .count(entry.getValue().count().get())
+                        .build())
+                .filter(dto -> dto.getCount() > 0)
+                .sorted(Comparator.comparing(TagCountDto::getCount).reversed()
+                        .thenComparing(TagCountDto::getTag))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    // 헬퍼 메소드들
+
+    /**
+     * 기존 LAB_POST.TAGS 문자열로부터 연결 테이블 채우기 (최초 1회)
+     */
+    private void backfillFromPosts() {
+        int page = 0;
+        int count = 0;
+        Page<LabPost> batch;
+        do {
+            batch = postRepository.findAll(PageRequest.of(page++, BACKFILL_BATCH_SIZE));
+            List<LabPostTag> rows = new ArrayList<>();
+            for (LabPost post : batch) {
+                toTagMap(post.getTagList()).forEach((key, name) -> rows.add(LabPostTag.builder()
+                        .postId(post.getId())
+                        .tagKey(key)
+                        .tagName(name)
+                        .build()));
+            }
+            postTagRepository.saveAll(rows);
+            count += rows.size();
+        } while (batch.hasNext());
+
+        log.info("태그 연결 테이블 초기 구성 완료: {} 건", count);
+    }
+
+    private Map<String, String> toTagMap(List<String> tagList) {
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (String tag : tagList) {
+            String key = LabPostTag.normalizeKey(tag);
+            if (!key.isEmpty()) {
+                tags.putIfAbsent(key, tag.trim());
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * 커밋 후 색인 반영 (롤백된 변경이 색인에 남지 않도록, 트랜잭션 밖이면 즉시)
+     */
+    private void runAfterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private void addToIndex(Long postId, long publishedAt, Map<String, String> tags) {
+        PostKey key = new PostKey(publishedAt, postId);
+        tags.forEach((tagKey, tagName) -> postingsByTag.compute(tagKey, (k, posting) -> {
+            TagPosting target = posting != null ? posting
+                    : new TagPosting(new ConcurrentSkipListSet<>(LATEST_FIRST), new AtomicLong());
+            if (target.keys().add(key)) {
+                target.count().incrementAndGet();
+            }
+            tagNames.putIfAbsent(k, tagName);
+            return target;
+        }));
+        indexedPosts.put(postId, new IndexedPost(key, Set.copyOf(tags.keySet())));
+    }
+
+    private void removeFromIndex(Long postId) {
+        IndexedPost indexed = indexedPosts.remove(postId);
+        if (indexed == null) {
+            return;
+        }
+        indexed.tagKeys().forEach(tagKey -> postingsByTag.computeIfPresent(tagKey, (k, posting) -> {
+            if (posting.keys().remove(indexed.key())) {
+                posting.count().decrementAndGet();
+            }
+            if (posting.count().get() == 0) {
+                tagNames.remove(k);
+                return null;
+            }
+            return posting;
+        }));
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0L;
+    }
+
+    private record PostKey(long publishedAt, long postId) {
+    }
+
+    private record IndexedPost(PostKey key, Set<String> tagKeys) {
+    }
+
+    private record TagPosting(ConcurrentSkipListSet<PostKey> keys, AtomicLong count) {
+    }
+}
@@ -0,0 +1,100 @@
+package kr.labit.blog.service;
+
+import kr.labit.blog.dto.ContentVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 포스트 응답 버전 (ETag / Last-Modified)
+ * - 포스트 상세: 수정일시 + 좋아요/댓글 수 + 구간 단위 조회수 (조회수 변화마다 바뀌지 않도록)
+ * - 목록: 목록 범위(scope)별 버전 스탬프, 해당 범위의 포스트가 추가/수정/삭제될 때 갱신
+ * 스탬프는 밀리초 시각 기반이므로 재시작 후에도 이전 ETag 와 겹치지 않는다.
+ */
+@Service
+@Slf4j
+public class PostVersionService {
+
+    private final long startedAt = System.currentTimeMillis();
+
+    // scope -> 마지막 변경 시각 (밀리초, 단조 증가)
+    private final ConcurrentHashMap<String, Long> collectionStamps = new ConcurrentHashMap<>();
+
+    @Value("${app.http.view-count-bucket:100}")
+    private long viewCountBucket;
+
+    /**
+     * 포스트 상세 버전
+     * 응답에 조회수/좋아요/댓글 수가 포함되고 이 값들은 수정일시와 무관하게 바뀌므로 Last-Modified 는 사용하지 않는다.
+     * (If-Modified-Since 만 보내는 클라이언트가 오래된 카운터로 304 를 받지 않도록 ETag 로만 검증)
+     */
+    public ContentVersion getPostVersion(Long postId, LocalDateTime modifiedDate,
+                                         long viewCount, long likeCount, long commentCount) {
+        long modifiedAt = modifiedDate != null ? modifiedDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0L;
+        String etag = "W/\"p" + postId
+                + "-" + Long.toString(modifiedAt, 36)
+                + "-" + likeCount
+                + "-" + commentCount
+                + "-" + viewCount / Math.max(1, viewCountBucket) + "\"";
+        return ContentVersion.of(etag, -1L);
+    }
+
+    /**
+     * 목록 범위 버전
+     */
+    public ContentVersion getCollectionVersion(String scope) {
+        long stamp = getStamp(scope);
+        return ContentVersion.of("W/\"" + scope + "-" + Long.toString(stamp, 36) + "\"", stamp);
+    }
+
+    /**
+     * 순위 목록 버전 (목록 범위 버전 + 현재 순서)
+     * 순서는 시각과 무관하게 바뀌므로 Last-Modified 는 사용하지 않는다.
+     */
+    public ContentVersion getRankingVersion(String scope, List<Long> rankedIds) {
+        String etag = "W/\"" + scope + "-" + Long.toString(getStamp(scope), 36)
+                + "-" + Integer.toString(rankedIds.hashCode(), 36) + "\"";
+        return ContentVersion.of(etag, -1L);
+    }
+
+    /**
+     * 목록 범위 버전 갱신 (트랜잭션 중이면 커밋 후 한 번 더 갱신)
+     * 커밋 전에 이전 내용을 읽은 요청이 새 버전을 받아가지 않도록 커밋 후에도 갱신한다.
+     */
+    public void bumpCollections(Collection<String> scopes) {
+        if (scopes.isEmpty()) {
+            return;
+        }
+
+        Set<String> targets = Set.copyOf(scopes);
+        bumpNow(targets);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpNow(targets);
+                }
+            });
+        }
+    }
+
+    private long getStamp(String scope) {
+        return collectionStamps.computeIfAbsent(scope, k -> startedAt);
+    }
+
+    private void bumpNow(Set<String> scopes) {
+        long now = System.currentTimeMillis();
+        scopes.forEach(scope -> collectionStamps.merge(scope, now, (previous, current) -> Math.max(previous + 1, current)));
+        log.debug("포스트 목록 버전 갱신: {}", scopes);
+    }
+}
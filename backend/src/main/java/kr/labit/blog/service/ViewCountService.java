@@ -0,0 +1,136 @@
+package kr.labit.blog.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.labit.blog.repository.LabCounterJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 조회수 write-behind 카운터
+ * 요청마다 UPDATE 하지 않고 메모리에 누적한 뒤 주기적으로 한 번의 배치로 반영한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ViewCountService {
+
+    private final LabCounterJdbcRepository counterRepository;
+
+    // 포스트별 미반영 조회수
+    private final ConcurrentHashMap<Long, LongAdder> pendingPostViews = new ConcurrentHashMap<>();
+
+    // 사이트 전체(관리자 총 조회수) 미반영 조회수
+    private final LongAdder pendingTotalViews = new LongAdder();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "view-count-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${app.view-count.flush-interval-seconds:10}")
+    private long flushIntervalSeconds;
+
+    @PostConstruct
+    private void init() {
+        scheduler.scheduleWithFixedDelay(this::flushSafely, flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS);
+        log.info("조회수 카운터 초기화 완료: 반영 주기 {}초", flushIntervalSeconds);
+    }
+
+    /**
+     * 종료 시 남은 조회수 반영
+     */
+    @PreDestroy
+    private void shutdown() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+        log.info("조회수 카운터 종료: 미반영 조회수 반영 완료");
+    }
+
+    /**
+     * 포스트 조회수 증가
+     */
+    public void recordPostView(Long postId) {
+        pendingPostViews.computeIfAbsent(postId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * 사이트 전체 조회수 증가
+     */
+    public void recordTotalView() {
+        pendingTotalViews.increment();
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 포스트 조회수
+     */
+    public long getPendingPostViews(Long postId) {
+        LongAdder adder = pendingPostViews.get(postId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 사이트 전체 조회수
+     */
+    public long getPendingTotalViews() {
+        return pendingTotalViews.sum();
+    }
+
+    /**
+     * 누적된 조회수를 DB에 반영
+     */
+    public void flush() {
+        Map<Long, Long> postDeltas = new HashMap<>();
+        pendingPostViews.forEach((postId, adder) -> {
+            // 조회가 없던 포스트의 카운터도 남겨둔다 (제거하면 이미 카운터를 얻은 recordPostView 의 증가가 유실됨)
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                postDeltas.put(postId, delta);
+            }
+        });
+        long totalDelta = pendingTotalViews.sumThenReset();
+
+        try {
+            if (!postDeltas.isEmpty()) {
+                counterRepository.addPostViewCounts(postDeltas);
+            }
+            if (totalDelta > 0) {
+                counterRepository.addAdminTotalViews(totalDelta);
+            }
+        } catch (RuntimeException e) {
+            // 반영 실패 시 다음 주기에 다시 시도하도록 되돌림
+            postDeltas.forEach((postId, delta) ->
+                    pendingPostViews.computeIfAbsent(postId, id -> new LongAdder()).add(delta));
+            pendingTotalViews.add(totalDelta);
+            throw e;
+        }
+
+        if (!postDeltas.isEmpty() || totalDelta > 0) {
+            log.debug("조회수 반영 완료: 포스트 {}건, 전체 조회수 +{}", postDeltas.size(), totalDelta);
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("조회수 반영 중 오류 발생", e);
+        }
+    }
+}
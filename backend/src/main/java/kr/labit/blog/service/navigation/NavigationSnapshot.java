@@ -0,0 +1,165 @@
+package kr.labit.blog.service.navigation;
+
+import kr.labit.blog.dto.navigation.NavigationResponseDto;
+import kr.labit.blog.entity.LabNavigation;
+import kr.labit.blog.entity.UserRole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 네비게이션 메뉴 불변 스냅샷
+ * - 역할(UserRole)별 메뉴 트리를 미리 구성
+ * - href -> 메뉴 노드 해시 인덱스와 부모 포인터로 breadcrumb 경로를 미리 계산
+ * 생성 후에는 변경되지 않으므로 여러 요청이 잠금 없이 공유하며, 엔티티는 읽기만 한다.
+ */
+public final class NavigationSnapshot {
+
+    // 경로 계산 시 최대 깊이 (잘못된 순환 데이터 방지)
+    private static final int MAX_DEPTH = 64;
+
+    private final Map<UserRole, List<NavigationResponseDto>> treesByRole;
+    private final Map<String, Node> nodesByHref;
+    private final int menuCount;
+
+    private NavigationSnapshot(Map<UserRole, List<NavigationResponseDto>> treesByRole, Map<String, Node> nodesByHref, int menuCount) {
+        this.treesByRole = treesByRole;
+        this.nodesByHref = nodesByHref;
+        this.menuCount = menuCount;
+    }
+
+    /**
+     * 전체 메뉴(비활성 포함, 정렬 순서대로)로 스냅샷 생성
+     */
+    public static NavigationSnapshot build(List<LabNavigation> menus) {
+        // 부모 포인터 (비활성 부모도 경로에는 포함)
+        Map<Long, Node> nodesById = new HashMap<>();
+        for (LabNavigation menu : menus) {
+            nodesById.put(menu.getId(), new Node(menu.getParentId(), toDto(menu, List.of())));
+        }
+        for (Node node : nodesById.values()) {
+            node.parent = node.parentId != null ? nodesById.get(node.parentId) : null;
+        }
+
+        // href 인덱스 (활성 메뉴 중 정렬 순서상 첫 번째)
+        Map<String, Node> nodesByHref = new HashMap<>();
+        for (LabNavigation menu : menus) {
+            if (Boolean.TRUE.equals(menu.getIsActive()) && menu.getHref() != null) {
+                nodesByHref.putIfAbsent(menu.getHref(), nodesById.get(menu.getId()));
+            }
+        }
+        nodesByHref.values().forEach(Node::computePath);
+
+        Map<UserRole, List<NavigationResponseDto>> treesByRole = new EnumMap<>(UserRole.class);
+        for (UserRole role : UserRole.values()) {
+            treesByRole.put(role, buildTree(menus, role));
+        }
+
+        return new NavigationSnapshot(treesByRole, Map.copyOf(nodesByHref), menus.size());
+    }
+
+    /**
+     * 역할별 메뉴 트리
+     */
+    public List<NavigationResponseDto> getTree(UserRole role) {
+        return treesByRole.getOrDefault(role, List.of());
+    }
+
+    /**
+     * href 에 해당하는 메뉴까지의 경로 (루트부터, 없으면 빈 목록)
+     */
+    public List<NavigationResponseDto> getPath(String href) {
+        Node node = href != null ? nodesByHref.get(href) : null;
+        return node != null ? node.path : List.of();
+    }
+
+    public int getMenuCount() {
+        return menuCount;
+    }
+
+    /**
+     * 메뉴 접근 권한 확인
+     */
+    static boolean isMenuAccessible(LabNavigation menu, UserRole userRole) {
+        // 기본적으로 모든 메뉴는 접근 가능
+        // 예시: 관리자 메뉴는 ADMIN 이상만 접근 가능
+        if (menu.getDescription() != null && menu.getDescription().contains("관리자")) {
+            return userRole == UserRole.ADMIN || userRole == UserRole.SUPER_ADMIN;
+        }
+
+        return true;
+    }
+
+    /**
+     * 역할별 트리 구성 (접근 가능한 활성 메뉴만, 부모가 빠진 메뉴는 표시하지 않음)
+     */
+    private static List<NavigationResponseDto> buildTree(List<LabNavigation> menus, UserRole role) {
+        Map<Long, List<LabNavigation>> childrenByParentId = new HashMap<>();
+        List<LabNavigation> roots = new ArrayList<>();
+        for (LabNavigation menu : menus) {
+            if (!Boolean.TRUE.equals(menu.getIsActive()) || !isMenuAccessible(menu, role)) {
+                continue;
+            }
+            if (menu.getParentId() == null) {
+                roots.add(menu);
+            } else {
+                childrenByParentId.computeIfAbsent(menu.getParentId(), k -> new ArrayList<>()).add(menu);
+            }
+        }
+
+        return toTree(roots, childrenByParentId);
+    }
+
+    private static List<NavigationResponseDto> toTree(List<LabNavigation> menus, Map<Long, List<LabNavigation>> childrenByParentId) {
+        List<NavigationResponseDto> result = new ArrayList<>(menus.size());
+        for (LabNavigation menu : menus) {
+            List<LabNavigation> children = childrenByParentId.getOrDefault(menu.getId(), List.of());
+            result.add(toDto(menu, toTree(children, childrenByParentId)));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static NavigationResponseDto toDto(LabNavigation menu, List<NavigationResponseDto> children) {
+        return NavigationResponseDto.builder()
+                .id(menu.getId())
+                .label(menu.getLabel())
+                .href(menu.getHref())
+                .parentId(menu.getParentId())
+                .sortOrder(menu.getSortOrder())
+                .depth(menu.getDepth())
+                .icon(menu.getIcon())
+                .description(menu.getDescription())
+                .children(children)
+                .build();
+    }
+
+    private static final class Node {
+        private final Long parentId;
+        private final NavigationResponseDto dto;
+        private Node parent;
+        private List<NavigationResponseDto> path;
+
+        private Node(Long parentId, NavigationResponseDto dto) {
+            this.parentId = parentId;
+            this.dto = dto;
+        }
+
+        /**
+         * 부모 포인터를 따라 루트까지의 경로 계산 (순환 데이터가 있어도 멈추도록 최대 깊이로 제한)
+         */
+        private void computePath() {
+            List<NavigationResponseDto> reversed = new ArrayList<>();
+            Node current = this;
+            while (current != null && reversed.size() < MAX_DEPTH) {
+                reversed.add(current.dto);
+                current = current.parent;
+            }
+            Collections.reverse(reversed);
+            path = List.copyOf(reversed);
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package kr.labit.blog.service.reaction;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.labit.blog.entity.LabUsers;
+import kr.labit.blog.entity.ReactionTargetType;
+import kr.labit.blog.exception.GlobalExceptionHandler.BusinessException;
+import kr.labit.blog.repository.LabCounterJdbcRepository;
+import kr.labit.blog.repository.LabReactionJdbcRepository;
+import kr.labit.blog.repository.LabReactionJdbcRepository.ReactionRow;
+import kr.labit.blog.repository.LabReactionRepository;
+import kr.labit.blog.service.PostCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 좋아요 (포스트/댓글)
+ * - 대상별 좋아요한 사용자 집합을 메모리에 두고 토글 여부를 판단 (최근 사용 대상만 보관)
+ * - 좋아요 행과 좋아요 수 증감은 메모리에 누적한 뒤 주기적으로 한 트랜잭션의 배치로 반영
+ *   요청마다 포스트/댓글 행을 갱신하지 않으므로 좋아요가 몰려도 행 잠금 대기가 생기지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactionService {
+
+    private static final int MAX_STATUS_TARGETS = 100;
+
+    private final LabReactionRepository reactionRepository;
+    private final LabReactionJdbcRepository reactionJdbcRepository;
+    private final LabCounterJdbcRepository counterRepository;
+    private final PostCacheService postCacheService;
+    private final TransactionTemplate transactionTemplate;
+
+    // 대상 -> 좋아요한 사용자 집합
+    private Cache<TargetKey, UserIdBitmap> reactors;
+
+    // 대상 -> 사용자별 미반영 좋아요 상태 (true: 추가, false: 취소)
+    private final ConcurrentHashMap<TargetKey, ConcurrentHashMap<Long, Boolean>> pendingReactions = new ConcurrentHashMap<>();
+
+    // 대상 -> 미반영 좋아요 수 증감
+    private final ConcurrentHashMap<TargetKey, LongAdder> pendingCounts = new ConcurrentHashMap<>();
+
+    // 반영(커밋 + 미반영 목록 정리) 중에는 DB 에서 집합을 새로 읽지 않도록 함
+    private final ReentrantReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "reaction-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${app.reaction.flush-interval-seconds:5}")
+    private long flushIntervalSeconds;
+
+    @Value("${app.reaction.max-cached-targets:10000}")
+    private long maxCachedTargets;
+
+    @PostConstruct
+    private void init() {
+        reactors = Caffeine.newBuilder()
+                .maximumSize(maxCachedTargets)
+                .build();
+        scheduler.scheduleWithFixedDelay(this::flushSafely, flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS);
+        log.info("좋아요 처리 초기화 완료: 반영 주기 {}초, 보관 대상 최대 {}건", flushIntervalSeconds, maxCachedTargets);
+    }
+
+    /**
+     * 종료 시 남은 좋아요 반영
+     */
+    @PreDestroy
+    private void shutdown() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+        log.info("좋아요 처리 종료: 미반영 좋아요 반영 완료");
+    }
+
+    /**
+     * 좋아요 토글 (토글 후 좋아요 상태 반환)
+     */
+    public boolean toggle(ReactionTargetType targetType, Long targetId, Long userId) {
+        TargetKey key = new TargetKey(targetType, targetId);
+
+        while (true) {
+            // 집합 로딩(DB 조회)은 캐시 잠금 밖에서 (동시에 로딩되면 먼저 들어간 집합 사용), 같은 대상에 대한 토글은 집합 단위로 직렬화
+            UserIdBitmap target = reactors.getIfPresent(key);
+            if (target == null) {
+                UserIdBitmap loaded = load(key);
+                UserIdBitmap existing = reactors.asMap().putIfAbsent(key, loaded);
+                target = existing != null ? existing : loaded;
+            }
+            synchronized (target) {
+                if (reactors.getIfPresent(key) != target) {
+                    // 기다리는 사이 캐시에서 밀려나 다시 로딩된 경우
+                    continue;
+                }
+                boolean liked = !target.remove(userId);
+                if (liked) {
+                    target.add(userId);
+                }
+
+                // 미반영 목록의 추가/정리는 맵 항목 단위로 직렬화 (정리된 목록에 기록되어 유실되지 않도록)
+                pendingReactions.compute(key, (k, users) -> {
+                    ConcurrentHashMap<Long, Boolean> pending = users != null ? users : new ConcurrentHashMap<>();
+                    pending.put(userId, liked);
+                    return pending;
+                });
+                pendingCounts.compute(key, (k, adder) -> {
+                    LongAdder count = adder != null ? adder : new LongAdder();
+                    count.add(liked ? 1 : -1);
+                    return count;
+                });
+                return liked;
+            }
+        }
+    }
+
+    /**
+     * 사용자가 좋아요한 대상 ID (요청한 대상 중)
+     * 메모리에 집합이 있는 대상은 바로 확인하고, 나머지는 한 번의 쿼리로 조회한다.
+     */
+    public Set<Long> findLikedTargetIds(ReactionTargetType targetType, Long userId, Collection<Long> targetIds) {
+        Set<Long> liked = new HashSet<>();
+        List<Long> unknown = new ArrayList<>();
+
+        for (Long targetId : new LinkedHashSet<>(targetIds)) {
+            UserIdBitmap users = reactors.getIfPresent(new TargetKey(targetType, targetId));
+            if (users == null) {
+                unknown.add(targetId);
+                continue;
+            }
+            synchronized (users) {
+                if (users.contains(userId)) {
+                    liked.add(targetId);
+                }
+            }
+        }
+
+        if (!unknown.isEmpty()) {
+            flushLock.readLock().lock();
+            try {
+                liked.addAll(reactionRepository.findLikedTargetIds(targetType, userId, unknown));
+                // 아직 반영되지 않은 토글 적용
+                for (Long targetId : unknown) {
+                    Map<Long, Boolean> pending = pendingReactions.get(new TargetKey(targetType, targetId));
+                    Boolean state = pending != null ? pending.get(userId) : null;
+                    if (Boolean.TRUE.equals(state)) {
+                        liked.add(targetId);
+                    } else if (Boolean.FALSE.equals(state)) {
+                        liked.remove(targetId);
+                    }
+                }
+            } finally {
+                flushLock.readLock().unlock();
+            }
+        }
+
+        return liked;
+    }
+
+    /**
+     * 대상별 좋아요 여부 (비로그인 사용자는 모두 false)
+     */
+    public Map<Long, Boolean> getLikeStatus(ReactionTargetType targetType, List<Long> targetIds, LabUsers currentUser) {
+        if (targetIds == null || targetIds.isEmpty()) {
+            return Map.of();
+        }
+        if (targetIds.size() > MAX_STATUS_TARGETS) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "TOO_MANY_TARGETS",
+                    "한 번에 최대 " + MAX_STATUS_TARGETS + "개까지 조회할 수 있습니다.");
+        }
+
+        Set<Long> liked = currentUser != null
+                ? findLikedTargetIds(targetType, currentUser.getId(), targetIds)
+                : Set.of();
+
+        Map<Long, Boolean> status = new LinkedHashMap<>();
+        targetIds.forEach(targetId -> status.put(targetId, liked.contains(targetId)));
+        return status;
+    }
+
+    /**
+     * 아직 DB 에 반영되지 않은 좋아요 수 증감
+     */
+    public long getPendingCount(ReactionTargetType targetType, Long targetId) {
+        LongAdder adder = pendingCounts.get(new TargetKey(targetType, targetId));
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    /**
+     * 포스트 삭제 시 포스트 및 댓글 좋아요 정리
+     */
+    @Transactional
+    public void removePostReactions(Long postId) {
+        TargetKey key = new TargetKey(ReactionTargetType.POST, postId);
+        reactors.invalidate(key);
+        pendingReactions.remove(key);
+        pendingCounts.remove(key);
+
+        reactionRepository.deleteByTarget(ReactionTargetType.POST, postId);
+        reactionRepository.deleteCommentReactionsByPostId(postId);
+    }
+
+    /**
+     * 댓글 삭제 시 댓글 좋아요 정리
+     */
+    @Transactional
+    public void removeCommentReactions(Long commentId) {
+        TargetKey key = new TargetKey(ReactionTargetType.COMMENT, commentId);
+        reactors.invalidate(key);
+        pendingReactions.remove(key);
+        pendingCounts.remove(key);
+
+        reactionRepository.deleteByTarget(ReactionTargetType.COMMENT, commentId);
+    }
+
+    /**
+     * 누적된 좋아요 행과 좋아요 수를 DB 에 반영
+     */
+    public void flush() {
+        // 반영할 좋아요 행 (반영 후 그 사이 바뀌지 않은 항목만 정리)
+        Map<TargetKey, Map<Long, Boolean>> reactions = new HashMap<>();
+        pendingReactions.forEach((key, users) -> {
+            if (!users.isEmpty()) {
+                reactions.put(key, new HashMap<>(users));
+            }
+        });
+
+        Map<Long, Long> postDeltas = new HashMap<>();
+        Map<Long, Long> commentDeltas = new HashMap<>();
+        pendingCounts.forEach((key, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta == 0) {
+                pendingCounts.computeIfPresent(key, (k, current) -> current.sum() == 0 ? null : current);
+                return;
+            }
+            (key.targetType() == ReactionTargetType.POST ? postDeltas : commentDeltas).put(key.targetId(), delta);
+        });
+
+        if (reactions.isEmpty() && postDeltas.isEmpty() && commentDeltas.isEmpty()) {
+            return;
+        }
+
+        List<ReactionRow> inserts = new ArrayList<>();
+        List<ReactionRow> deletes = new ArrayList<>();
+        reactions.forEach((key, users) -> users.forEach((userId, liked) ->
+                (liked ? inserts : deletes).add(new ReactionRow(key.targetType(), key.targetId(), userId))));
+
+        flushLock.writeLock().lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                reactionJdbcRepository.deleteReactions(deletes);
+                reactionJdbcRepository.insertReactions(inserts);
+                counterRepository.addPostLikeCounts(postDeltas);
+                counterRepository.addCommentLikeCounts(commentDeltas);
+            });
+
+            reactions.forEach((key, users) -> {
+                Map<Long, Boolean> pending = pendingReactions.get(key);
+                if (pending != null) {
+                    users.forEach(pending::remove);
+                }
+                pendingReactions.computeIfPresent(key, (k, v) -> v.isEmpty() ? null : v);
+            });
+        } catch (RuntimeException e) {
+            // 반영 실패 시 다음 주기에 다시 시도하도록 되돌림 (좋아요 행은 미반영 목록에 그대로 남아 있음)
+            postDeltas.forEach((postId, delta) -> pendingCounts
+                    .computeIfAbsent(new TargetKey(ReactionTargetType.POST, postId), k -> new LongAdder()).add(delta));
+            commentDeltas.forEach((commentId, delta) -> pendingCounts
+                    .computeIfAbsent(new TargetKey(ReactionTargetType.COMMENT, commentId), k -> new LongAdder()).add(delta));
+            throw e;
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+
+        // 포스트 상세 캐시의 좋아요 수 갱신
+        postDeltas.keySet().forEach(postCacheService::evictDetail);
+
+        log.debug("좋아요 반영 완료: 추가 {}건, 취소 {}건, 포스트 {}건, 댓글 {}건",
+                inserts.size(), deletes.size(), postDeltas.size(), commentDeltas.size());
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("좋아요 반영 중 오류 발생", e);
+        }
+    }
+
+    /**
+     * DB 의 좋아요 행에 미반영 토글을 덧씌워 사용자 집합 구성
+     */
+    private UserIdBitmap load(TargetKey key) {
+        flushLock.readLock().lock();
+        try {
+            UserIdBitmap users = new UserIdBitmap();
+            reactionRepository.findUserIdsByTarget(key.targetType(), key.targetId()).forEach(users::add);
+
+            Map<Long, Boolean> pending = pendingReactions.get(key);
+            if (pending != null) {
+                pending.forEach((userId, liked) -> {
+                    if (liked) {
+                        users.add(userId);
+                    } else {
+                        users.remove(userId);
+                    }
+                });
+            }
+            return users;
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    private record TargetKey(ReactionTargetType targetType, long targetId) {
+    }
+}
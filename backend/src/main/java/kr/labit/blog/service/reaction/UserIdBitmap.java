@@ -0,0 +1,220 @@
+package kr.labit.blog.service.reaction;
+
+import java.util.Arrays;
+
+/**
+ * 사용자 ID 집합 (roaring bitmap 방식)
+ * ID 상위 48비트로 구간을 나누고, 구간마다 하위 16비트를
+ * - 4096 개 이하: 정렬된 char 배열 (원소당 2바이트)
+ * - 4096 개 초과: 65536 비트 비트맵 (8KB 고정)
+ * 으로 보관한다. 동기화는 호출 측에서 처리한다.
+ */
+final class UserIdBitmap {
+
+    private static final int ARRAY_MAX_SIZE = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    // 구간 키 (정렬) 와 구간별 컨테이너
+    private long[] keys = new long[1];
+    private Object[] containers = new Object[1];
+    private int containerCount;
+
+    // 배열 컨테이너의 원소 수
+    private int[] arraySizes = new int[1];
+
+    // 비트맵 컨테이너의 원소 수
+    private int[] bitmapCardinalities = new int[1];
+
+    private int cardinality;
+
+    int cardinality() {
+        return cardinality;
+    }
+
+    boolean contains(long value) {
+        int index = Arrays.binarySearch(keys, 0, containerCount, value >>> 16);
+        if (index < 0) {
+            return false;
+        }
+
+        char low = (char) value;
+        Object container = containers[index];
+        if (container instanceof char[] array) {
+            return Arrays.binarySearch(array, 0, arraySizes[index], low) >= 0;
+        }
+        long[] bitmap = (long[]) container;
+        return (bitmap[low >>> 6] & (1L << low)) != 0;
+    }
+
+    /**
+     * 추가 (새로 추가된 경우 true)
+     */
+    boolean add(long value) {
+        long key = value >>> 16;
+        int index = Arrays.binarySearch(keys, 0, containerCount, key);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, key);
+        }
+
+        char low = (char) value;
+        boolean added = containers[index] instanceof char[]
+                ? addToArray(index, low)
+                : addToBitmap(index, low);
+        if (added) {
+            cardinality++;
+        }
+        return added;
+    }
+
+    /**
+     * 제거 (있던 경우 true)
+     */
+    boolean remove(long value) {
+        int index = Arrays.binarySearch(keys, 0, containerCount, value >>> 16);
+        if (index < 0) {
+            return false;
+        }
+
+        char low = (char) value;
+        boolean removed = containers[index] instanceof char[]
+                ? removeFromArray(index, low)
+                : removeFromBitmap(index, low);
+        if (!removed) {
+            return false;
+        }
+
+        cardinality--;
+        if (containers[index] instanceof char[] && arraySizes[index] == 0) {
+            removeContainer(index);
+        }
+        return true;
+    }
+
+    // 배열 컨테이너
+
+    private boolean addToArray(int index, char low) {
+        char[] array = (char[]) containers[index];
+        int size = arraySizes[index];
+        int position = Arrays.binarySearch(array, 0, size, low);
+        if (position >= 0) {
+            return false;
+        }
+
+        if (size == ARRAY_MAX_SIZE) {
+            toBitmap(index);
+            return addToBitmap(index, low);
+        }
+
+        position = -position - 1;
+        if (size == array.length) {
+            array = Arrays.copyOf(array, Math.min(ARRAY_MAX_SIZE, Math.max(4, size * 2)));
+            containers[index] = array;
+        }
+        System.arraycopy(array, position, array, position + 1, size - position);
+        array[position] = low;
+        arraySizes[index] = size + 1;
+        return true;
+    }
+
+    private boolean removeFromArray(int index, char low) {
+        char[] array = (char[]) containers[index];
+        int size = arraySizes[index];
+        int position = Arrays.binarySearch(array, 0, size, low);
+        if (position < 0) {
+            return false;
+        }
+
+        System.arraycopy(array, position + 1, array, position, size - position - 1);
+        arraySizes[index] = size - 1;
+        return true;
+    }
+
+    // 비트맵 컨테이너
+
+    private boolean addToBitmap(int index, char low) {
+        long[] bitmap = (long[]) containers[index];
+        long mask = 1L << low;
+        if ((bitmap[low >>> 6] & mask) != 0) {
+            return false;
+        }
+        bitmap[low >>> 6] |= mask;
+        bitmapCardinalities[index]++;
+        return true;
+    }
+
+    private boolean removeFromBitmap(int index, char low) {
+        long[] bitmap = (long[]) containers[index];
+        long mask = 1L << low;
+        if ((bitmap[low >>> 6] & mask) == 0) {
+            return false;
+        }
+        bitmap[low >>> 6] &= ~mask;
+        if (--bitmapCardinalities[index] <= ARRAY_MAX_SIZE) {
+            toArray(index);
+        }
+        return true;
+    }
+
+    private void toBitmap(int index) {
+        char[] array = (char[]) containers[index];
+        int size = arraySizes[index];
+        long[] bitmap = new long[BITMAP_WORDS];
+        for (int i = 0; i < size; i++) {
+            bitmap[array[i] >>> 6] |= 1L << array[i];
+        }
+        containers[index] = bitmap;
+        bitmapCardinalities[index] = size;
+        arraySizes[index] = 0;
+    }
+
+    private void toArray(int index) {
+        long[] bitmap = (long[]) containers[index];
+        int size = bitmapCardinalities[index];
+        char[] array = new char[size];
+        int position = 0;
+        for (int word = 0; word < BITMAP_WORDS; word++) {
+            long bits = bitmap[word];
+            while (bits != 0) {
+                array[position++] = (char) ((word << 6) + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        containers[index] = array;
+        arraySizes[index] = size;
+        bitmapCardinalities[index] = 0;
+    }
+
+    // 구간 관리
+
+    private void insertContainer(int index, long key) {
+        if (containerCount == keys.length) {
+            int capacity = containerCount * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+            arraySizes = Arrays.copyOf(arraySizes, capacity);
+            bitmapCardinalities = Arrays.copyOf(bitmapCardinalities, capacity);
+        }
+
+        int moved = containerCount - index;
+        System.arraycopy(keys, index, keys, index + 1, moved);
+        System.arraycopy(containers, index, containers, index + 1, moved);
+        System.arraycopy(arraySizes, index, arraySizes, index + 1, moved);
+        System.arraycopy(bitmapCardinalities, index, bitmapCardinalities, index + 1, moved);
+
+        keys[index] = key;
+        containers[index] = new char[4];
+        arraySizes[index] = 0;
+        bitmapCardinalities[index] = 0;
+        containerCount++;
+    }
+
+    private void removeContainer(int index) {
+        int moved = containerCount - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, moved);
+        System.arraycopy(containers, index + 1, containers, index, moved);
+        System.arraycopy(arraySizes, index + 1, arraySizes, index, moved);
+        System.arraycopy(bitmapCardinalities, index + 1, bitmapCardinalities, index, moved);
+        containers[--containerCount] = null;
+    }
+}
@@ -0,0 +1,111 @@
+package kr.labit.blog.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 검색용 토크나이저
+ * - 한글(및 한자): 색인은 문자 unigram + bigram, 검색어는 bigram (한 글자 단독이면 unigram)
+ *   두 글자 이상 검색어는 bigram 교집합으로 찾고, 한 글자 검색어는 색인된 unigram 으로 찾는다.
+ * - 영문/숫자: 단어 단위 토큰 (MAX_WORD_LENGTH 자까지만 사용 - 코드 블록의 base64 등 긴 문자열이 색인을 키우지 않도록)
+ */
+public final class HangulTokenizer {
+
+    // 색인/검색어 모두 같은 길이로 자르므로 긴 단어도 앞부분으로 검색된다
+    static final int MAX_WORD_LENGTH = 64;
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern HTML_ENTITY = Pattern.compile("&[a-zA-Z#0-9]+;");
+
+    private HangulTokenizer() {
+    }
+
+    /**
+     * 색인할 텍스트를 토큰 목록으로 분리 (한글/한자는 unigram 과 bigram 모두)
+     */
+    public static List<String> tokenize(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * 검색어를 토큰 목록으로 분리 (한글/한자는 bigram, 한 글자 단독이면 unigram)
+     */
+    public static List<String> tokenizeQuery(String text) {
+        return tokenize(text, false);
+    }
+
+    private static List<String> tokenize(String text, boolean unigrams) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String normalized = text.toLowerCase(Locale.ROOT);
+        StringBuilder run = new StringBuilder();
+        boolean cjkRun = false;
+
+        int i = 0;
+        while (i < normalized.length()) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            boolean cjk = isCjk(codePoint);
+            boolean word = !cjk && Character.isLetterOrDigit(codePoint);
+
+            if (!cjk && !word) {
+                flushRun(run, cjkRun, unigrams, tokens);
+                continue;
+            }
+
+            if (run.length() > 0 && cjk != cjkRun) {
+                flushRun(run, cjkRun, unigrams, tokens);
+            }
+            cjkRun = cjk;
+            run.appendCodePoint(codePoint);
+        }
+        flushRun(run, cjkRun, unigrams, tokens);
+
+        return tokens;
+    }
+
+    /**
+     * HTML 본문에서 태그와 엔티티를 제거
+     */
+    public static String stripHtml(String html) {
+        if (html == null || html.isEmpty()) {
+            return "";
+        }
+        String withoutTags = HTML_TAG.matcher(html).replaceAll(" ");
+        return HTML_ENTITY.matcher(withoutTags).replaceAll(" ");
+    }
+
+    private static void flushRun(StringBuilder run, boolean cjkRun, boolean unigrams, List<String> tokens) {
+        if (run.length() == 0) {
+            return;
+        }
+
+        if (!cjkRun) {
+            int codePointCount = run.codePointCount(0, run.length());
+            tokens.add(codePointCount > MAX_WORD_LENGTH
+                    ? run.substring(0, run.offsetByCodePoints(0, MAX_WORD_LENGTH)) : run.toString());
+        } else {
+            int[] codePoints = run.codePoints().toArray();
+            if (codePoints.length == 1 || unigrams) {
+                for (int j = 0; j < codePoints.length; j++) {
+                    tokens.add(new String(codePoints, j, 1));
+                }
+            }
+            for (int j = 0; j < codePoints.length - 1; j++) {
+                tokens.add(new String(codePoints, j, 2));
+            }
+        }
+        run.setLength(0);
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HANGUL || script == Character.UnicodeScript.HAN;
+    }
+}
@@ -0,0 +1,471 @@
+package kr.labit.blog.service.search;
+
+import jakarta.annotation.PreDestroy;
+import kr.labit.blog.entity.LabPost;
+import kr.labit.blog.repository.LabPostRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 포스트 전문 검색 역색인 (BM25 랭킹)
+ * 발행된 포스트의 제목/요약/본문/태그를 색인하고, 주기적으로 디스크에 스냅샷을 남긴다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostSearchIndex {
+
+    // 2: 한글/한자 unigram 색인 추가
+    private static final int SNAPSHOT_VERSION = 3;
+
+    // BM25 파라미터
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // 필드 가중치 (term frequency 에 곱해짐)
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TAG_WEIGHT = 2;
+    private static final int SUMMARY_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+
+    private static final int REBUILD_BATCH_SIZE = 200;
+
+    private final LabPostRepository postRepository;
+
+    // postId -> 문서 정보
+    private final Map<Long, IndexedDoc> documents = new HashMap<>();
+
+    // term -> (postId -> tf)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "post-search-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long totalLength = 0L;
+    private volatile boolean ready = false;
+    private volatile boolean dirty = false;
+
+    @Value("${app.search.index-path:./data/search/post-index.bin}")
+    private String indexPath;
+
+    @Value("${app.search.snapshot-interval-seconds:300}")
+    private long snapshotIntervalSeconds;
+
+    /**
+     * 애플리케이션 기동 후 스냅샷 로드 및 DB와 동기화 (백그라운드)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        scheduler.execute(this::loadAndReconcile);
+        scheduler.scheduleWithFixedDelay(this::snapshotIfDirty,
+                snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        scheduler.shutdownNow();
+        snapshotIfDirty();
+    }
+
+    /**
+     * 색인 사용 가능 여부 (초기 로드 완료 전에는 false)
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 포스트 색인 (발행 상태가 아니면 색인에서 제거)
+     * 트랜잭션 중이면 커밋된 경우에만, 커밋 후 반영 (롤백된 변경을 색인하지 않고, 수정일시도 flush 된 값으로 기록)
+     */
+    public void index(LabPost post) {
+        if (post == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    indexNow(post);
+                }
+            });
+        } else {
+            indexNow(post);
+        }
+    }
+
+    /**
+     * 포스트 색인 제거 (트랜잭션 중이면 커밋 후)
+     */
+    public void remove(Long postId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeNow(postId);
+                }
+            });
+        } else {
+            removeNow(postId);
+        }
+    }
+
+    private void indexNow(LabPost post) {
+        if (post.getId() == null) {
+            return;
+        }
+        if (!post.isPublished()) {
+            removeNow(post.getId());
+            return;
+        }
+
+        IndexedDoc doc = analyze(post);
+        lock.writeLock().lock();
+        try {
+            removeInternal(post.getId());
+            addInternal(doc);
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeNow(Long postId) {
+        lock.writeLock().lock();
+        try {
+            if (removeInternal(postId)) {
+                dirty = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 키워드 검색 (모든 토큰을 포함하는 문서를 BM25 점수순으로 반환)
+     */
+    public SearchResult search(String keyword, long offset, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(HangulTokenizer.tokenizeQuery(keyword)));
+        if (queryTerms.isEmpty()) {
+            return new SearchResult(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            // 문서 빈도가 가장 낮은 term 부터 교집합
+            List<Map<Long, Integer>> termPostings = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                Map<Long, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    return new SearchResult(0, List.of());
+                }
+                termPostings.add(posting);
+            }
+            termPostings.sort(Comparator.comparingInt(Map::size));
+
+            int docCount = documents.size();
+            double avgLength = docCount > 0 ? (double) totalLength / docCount : 0.0;
+
+            List<ScoredDoc> scored = new ArrayList<>();
+            for (Long postId : termPostings.get(0).keySet()) {
+                double score = 0.0;
+                boolean matchesAll = true;
+                IndexedDoc doc = documents.get(postId);
+
+                for (Map<Long, Integer> posting : termPostings) {
+                    Integer tf = posting.get(postId);
+                    if (tf == null) {
+                        matchesAll = false;
+                        break;
+                    }
+                    double idf = Math.log(1 + (docCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                    double norm = tf + K1 * (1 - B + B * doc.length / avgLength);
+                    score += idf * (tf * (K1 + 1)) / norm;
+                }
+
+                if (matchesAll) {
+                    scored.add(new ScoredDoc(postId, score, doc.publishedAt));
+                }
+            }
+
+            scored.sort(Comparator.comparingDouble(ScoredDoc::score).reversed()
+                    .thenComparing(Comparator.comparingLong(ScoredDoc::publishedAt).reversed()));
+
+            List<Long> ids = scored.stream()
+                    .skip(offset)
+                    .limit(limit)
+                    .map(ScoredDoc::postId)
+                    .toList();
+
+            return new SearchResult(scored.size(), ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 재색인
+     */
+    public void rebuild() {
+        log.info("포스트 검색 색인 전체 재구성 시작");
+
+        Map<Long, IndexedDoc> rebuilt = new HashMap<>();
+        int page = 0;
+        Page<LabPost> batch;
+        do {
+            batch = postRepository.findPublishedPosts(PageRequest.of(page++, REBUILD_BATCH_SIZE));
+            batch.forEach(post -> rebuilt.put(post.getId(), analyze(post)));
+        } while (batch.hasNext());
+
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            totalLength = 0L;
+            rebuilt.values().forEach(this::addInternal);
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("포스트 검색 색인 전체 재구성 완료: {} 건", rebuilt.size());
+    }
+
+    /**
+     * 스냅샷 로드 후 변경분만 재색인
+     */
+    private void loadAndReconcile() {
+        try {
+            if (!loadSnapshot()) {
+                rebuild();
+            } else {
+                reconcile();
+            }
+            ready = true;
+            snapshotIfDirty();
+        } catch (Exception e) {
+            log.error("포스트 검색 색인 초기화 실패 (DB 검색으로 대체)", e);
+        }
+    }
+
+    /**
+     * DB의 발행 포스트 수정일시와 비교하여 변경/추가/삭제된 문서만 반영
+     */
+    private void reconcile() {
+        Map<Long, Long> dbVersions = new HashMap<>();
+        for (Object[] row : postRepository.findPublishedPostVersions()) {
+            dbVersions.put((Long) row[0], toEpochMillis((java.time.LocalDateTime) row[1]));
+        }
+
+        List<Long> stale = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            dbVersions.forEach((postId, version) -> {
+                IndexedDoc doc = documents.get(postId);
+                if (doc == null || doc.version != version) {
+                    stale.add(postId);
+                }
+            });
+            documents.keySet().stream()
+                    .filter(postId -> !dbVersions.containsKey(postId))
+                    .forEach(removed::add);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        removed.forEach(this::removeNow);
+        for (int i = 0; i < stale.size(); i += REBUILD_BATCH_SIZE) {
+            List<Long> chunk = stale.subList(i, Math.min(i + REBUILD_BATCH_SIZE, stale.size()));
+            postRepository.findAllById(chunk).forEach(this::indexNow);
+        }
+
+        log.info("포스트 검색 색인 동기화 완료: 재색인 {} 건, 제거 {} 건", stale.size(), removed.size());
+    }
+
+    private IndexedDoc analyze(LabPost post) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        addTerms(termFreqs, post.getTitle(), TITLE_WEIGHT);
+        addTerms(termFreqs, post.getSummary(), SUMMARY_WEIGHT);
+        addTerms(termFreqs, HangulTokenizer.stripHtml(post.getContent()), CONTENT_WEIGHT);
+        addTerms(termFreqs, post.getTags() != null ? post.getTags().replace(',', ' ') : null, TAG_WEIGHT);
+
+        int length = termFreqs.values().stream().mapToInt(Integer::intValue).sum();
+        long publishedAt = toEpochMillis(post.getPublishedDate());
+        return new IndexedDoc(post.getId(), toEpochMillis(post.getModifiedDate()), publishedAt, length, termFreqs);
+    }
+
+    private void addTerms(Map<String, Integer> termFreqs, String text, int weight) {
+        for (String token : HangulTokenizer.tokenize(text)) {
+            termFreqs.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private void addInternal(IndexedDoc doc) {
+        documents.put(doc.postId, doc);
+        totalLength += doc.length;
+        doc.termFreqs.forEach((term, tf) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(doc.postId, tf));
+    }
+
+    private boolean removeInternal(Long postId) {
+        IndexedDoc doc = documents.remove(postId);
+        if (doc == null) {
+            return false;
+        }
+        totalLength -= doc.length;
+        doc.termFreqs.keySet().forEach(term -> {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(postId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        });
+        return true;
+    }
+
+    // 스냅샷 저장/로드
+
+    private void snapshotIfDirty() {
+        if (!ready || !dirty) {
+            return;
+        }
+        try {
+            writeSnapshot();
+        } catch (Exception e) {
+            log.error("포스트 검색 색인 스냅샷 저장 실패", e);
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        Path target = Paths.get(indexPath).toAbsolutePath().normalize();
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        lock.readLock().lock();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(documents.size());
+            for (IndexedDoc doc : documents.values()) {
+                out.writeLong(doc.postId);
+                out.writeLong(doc.version);
+                out.writeLong(doc.publishedAt);
+                out.writeInt(doc.termFreqs.size());
+                for (Map.Entry<String, Integer> entry : doc.termFreqs.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue());
+                }
+            }
+            dirty = false;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.debug("포스트 검색 색인 스냅샷 저장 완료: {}", target);
+    }
+
+    private boolean loadSnapshot() {
+        Path source = Paths.get(indexPath).toAbsolutePath().normalize();
+        if (!Files.exists(source)) {
+            return false;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("포스트 검색 색인 스냅샷 버전 불일치, 재구성합니다: {}", source);
+                return false;
+            }
+
+            int docCount = in.readInt();
+            List<IndexedDoc> loaded = new ArrayList<>(docCount);
+            for (int i = 0; i < docCount; i++) {
+                long postId = in.readLong();
+                long version = in.readLong();
+                long publishedAt = in.readLong();
+                int termCount = in.readInt();
+                Map<String, Integer> termFreqs = new HashMap<>(termCount * 2);
+                int length = 0;
+                for (int j = 0; j < termCount; j++) {
+                    String term = in.readUTF();
+                    int tf = in.readInt();
+                    termFreqs.put(term, tf);
+                    length += tf;
+                }
+                loaded.add(new IndexedDoc(postId, version, publishedAt, length, termFreqs));
+            }
+
+            lock.writeLock().lock();
+            try {
+                documents.clear();
+                postings.clear();
+                totalLength = 0L;
+                loaded.forEach(this::addInternal);
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            log.info("포스트 검색 색인 스냅샷 로드 완료: {} 건", docCount);
+            return true;
+        } catch (IOException e) {
+            log.warn("포스트 검색 색인 스냅샷 로드 실패, 재구성합니다: {}", source, e);
+            return false;
+        }
+    }
+
+    private static long toEpochMillis(java.time.LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1L;
+    }
+
+    @AllArgsConstructor
+    private static class IndexedDoc {
+        private final long postId;
+        private final long version;
+        private final long publishedAt;
+        private final int length;
+        private final Map<String, Integer> termFreqs;
+    }
+
+    private record ScoredDoc(Long postId, double score, long publishedAt) {
+    }
+
+    /**
+     * 검색 결과 (전체 건수 + 요청한 페이지의 포스트 ID, 점수순)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+        private final long total;
+        private final List<Long> postIds;
+    }
+}
@@ -0,0 +1,283 @@
+package kr.labit.blog.service.storage;
+
+import kr.labit.blog.exception.GlobalExceptionHandler.BusinessException;
+import kr.labit.blog.repository.LabStoredBlobJdbcRepository;
+import kr.labit.blog.repository.LabStoredBlobJdbcRepository.StoredBlobRow;
+import kr.labit.blog.service.storage.ContentAddressableStore.StagedContent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 공용 파일 저장 엔진 (FileStorageService / FileUploadService 공통)
+ * - 내용(SHA-256)이 같은 업로드는 기존 파일을 그대로 사용하고 URL 도 같다 (중복은 참조하는 행 하나만큼의 비용)
+ * - 에셋/사용자 프로필 이미지/포스트 썸네일이 URL 을 참조하거나 놓을 때 참조 수를 증감
+ * - 어디에서도 참조하지 않는 blob 은 OrphanFileCollector 가 유예 시간이 지난 뒤 정리
+ *   (참조 수에 잡히지 않는 포스트 본문 이미지까지 포함한 참조 집합 기준)
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class BlobStorageService {
+
+    private final ContentAddressableStore contentStore;
+    private final LabStoredBlobJdbcRepository blobRepository;
+
+    @Value("${app.upload.base.url}")
+    private String baseUrl;
+
+    /**
+     * 파일 저장 (같은 내용이 있으면 재사용, 참조 수는 변경하지 않음)
+     * 파일과 메타데이터가 항상 함께 존재하도록 호출자 트랜잭션과 별도로 커밋한다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public StoredBlob store(MultipartFile file, String extension) throws IOException {
+        StagedContent staged;
+        try (InputStream inputStream = file.getInputStream()) {
+            staged = contentStore.stage(inputStream);
+        }
+        return storeStaged(staged, extension, file.getContentType());
+    }
+
+    /**
+     * 해시 계산이 끝난 임시 파일 저장 (분할 업로드 완료 등, 임시 파일은 이동되거나 삭제됨)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public StoredBlob storeStaged(StagedContent staged, String extension, String mimeType) throws IOException {
+        // 메타데이터가 커밋될 때까지 같은 해시의 고아 수집 삭제를 막음
+        ReentrantLock hashLock = contentStore.lockFor(staged.hash());
+        hashLock.lock();
+        boolean unlockOnCompletion = unlockOnCompletion(hashLock);
+        try {
+            Optional<StoredBlobRow> existing = blobRepository.findByHash(staged.hash());
+            if (existing.isPresent() && contentStore.exists(existing.get().storagePath())) {
+                blobRepository.touch(staged.hash());
+                log.debug("중복 내용 업로드, 기존 파일 사용: {}", existing.get().storagePath());
+                return toStoredBlob(existing.get(), true);
+            }
+
+            // 메타데이터만 남은 경우 (파일 유실) 기존 경로로 복구
+            String storagePath = existing.map(StoredBlobRow::storagePath)
+                    .orElseGet(() -> contentStore.storagePathOf(staged.hash(), extension));
+            contentStore.commit(staged, storagePath);
+
+            if (existing.isEmpty()
+                    && !blobRepository.insertIfAbsent(staged.hash(), storagePath, staged.size(), mimeType)) {
+                // 동시에 같은 내용이 다른 확장자로 먼저 등록됨
+                StoredBlobRow winner = blobRepository.findByHash(staged.hash())
+                        .orElseThrow(() -> new IllegalStateException("blob 메타데이터를 찾을 수 없습니다: " + staged.hash()));
+                if (!winner.storagePath().equals(storagePath)) {
+                    contentStore.delete(storagePath);
+                }
+                blobRepository.touch(staged.hash());
+                return toStoredBlob(winner, true);
+            }
+
+            log.info("blob 저장 완료: {} ({} bytes)", storagePath, staged.size());
+            return new StoredBlob(staged.hash(), storagePath, toUrl(storagePath), staged.size(), false);
+        } finally {
+            contentStore.discard(staged);
+            if (!unlockOnCompletion) {
+                hashLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * URL 참조 추가 (blob URL 이 아니면 무시, 메타데이터가 없는 blob 이면 400)
+     */
+    public void acquire(String url) {
+        addReferences(url == null ? List.of() : List.of(url), 1);
+    }
+
+    /**
+     * URL 참조 해제 (blob URL 이 아니면 무시)
+     */
+    public void release(String url) {
+        addReferences(url == null ? List.of() : List.of(url), -1);
+    }
+
+    /**
+     * 여러 URL 참조 해제 (같은 URL 이 여러 번 있으면 그만큼 해제)
+     */
+    public void releaseAll(Collection<String> urls) {
+        addReferences(urls, -1);
+    }
+
+    /**
+     * 참조 URL 교체 (같으면 변경 없음)
+     */
+    public void replaceReference(String oldUrl, String newUrl) {
+        if (Objects.equals(oldUrl, newUrl)) {
+            return;
+        }
+        acquire(newUrl);
+        release(oldUrl);
+    }
+
+    /**
+     * 참조가 없는 blob 즉시 삭제 (참조 중이면 false)
+     */
+    public boolean deleteIfUnreferenced(String url) {
+        String storagePath = toStoragePath(url);
+        if (storagePath == null) {
+            return false;
+        }
+        return blobRepository.findByStoragePath(storagePath)
+                .filter(row -> blobRepository.deleteIfUnreferenced(row.hash()))
+                .map(row -> contentStore.delete(row.storagePath()))
+                .orElse(false);
+    }
+
+    /**
+     * blob 을 비공개 전용 파일로 복사하고 이 URL 의 참조 하나를 해제 (비공개 전환, blob URL 이 아니면 그대로 반환)
+     * 같은 내용의 공개 파일이 서명 URL 로 바뀌지 않도록 비공개 파일은 blob 경로를 공유하지 않는다.
+     */
+    public String copyToPrivate(String url) throws IOException {
+        String storagePath = toStoragePath(url);
+        if (storagePath == null) {
+            return url;
+        }
+        String privatePath = contentStore.copyToPrivate(storagePath);
+        release(url);
+        log.info("비공개 전용 파일 복사 완료: {} -> {}", storagePath, privatePath);
+        return toUrl(privatePath);
+    }
+
+    /**
+     * 비공개 전용 파일 내용을 blob 으로 저장 (공개 전환, 같은 내용이 있으면 재사용, 참조 수는 변경하지 않음)
+     * 전용 파일은 호출자가 커밋 후 삭제한다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public StoredBlob storePrivateCopy(String url, String mimeType) throws IOException {
+        String privatePath = toPrivatePath(url);
+        if (privatePath == null) {
+            throw new IllegalArgumentException("비공개 전용 파일 URL 이 아닙니다: " + url);
+        }
+        StagedContent staged;
+        try (InputStream inputStream = Files.newInputStream(contentStore.resolve(privatePath))) {
+            staged = contentStore.stage(inputStream);
+        }
+        String fileName = privatePath.substring(privatePath.lastIndexOf('/') + 1);
+        int dotIndex = fileName.lastIndexOf('.');
+        return storeStaged(staged, dotIndex > 0 ? fileName.substring(dotIndex + 1) : "", mimeType);
+    }
+
+    /**
+     * 비공개 전용 파일 삭제 (전용 파일 URL 이 아니면 false)
+     */
+    public boolean deletePrivateFile(String url) {
+        String privatePath = toPrivatePath(url);
+        return privatePath != null && contentStore.delete(privatePath);
+    }
+
+    /**
+     * blob URL 여부
+     */
+    public boolean isBlobUrl(String url) {
+        return toStoragePath(url) != null;
+    }
+
+    /**
+     * 비공개 전용 파일 URL 여부
+     */
+    public boolean isPrivateFileUrl(String url) {
+        return toPrivatePath(url) != null;
+    }
+
+    /**
+     * URL -> 업로드 루트 기준 상대 경로 (blob URL 이 아니면 null)
+     */
+    public String toStoragePath(String url) {
+        return toRelativePath(url, ContentAddressableStore.BLOB_DIR + "/");
+    }
+
+    private String toPrivatePath(String url) {
+        return toRelativePath(url, ContentAddressableStore.PRIVATE_DIR + "/");
+    }
+
+    private String toRelativePath(String url, String prefix) {
+        if (url == null) {
+            return null;
+        }
+        String relativePath;
+        if (url.startsWith(baseUrl + "/")) {
+            relativePath = url.substring(baseUrl.length() + 1);
+        } else {
+            int filesIndex = url.indexOf("/api/files/");
+            relativePath = filesIndex != -1 ? url.substring(filesIndex + "/api/files/".length()) : null;
+        }
+        return relativePath != null && relativePath.startsWith(prefix) ? relativePath : null;
+    }
+
+    private String toUrl(String storagePath) {
+        return baseUrl + "/" + storagePath;
+    }
+
+    private StoredBlob toStoredBlob(StoredBlobRow row, boolean deduplicated) {
+        return new StoredBlob(row.hash(), row.storagePath(), toUrl(row.storagePath()), row.size(), deduplicated);
+    }
+
+    private void addReferences(Collection<String> urls, long delta) {
+        List<String> storagePaths = urls.stream()
+                .map(this::toStoragePath)
+                .filter(Objects::nonNull)
+                .toList();
+        if (storagePaths.isEmpty()) {
+            return;
+        }
+
+        int[] counts = blobRepository.addReferences(storagePaths, delta);
+        for (int i = 0; i < counts.length; i++) {
+            // SUCCESS_NO_INFO(-2) 는 드라이버가 건수를 알려주지 않은 경우
+            if (counts[i] != 0) {
+                continue;
+            }
+            if (delta > 0) {
+                // 참조를 추가하는 쪽은 트랜잭션이 롤백되도록 실패 처리
+                throw new BusinessException(HttpStatus.BAD_REQUEST, "FILE_NOT_FOUND",
+                        "존재하지 않는 파일입니다: " + storagePaths.get(i));
+            }
+            log.debug("참조 해제 대상 blob 메타데이터 없음: {}", storagePaths.get(i));
+        }
+    }
+
+    /**
+     * 트랜잭션 종료(커밋/롤백) 후 잠금 해제 등록 (트랜잭션 밖이면 false - 호출자가 해제)
+     */
+    private static boolean unlockOnCompletion(ReentrantLock lock) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+        return true;
+    }
+
+    /**
+     * 저장 결과 (deduplicated 이면 기존 파일 재사용)
+     */
+    public record StoredBlob(String hash, String storagePath, String url, long size, boolean deduplicated) {
+    }
+}
@@ -0,0 +1,237 @@
+package kr.labit.blog.service.storage;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 내용 주소 기반 파일 저장소 (파일 시스템)
+ * - 업로드 스트림을 임시 파일로 쓰면서 SHA-256 을 함께 계산 (내용을 한 번만 읽음)
+ * - 해시 앞 2자리로 샤딩한 디렉토리(blobs/ab/{hash}.{ext})에 같은 파일 시스템 안에서 rename 으로 원자적으로 배치
+ * 같은 해시의 파일이 이미 있으면 임시 파일만 버리므로 중복 내용은 디스크에 한 번만 저장된다.
+ * 비공개 에셋 파일은 중복 제거 대상이 아닌 전용 경로(private/ab/{id}.{ext})에 따로 둔다.
+ * 배치/삭제한 파일은 호출자 트랜잭션 안에서 업로드 파일 색인에도 반영한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContentAddressableStore {
+
+    public static final String BLOB_DIR = "blobs";
+    public static final String PRIVATE_DIR = "private";
+
+    private static final String TEMP_DIR = ".tmp";
+    private static final String SESSION_FILE_PREFIX = "session-";
+    private static final String SESSION_FILE_SUFFIX = ".part";
+    private static final int SHARD_LENGTH = 2;
+    private static final int LOCK_STRIPES = 64;
+
+    private final FileMetadataCache metadataCache;
+    private final OffHeapFileCache fileCache;
+    private final ImageDerivativeService derivativeService;
+    private final StorageIndexService storageIndex;
+
+    @Value("${app.upload.dir}")
+    private String uploadDir;
+
+    private Path root;
+    private Path tempDir;
+
+    // 해시별 잠금 (고정 개수로 나누어 공유)
+    private final ReentrantLock[] hashLocks = Stream.generate(ReentrantLock::new)
+            .limit(LOCK_STRIPES).toArray(ReentrantLock[]::new);
+
+    @PostConstruct
+    private void init() throws IOException {
+        root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        tempDir = root.resolve(BLOB_DIR).resolve(TEMP_DIR);
+        Files.createDirectories(tempDir);
+        log.info("내용 주소 저장소 초기화 완료: {}", root.resolve(BLOB_DIR));
+    }
+
+    /**
+     * 스트림을 임시 파일에 쓰면서 해시 계산
+     */
+    public StagedContent stage(InputStream inputStream) throws IOException {
+        MessageDigest digest = newDigest();
+        Path tempFile = Files.createTempFile(tempDir, "upload-", ".part");
+        try (OutputStream out = new DigestOutputStream(Files.newOutputStream(tempFile), digest)) {
+            long size = inputStream.transferTo(out);
+            return new StagedContent(HexFormat.of().formatHex(digest.digest()), size, tempFile);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * 분할 업로드 세션 임시 파일 (저장 경로와 같은 파일 시스템이므로 완료 시 rename 으로 배치)
+     */
+    public Path sessionFile(String sessionId) {
+        return tempDir.resolve(SESSION_FILE_PREFIX + sessionId + SESSION_FILE_SUFFIX);
+    }
+
+    /**
+     * 임시 디렉토리의 분할 업로드 세션 ID 목록 (세션 정보가 없는 파일 정리용)
+     */
+    public List<String> listSessionIds() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(SESSION_FILE_PREFIX) && name.endsWith(SESSION_FILE_SUFFIX))
+                    .map(name -> name.substring(SESSION_FILE_PREFIX.length(), name.length() - SESSION_FILE_SUFFIX.length()))
+                    .toList();
+        }
+    }
+
+    /**
+     * 파일 SHA-256 (고정 크기 버퍼로 스트리밍)
+     */
+    public String hashOf(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 해시/확장자로 저장 경로 결정 (업로드 루트 기준 상대 경로)
+     */
+    public String storagePathOf(String hash, String extension) {
+        String fileName = extension == null || extension.isEmpty() ? hash : hash + "." + extension;
+        return BLOB_DIR + "/" + hash.substring(0, SHARD_LENGTH) + "/" + fileName;
+    }
+
+    /**
+     * 임시 파일을 저장 경로로 원자적 이동 (이미 있으면 임시 파일 삭제)
+     */
+    public void commit(StagedContent staged, String storagePath) throws IOException {
+        Path target = resolve(storagePath);
+        if (Files.exists(target)) {
+            discard(staged);
+            return;
+        }
+
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(staged.tempFile(), target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // 동시에 같은 내용이 먼저 저장됨
+            discard(staged);
+            return;
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(staged.tempFile(), target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        storageIndex.record(target, staged.hash());
+    }
+
+    /**
+     * 파일을 비공개 전용 경로로 복사 (다른 파일과 경로를 공유하지 않음, 업로드 루트 기준 상대 경로 반환)
+     */
+    public String copyToPrivate(String storagePath) throws IOException {
+        Path source = resolve(storagePath);
+        String fileName = source.getFileName().toString();
+        int dotIndex = fileName.lastIndexOf('.');
+        String id = UUID.randomUUID().toString().replace("-", "");
+        String privatePath = PRIVATE_DIR + "/" + id.substring(0, SHARD_LENGTH) + "/" + id
+                + (dotIndex > 0 ? fileName.substring(dotIndex) : "");
+
+        Path target = resolve(privatePath);
+        Files.createDirectories(target.getParent());
+        Path tempFile = Files.createTempFile(tempDir, "private-", ".part");
+        try {
+            Files.copy(source, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            try {
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, target);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        storageIndex.record(target, null);
+        return privatePath;
+    }
+
+    /**
+     * 임시 파일 삭제 (이미 이동되었으면 아무것도 하지 않음)
+     */
+    public void discard(StagedContent staged) {
+        try {
+            Files.deleteIfExists(staged.tempFile());
+        } catch (IOException e) {
+            log.warn("임시 업로드 파일 삭제 실패: {}", staged.tempFile(), e);
+        }
+    }
+
+    /**
+     * 해시 잠금 - 같은 내용의 저장과 고아 수집 삭제를 직렬화 (단일 인스턴스 기준)
+     */
+    public ReentrantLock lockFor(String hash) {
+        return hashLocks[Math.floorMod(hash.hashCode(), LOCK_STRIPES)];
+    }
+
+    public boolean exists(String storagePath) {
+        return Files.exists(resolve(storagePath));
+    }
+
+    public boolean delete(String storagePath) {
+        Path path = resolve(storagePath);
+        metadataCache.invalidate(path);
+        fileCache.invalidate(path);
+        derivativeService.deleteVariants(path);
+        storageIndex.remove(path);
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.error("blob 파일 삭제 실패: {}", storagePath, e);
+            return false;
+        }
+    }
+
+    /**
+     * 상대 경로를 실제 경로로 변환 (업로드 루트 밖으로 벗어나는 경로 차단)
+     */
+    public Path resolve(String storagePath) {
+        Path path = root.resolve(storagePath).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("잘못된 파일 경로입니다: " + storagePath);
+        }
+        return path;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 해시 계산이 끝난 임시 파일
+     */
+    public record StagedContent(String hash, long size, Path tempFile) {
+    }
+}
@@ -0,0 +1,96 @@
+package kr.labit.blog.service.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+
+/**
+ * 서빙 파일 메타데이터 캐시 (크기, 수정 시각, MIME, ETag)
+ * 반복 요청은 파일 시스템을 조회하지 않으며, 파일이 바뀌거나 삭제되면 invalidate 로 제거한다.
+ * 파일 이름이 내용 해시(blob)이면 ETag 도 해시를 그대로 사용하고 내용이 바뀌지 않는 것(immutable)으로 표시한다.
+ * blob 의 파생본(축소본/WebP)도 원본 내용과 너비/형식으로 정해지므로 immutable 로 표시한다.
+ */
+@Component
+public class FileMetadataCache {
+
+    private final Cache<Path, FileMetadata> cache;
+
+    public FileMetadataCache(@Value("${app.file-serving.metadata-cache-spec:maximumSize=10000,expireAfterWrite=10m}") String spec) {
+        this.cache = Caffeine.from(spec).recordStats().build();
+    }
+
+    /**
+     * 파일 메타데이터 (없거나 일반 파일이 아니면 empty)
+     */
+    public Optional<FileMetadata> get(Path file) throws IOException {
+        Path path = normalize(file);
+        FileMetadata cached = cache.getIfPresent(path);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+        if (!attributes.isRegularFile()) {
+            return Optional.empty();
+        }
+
+        FileMetadata metadata = FileMetadata.of(path, attributes.size(), attributes.lastModifiedTime().toMillis());
+        cache.put(path, metadata);
+        return Optional.of(metadata);
+    }
+
+    public void invalidate(Path file) {
+        cache.invalidate(normalize(file));
+    }
+
+    // 같은 파일이 상대/절대 경로로 따로 캐시되지 않도록 키 정규화
+    private static Path normalize(Path file) {
+        return file.toAbsolutePath().normalize();
+    }
+
+    /**
+     * 파일 메타데이터 (etag 는 따옴표 포함)
+     */
+    public record FileMetadata(Path path, long size, long lastModified, MediaType mediaType, String etag, boolean immutable) {
+
+        static FileMetadata of(Path path, long size, long lastModified) {
+            String fileName = path.getFileName().toString();
+            MediaType mediaType = MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+            Path parent = path.getParent();
+            boolean contentHashed = parent != null && parent.getParent() != null
+                    && ContentAddressableStore.BLOB_DIR.equals(parent.getParent().getFileName().toString());
+            if (contentHashed) {
+                int dotIndex = fileName.indexOf('.');
+                String hash = dotIndex > 0 ? fileName.substring(0, dotIndex) : fileName;
+                return new FileMetadata(path, size, lastModified, mediaType, "\"" + hash + "\"", true);
+            }
+
+            String etag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+            return new FileMetadata(path, size, lastModified, mediaType, etag, isBlobDerivative(path));
+        }
+
+        // derivatives/blobs/{shard}/{hash}/w{너비}.{형식}
+        private static boolean isBlobDerivative(Path path) {
+            int count = path.getNameCount();
+            return count >= 5
+                    && ImageDerivativeService.DERIVATIVE_DIR.equals(path.getName(count - 5).toString())
+                    && ContentAddressableStore.BLOB_DIR.equals(path.getName(count - 4).toString());
+        }
+    }
+}
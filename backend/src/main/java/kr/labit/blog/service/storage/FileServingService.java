@@ -0,0 +1,191 @@
+package kr.labit.blog.service.storage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.labit.blog.service.storage.FileMetadataCache.FileMetadata;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 정적 파일 응답
+ * - 메타데이터는 FileMetadataCache 에서 조회 (반복 요청 시 파일 시스템 조회 없음)
+ * - 강한 ETag 로 If-None-Match(304), 단일 Range/If-Range(206, 416) 처리
+ * - 자주 요청되는 작은 파일은 OffHeapFileCache 에서 응답
+ * - 그 외 본문은 Tomcat sendfile 로 커널에서 바로 전송하고, 지원되지 않으면 FileChannel.transferTo 로 복사
+ * 내용 해시 이름(blob)은 1년 immutable, 그 외 파일은 ETag 재검증 캐시를 사용한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FileServingService {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final FileMetadataCache metadataCache;
+    private final OffHeapFileCache fileCache;
+
+    @Value("${app.file-serving.max-age-seconds:86400}")
+    private long maxAgeSeconds;
+
+    @Value("${app.file-serving.sendfile-min-size:49152}")
+    private long sendfileMinSize;
+
+    /**
+     * 파일 응답 (파일이 없으면 404)
+     */
+    public void serve(Path path, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(path, request, response, null);
+    }
+
+    /**
+     * 파일 응답 (cacheControl 이 있으면 기본 캐시 정책 대신 사용 - 서명 URL 로 제공하는 비공개 파일)
+     */
+    public void serve(Path path, HttpServletRequest request, HttpServletResponse response,
+                      String cacheControl) throws IOException {
+        FileMetadata metadata = metadataCache.get(path).orElse(null);
+        if (metadata == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ETAG, metadata.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, metadata.lastModified());
+        if (cacheControl != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        } else {
+            response.setHeader(HttpHeaders.CACHE_CONTROL,
+                    metadata.immutable() ? IMMUTABLE_CACHE_CONTROL : "public, max-age=" + maxAgeSeconds);
+        }
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matchesEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), metadata.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long length = metadata.size();
+        long start = 0;
+        long end = length - 1;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && isRangeApplicable(request.getHeader(HttpHeaders.IF_RANGE), metadata.etag())) {
+            HttpRange range = parseSingleRange(rangeHeader);
+            if (range != null) {
+                try {
+                    start = range.getRangeStart(length);
+                    end = range.getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = length == 0 ? 0 : end - start + 1;
+        response.setContentType(metadata.mediaType().toString());
+        response.setContentLengthLong(count);
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        // 자주 요청되는 작은 파일은 off-heap 캐시에서 응답 (디스크 접근 없음, 출력 스트림 채널이 힙 버퍼를 거쳐 복사)
+        try (OffHeapFileCache.CachedFile cached = fileCache.lookup(metadata)) {
+            if (cached != null) {
+                cached.writeTo(start, count, Channels.newChannel(response.getOutputStream()));
+                return;
+            }
+        } catch (NoSuchFileException e) {
+            metadataCache.invalidate(metadata.path());
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        if (count >= sendfileMinSize && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 응답 완료 시 Tomcat 이 sendfile 로 전송
+            request.setAttribute(SENDFILE_FILENAME, metadata.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+
+        transfer(metadata, start, count, response);
+    }
+
+    private void transfer(FileMetadata metadata, long start, long count, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(metadata.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        } catch (NoSuchFileException e) {
+            // 캐시된 뒤 삭제된 파일
+            metadataCache.invalidate(metadata.path());
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            }
+        }
+    }
+
+    /**
+     * 단일 범위만 처리 (여러 범위나 잘못된 형식은 전체 응답)
+     */
+    private static HttpRange parseSingleRange(String rangeHeader) {
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isRangeApplicable(String ifRange, String etag) {
+        return ifRange == null || ifRange.equals(etag);
+    }
+
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,443 @@
+package kr.labit.blog.service.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 이미지 파생본(너비 구간별 축소본, WebP) 생성
+ * - 업로드 시 제한된 작업 큐/워커 풀에 미리 생성 작업을 넣고 (큐가 가득 차면 건너뛰고 요청 시 생성)
+ * - 요청된 너비는 설정된 구간(widths)으로 올림하여 같은 파생본을 공유, 원본보다 넓게 확대하지 않음
+ * - 없는 파생본은 요청 스레드에서 만들지 않고 같은 작업 큐에 넣은 뒤 원본으로 응답 (같은 파생본은 한 번만 대기열에 넣음)
+ * - 헤더의 가로x세로 픽셀 수가 max-pixels 를 넘는 이미지는 디코딩하지 않음 (작은 파일에 큰 크기를 선언한 이미지로 힙 고갈 방지)
+ * 파생본은 {업로드 루트}/derivatives/{원본 상대 경로(확장자 제외)}/w{너비}.{형식} 에 원자적으로 저장한다.
+ * WebP 는 ImageIO WebP writer 가 런타임에 있을 때만 생성/선택한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageDerivativeService {
+
+    public static final String DERIVATIVE_DIR = "derivatives";
+
+    private static final String WEBP = "webp";
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final FileMetadataCache metadataCache;
+    private final OffHeapFileCache fileCache;
+    private final StorageIndexService storageIndex;
+
+    @Value("${app.upload.dir}")
+    private String uploadDir;
+
+    @Value("${app.image-derivative.widths:120,240,480,960,1600}")
+    private int[] widths;
+
+    @Value("${app.image-derivative.workers:2}")
+    private int workers;
+
+    @Value("${app.image-derivative.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${app.image-derivative.max-pixels:40000000}")
+    private long maxPixels;
+
+    private Path root;
+    private boolean webpSupported;
+    private ThreadPoolExecutor executor;
+
+    // 생성 중인 파생본 (같은 파생본 동시 요청은 같은 작업을 기다림)
+    private final ConcurrentHashMap<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    // 요청 시 생성하도록 대기열에 넣은 파생본
+    private final Set<Path> queued = ConcurrentHashMap.newKeySet();
+
+    // 원본 크기 (헤더만 읽어 확인)
+    private final Cache<Path, ImageSize> sourceSizes = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(30, TimeUnit.MINUTES)
+            .build();
+
+    @PostConstruct
+    private void init() {
+        root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        widths = Arrays.stream(widths).filter(width -> width > 0).sorted().distinct().toArray();
+        webpSupported = ImageIO.getImageWritersByFormatName(WEBP).hasNext();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread thread = new Thread(r, "image-derivative-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        log.info("이미지 파생본 설정: 너비 {}, 워커 {}, 큐 {}, WebP 지원={}",
+                Arrays.toString(widths), workers, queueCapacity, webpSupported);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public boolean isWebpSupported() {
+        return webpSupported;
+    }
+
+    /**
+     * 업로드된 이미지의 파생본 미리 생성 (비동기, 큐가 가득 차면 요청 시 생성)
+     */
+    public void enqueue(String storagePath) {
+        Path source = resolve(storagePath);
+        if (!isResizable(source)) {
+            return;
+        }
+        try {
+            executor.execute(() -> generateAll(source));
+        } catch (RejectedExecutionException e) {
+            log.debug("파생본 작업 큐가 가득 차 요청 시 생성: {}", storagePath);
+        }
+    }
+
+    /**
+     * 요청 너비/형식에 맞는 파일 (파생본이 필요 없거나 만들 수 없으면 원본)
+     * 파생본이 아직 없으면 생성 작업을 대기열에 넣고 원본을 pending 으로 돌려준다 (요청 스레드에서 디코딩하지 않음).
+     */
+    public ResolvedVariant resolveVariant(Path source, int requestedWidth, boolean acceptsWebp) {
+        Path normalized = source.toAbsolutePath().normalize();
+        if (!normalized.startsWith(root) || !isResizable(normalized)) {
+            return new ResolvedVariant(normalized, false);
+        }
+
+        ImageSize size = sourceSize(normalized);
+        if (size == null || !withinPixelBudget(size)) {
+            return new ResolvedVariant(normalized, false);
+        }
+
+        int width = Math.min(bucket(requestedWidth), size.width());
+        String format = acceptsWebp && webpSupported ? WEBP : formatOf(normalized);
+        if (width >= size.width() && !WEBP.equals(format)) {
+            return new ResolvedVariant(normalized, false);
+        }
+
+        Path variant = variantPath(normalized, width, format);
+        if (Files.exists(variant)) {
+            return new ResolvedVariant(variant, false);
+        }
+
+        if (queued.add(variant)) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        generateQuietly(normalized, width, format);
+                    } finally {
+                        queued.remove(variant);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                queued.remove(variant);
+                log.debug("파생본 작업 큐가 가득 차 원본 사용: {}", variant);
+            }
+        }
+        return new ResolvedVariant(normalized, true);
+    }
+
+    /**
+     * 원본 삭제 시 파생본 삭제
+     */
+    public void deleteVariants(Path source) {
+        Path normalized = source.toAbsolutePath().normalize();
+        sourceSizes.invalidate(normalized);
+        Path directory = variantDirectory(normalized);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                metadataCache.invalidate(file);
+                fileCache.invalidate(file);
+                try {
+                    Files.deleteIfExists(file);
+                    storageIndex.remove(file);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("파생본 삭제 실패: {}", file, e);
+                }
+            });
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            log.warn("파생본 디렉토리 삭제 실패: {}", directory, e);
+        }
+    }
+
+    private void generateAll(Path source) {
+        ImageSize size = sourceSize(source);
+        if (size == null || !withinPixelBudget(size)) {
+            return;
+        }
+        int sourceWidth = size.width();
+        String format = formatOf(source);
+        for (int width : widths) {
+            if (width >= sourceWidth) {
+                break;
+            }
+            generateQuietly(source, width, format);
+            if (webpSupported) {
+                generateQuietly(source, width, WEBP);
+            }
+        }
+        if (webpSupported) {
+            generateQuietly(source, sourceWidth, WEBP);
+        }
+    }
+
+    private void generateQuietly(Path source, int width, String format) {
+        Path variant = variantPath(source, width, format);
+        if (Files.exists(variant)) {
+            return;
+        }
+        try {
+            generate(source, variant, width, format);
+        } catch (RuntimeException e) {
+            log.warn("파생본 미리 생성 실패: {} - {}", variant, e.getMessage());
+        }
+    }
+
+    /**
+     * 파생본 생성 (같은 파생본은 한 번만)
+     */
+    private Path generate(Path source, Path variant, int width, String format) {
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(variant, created);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+            }
+        }
+
+        try {
+            writeVariant(source, variant, width, format);
+            created.complete(variant);
+            return variant;
+        } catch (IOException e) {
+            UncheckedIOException failure = new UncheckedIOException(e);
+            created.completeExceptionally(failure);
+            throw failure;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(variant, created);
+        }
+    }
+
+    private void writeVariant(Path source, Path variant, int width, String format) throws IOException {
+        ImageSize size = sourceSize(source);
+        if (size == null || !withinPixelBudget(size)) {
+            throw new IOException("파생본을 만들 수 없는 이미지입니다: " + source);
+        }
+
+        BufferedImage image = ImageIO.read(source.toFile());
+        if (image == null) {
+            throw new IOException("이미지를 읽을 수 없습니다: " + source);
+        }
+
+        BufferedImage resized = resize(image, width, hasAlpha(format));
+        Files.createDirectories(variant.getParent());
+        Path temp = Files.createTempFile(variant.getParent(), variant.getFileName().toString(), ".part");
+        try {
+            write(resized, format, temp);
+            try {
+                Files.move(temp, variant, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, variant, StandardCopyOption.REPLACE_EXISTING);
+            }
+            storageIndex.record(variant, null);
+            log.debug("파생본 생성 완료: {} ({}px)", variant, width);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 단계적 축소 (한 번에 절반 이하로 줄이지 않아 계단 현상 방지)
+     */
+    private static BufferedImage resize(BufferedImage image, int targetWidth, boolean keepAlpha) {
+        int type = keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int targetHeight = Math.max(1, (int) Math.round((double) image.getHeight() * targetWidth / image.getWidth()));
+
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (!keepAlpha) {
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, currentWidth, currentHeight);
+                }
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+
+        return current;
+    }
+
+    private static void write(BufferedImage image, String format, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IOException("지원하지 않는 이미지 형식입니다: " + format);
+        }
+
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed() && !"png".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionTypes() != null && param.getCompressionType() == null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * 원본 크기 (헤더만 읽음, 읽을 수 없으면 null)
+     */
+    private ImageSize sourceSize(Path source) {
+        return sourceSizes.get(source, path -> {
+            try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+                if (input == null) {
+                    return null;
+                }
+                Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+                if (!readers.hasNext()) {
+                    return null;
+                }
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(input, true, true);
+                    return new ImageSize(reader.getWidth(0), reader.getHeight(0));
+                } finally {
+                    reader.dispose();
+                }
+            } catch (IOException e) {
+                return null;
+            }
+        });
+    }
+
+    private boolean withinPixelBudget(ImageSize size) {
+        if ((long) size.width() * size.height() > maxPixels) {
+            log.debug("픽셀 수 제한 초과로 파생본 생성 안 함: {}x{}", size.width(), size.height());
+            return false;
+        }
+        return true;
+    }
+
+    private int bucket(int requestedWidth) {
+        return Arrays.stream(widths)
+                .filter(width -> width >= requestedWidth)
+                .findFirst()
+                .orElse(widths[widths.length - 1]);
+    }
+
+    private Path variantPath(Path source, int width, String format) {
+        return variantDirectory(source).resolve("w" + width + "." + format);
+    }
+
+    private Path variantDirectory(Path source) {
+        String relative = root.relativize(source).toString().replace('\\', '/');
+        int dotIndex = relative.lastIndexOf('.');
+        String base = dotIndex > relative.lastIndexOf('/') ? relative.substring(0, dotIndex) : relative;
+        return root.resolve(DERIVATIVE_DIR).resolve(base);
+    }
+
+    private Path resolve(String storagePath) {
+        return root.resolve(storagePath).normalize();
+    }
+
+    /**
+     * 축소 대상 (jpg/jpeg/png, 애니메이션 가능한 gif 와 파생본 자체는 제외)
+     */
+    private boolean isResizable(Path source) {
+        if (source.startsWith(root.resolve(DERIVATIVE_DIR))) {
+            return false;
+        }
+        String format = formatOf(source);
+        return "jpg".equals(format) || "png".equals(format);
+    }
+
+    private static String formatOf(Path source) {
+        String fileName = source.getFileName().toString().toLowerCase(Locale.ROOT);
+        int dotIndex = fileName.lastIndexOf('.');
+        String extension = dotIndex > 0 ? fileName.substring(dotIndex + 1) : "";
+        return "jpeg".equals(extension) ? "jpg" : extension;
+    }
+
+    private static boolean hasAlpha(String format) {
+        return "png".equals(format) || WEBP.equals(format);
+    }
+
+    private record ImageSize(int width, int height) {
+    }
+
+    /**
+     * 응답할 파일 (pending 이면 파생본 대신 원본 - 곧 파생본이 생기므로 오래 캐시하면 안 됨)
+     */
+    public record ResolvedVariant(Path path, boolean pending) {
+    }
+}
@@ -0,0 +1,363 @@
+package kr.labit.blog.service.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import kr.labit.blog.service.storage.FileMetadataCache.FileMetadata;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 작은 파일(프로필 이미지, 썸네일 등) 본문 off-heap LRU 캐시
+ * - 파일 내용은 direct ByteBuffer 슬랩을 고정 크기 페이지로 나눈 공간에 보관 (GC 힙 밖, 전체 바이트 예산 고정)
+ * - 디스크에서 슬랩 페이지로 바로 읽어 들이고, 응답은 페이지 단위로 채널에 쓴다
+ *   (서블릿 출력 스트림을 감싼 채널은 작은 힙 버퍼를 거쳐 복사하므로, 힙 밖에 머무는 것은 보관 중인 내용뿐이다)
+ * - 허용 정책: max-entry-bytes 이하이면서 일정 횟수 이상 요청된 파일만 저장 (큰 PDF 한 번이 아바타를 밀어내지 않음)
+ * - 읽는 중인 항목은 참조 수로 보호하여, 제거되더라도 마지막 읽기가 끝난 뒤 페이지를 반환
+ * 적중률 등은 file.cache.* 메트릭으로 노출한다.
+ */
+@Component
+@Slf4j
+public class OffHeapFileCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final int pageSize;
+    private final int pagesPerSlab;
+    private final int totalPages;
+    private final long maxEntryBytes;
+    private final int admissionHits;
+
+    private final ByteBuffer[] slabs;
+    private final int[] freePages;
+    private int freeCount;
+    private int nextUnallocatedPage;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    // 허용 전 요청 횟수 (경로별)
+    private final Cache<Path, AtomicInteger> candidates;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private long usedBytes;
+
+    public OffHeapFileCache(
+            @Value("${app.file-cache.enabled:true}") boolean enabled,
+            @Value("${app.file-cache.max-bytes:67108864}") long maxBytes,
+            @Value("${app.file-cache.page-size:8192}") int pageSize,
+            @Value("${app.file-cache.slab-size:4194304}") int slabSize,
+            @Value("${app.file-cache.max-entry-bytes:262144}") long maxEntryBytes,
+            @Value("${app.file-cache.admission-hits:2}") int admissionHits) {
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.pagesPerSlab = Math.max(1, slabSize / pageSize);
+        int slabCount = (int) Math.max(1, maxBytes / ((long) pagesPerSlab * pageSize));
+        this.totalPages = slabCount * pagesPerSlab;
+        this.maxEntryBytes = Math.min(maxEntryBytes, (long) totalPages * pageSize);
+        this.admissionHits = Math.max(1, admissionHits);
+        this.slabs = new ByteBuffer[slabCount];
+        this.freePages = new int[totalPages];
+        this.candidates = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build();
+        log.info("off-heap 파일 캐시 설정: 사용={}, 예산 {} bytes ({} 페이지 x {} bytes), 항목 최대 {} bytes",
+                enabled, (long) totalPages * pageSize, totalPages, pageSize, this.maxEntryBytes);
+    }
+
+    /**
+     * 캐시된 파일 조회 (없으면 허용 정책에 따라 디스크에서 읽어 저장, 저장하지 않으면 null)
+     * 반환된 항목은 사용 후 반드시 close 해야 한다.
+     */
+    public CachedFile lookup(FileMetadata metadata) throws IOException {
+        if (!enabled) {
+            return null;
+        }
+
+        Path key = metadata.path();
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.matches(metadata)) {
+                    hits.increment();
+                    entry.refs++;
+                    return new CachedFile(entry);
+                }
+                // 파일이 바뀜
+                removeLocked(key, entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+
+        if (!admit(key, metadata.size())) {
+            return null;
+        }
+        return load(key, metadata);
+    }
+
+    /**
+     * 파일 삭제/변경 시 제거
+     */
+    public void invalidate(Path file) {
+        Path key = file.toAbsolutePath().normalize();
+        candidates.invalidate(key);
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                removeLocked(key, entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("file.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit").description("off-heap 파일 캐시 적중").register(registry);
+        FunctionCounter.builder("file.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss").description("off-heap 파일 캐시 미적중").register(registry);
+        FunctionCounter.builder("file.cache.evictions", evictions, LongAdder::sum)
+                .description("off-heap 파일 캐시 제거").register(registry);
+        FunctionCounter.builder("file.cache.admissions.rejected", rejections, LongAdder::sum)
+                .description("허용 정책으로 저장하지 않은 요청").register(registry);
+        Gauge.builder("file.cache.hit.ratio", this, OffHeapFileCache::hitRatio)
+                .description("off-heap 파일 캐시 적중률").register(registry);
+        Gauge.builder("file.cache.size", this, cache -> cache.usedBytes)
+                .baseUnit("bytes").description("캐시된 파일 바이트").register(registry);
+        Gauge.builder("file.cache.entries", entries, Map::size)
+                .description("캐시된 파일 수").register(registry);
+    }
+
+    public double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * 허용 정책: 크기 제한 + 일정 횟수 이상 요청된 파일
+     */
+    private boolean admit(Path key, long size) {
+        if (size <= 0 || size > maxEntryBytes) {
+            rejections.increment();
+            return false;
+        }
+        int seen = candidates.get(key, k -> new AtomicInteger()).incrementAndGet();
+        if (seen < admissionHits) {
+            rejections.increment();
+            return false;
+        }
+        candidates.invalidate(key);
+        return true;
+    }
+
+    private CachedFile load(Path key, FileMetadata metadata) throws IOException {
+        int pageCount = (int) ((metadata.size() + pageSize - 1) / pageSize);
+        int[] pages = allocatePages(pageCount);
+        if (pages == null) {
+            rejections.increment();
+            return null;
+        }
+
+        Entry entry = new Entry(pages, metadata.size(), metadata.lastModified());
+        try (FileChannel channel = FileChannel.open(key, StandardOpenOption.READ)) {
+            long position = 0;
+            for (int page : pages) {
+                ByteBuffer buffer = pageBuffer(page, (int) Math.min(pageSize, metadata.size() - position));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        throw new IOException("파일이 예상보다 짧습니다: " + key);
+                    }
+                }
+                position += pageSize;
+            }
+        } catch (IOException | RuntimeException e) {
+            freePages(pages);
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                removeLocked(key, existing);
+            }
+            entries.put(key, entry);
+            usedBytes += entry.length;
+            // 캐시 보유 1 + 호출자 1
+            entry.refs = 2;
+            return new CachedFile(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 필요한 페이지 확보 (부족하면 오래된 항목부터 제거, 사용 중인 항목 때문에 부족하면 null)
+     */
+    private int[] allocatePages(int count) {
+        lock.lock();
+        try {
+            Iterator<Map.Entry<Path, Entry>> eldest = entries.entrySet().iterator();
+            while (availablePages() < count && eldest.hasNext()) {
+                Map.Entry<Path, Entry> candidate = eldest.next();
+                eldest.remove();
+                usedBytes -= candidate.getValue().length;
+                evictions.increment();
+                releaseLocked(candidate.getValue());
+            }
+            if (availablePages() < count) {
+                return null;
+            }
+
+            int[] pages = new int[count];
+            for (int i = 0; i < count; i++) {
+                pages[i] = freeCount > 0 ? freePages[--freeCount] : nextUnallocatedPage++;
+            }
+            return pages;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int availablePages() {
+        return freeCount + (totalPages - nextUnallocatedPage);
+    }
+
+    private void freePages(int[] pages) {
+        lock.lock();
+        try {
+            for (int page : pages) {
+                freePages[freeCount++] = page;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeLocked(Path key, Entry entry) {
+        entries.remove(key);
+        usedBytes -= entry.length;
+        releaseLocked(entry);
+    }
+
+    private void releaseLocked(Entry entry) {
+        if (--entry.refs == 0) {
+            for (int page : entry.pages) {
+                freePages[freeCount++] = page;
+            }
+        }
+    }
+
+    /**
+     * 페이지 영역 (슬랩은 처음 사용할 때 할당)
+     */
+    private ByteBuffer pageBuffer(int page, int length) {
+        int slabIndex = page / pagesPerSlab;
+        ByteBuffer slab = slabs[slabIndex];
+        if (slab == null) {
+            lock.lock();
+            try {
+                slab = slabs[slabIndex];
+                if (slab == null) {
+                    slab = ByteBuffer.allocateDirect(pagesPerSlab * pageSize);
+                    slabs[slabIndex] = slab;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return slab.slice((page % pagesPerSlab) * pageSize, length);
+    }
+
+    /**
+     * 캐시 항목 (pages/length 는 불변, refs 는 lock 으로 보호)
+     */
+    private static final class Entry {
+        private final int[] pages;
+        private final long length;
+        private final long lastModified;
+        private int refs;
+
+        private Entry(int[] pages, long length, long lastModified) {
+            this.pages = pages;
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        private boolean matches(FileMetadata metadata) {
+            return length == metadata.size() && lastModified == metadata.lastModified();
+        }
+    }
+
+    /**
+     * 사용 중인 캐시 항목 (close 시 참조 해제)
+     */
+    public final class CachedFile implements AutoCloseable {
+
+        private final Entry entry;
+        private boolean closed;
+
+        private CachedFile(Entry entry) {
+            this.entry = entry;
+        }
+
+        /**
+         * [start, start + count) 범위를 채널에 기록
+         */
+        public void writeTo(long start, long count, WritableByteChannel out) throws IOException {
+            long position = start;
+            long end = Math.min(start + count, entry.length);
+            while (position < end) {
+                int pageIndex = (int) (position / pageSize);
+                int offset = (int) (position % pageSize);
+                int length = (int) Math.min(pageSize - offset, end - position);
+                ByteBuffer buffer = pageBuffer(entry.pages[pageIndex], offset + length).position(offset);
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                position += length;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.lock();
+            try {
+                releaseLocked(entry);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package kr.labit.blog.service.storage;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.labit.blog.dto.storage.FileGcReportDto;
+import kr.labit.blog.dto.storage.StorageFileDto;
+import kr.labit.blog.exception.GlobalExceptionHandler.BusinessException;
+import kr.labit.blog.repository.LabFileReferenceJdbcRepository;
+import kr.labit.blog.repository.LabStorageIndexJdbcRepository;
+import kr.labit.blog.repository.LabStoredBlobJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 고아 파일 수집 (mark-and-sweep)
+ * - mark: 에셋 URL, 사용자/관리자 프로필 이미지, 포스트 썸네일, 포스트 본문 HTML 의 이미지 URL 로 참조 집합 구성
+ * - sweep: 업로드 파일 색인(업로드 루트)과 이전 방식 루트(/uploads)를 나누어 검사하여,
+ *   참조되지 않고 유예 시간보다 오래된 파일을 삭제 (파생본은 원본이 참조될 때만 유지)
+ * - 한 번에 batch-size 건씩 처리하고 배치 사이에 쉬며, 실행당 최대 삭제 건수를 넘지 않음
+ * blob 은 메타데이터를 LAST_USED_DATE 조건으로 먼저 지워, 참조 집합 계산 뒤 다시 참조되거나 업로드된 blob 은 남긴다.
+ * blob 메타데이터 확인과 파일 삭제는 해시 잠금 안에서 하여, 그 사이 같은 내용을 저장한 업로드의 파일을 지우지 않는다.
+ * dry-run(기본값)은 삭제 없이 대상만 집계하며, 결과는 file.gc.* 메트릭과 마지막 실행 보고서로 확인한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrphanFileCollector implements MeterBinder {
+
+    private static final String LEGACY_URL_PREFIX = "/uploads/";
+    private static final String FILES_URL_PREFIX = "/api/files/";
+    private static final int SAMPLE_LIMIT = 100;
+
+    // URL 컬럼 값과 본문 HTML 모두에서 파일 경로 추출 (쿼리/조각은 제외)
+    private static final Pattern FILE_URL = Pattern.compile("(/api/files/|/uploads/)([^\"'\\s<>()?#&]+)");
+
+    private final LabFileReferenceJdbcRepository referenceRepository;
+    private final LabStorageIndexJdbcRepository indexRepository;
+    private final LabStoredBlobJdbcRepository blobRepository;
+    private final ContentAddressableStore contentStore;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "orphan-file-collector");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<FileGcReportDto> lastReport = new AtomicReference<>();
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder deletedFiles = new LongAdder();
+    private final LongAdder reclaimedBytes = new LongAdder();
+    private final AtomicLong lastOrphans = new AtomicLong();
+    private final AtomicLong lastReferenced = new AtomicLong();
+    private final AtomicLong lastDurationMillis = new AtomicLong();
+
+    @Value("${app.file-upload.path:/uploads}")
+    private String legacyUploadPath;
+
+    @Value("${app.upload.dir}")
+    private String uploadDir;
+
+    @Value("${app.file-gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.file-gc.dry-run:true}")
+    private boolean scheduledDryRun;
+
+    @Value("${app.file-gc.interval-hours:24}")
+    private long intervalHours;
+
+    @Value("${app.file-gc.grace-hours:24}")
+    private long graceHours;
+
+    @Value("${app.file-gc.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.file-gc.batch-pause-millis:200}")
+    private long batchPauseMillis;
+
+    @Value("${app.file-gc.max-deletes-per-run:5000}")
+    private int maxDeletesPerRun;
+
+    @PostConstruct
+    private void init() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::collectSafely, intervalHours, intervalHours, TimeUnit.HOURS);
+        }
+        log.info("고아 파일 수집 설정: 사용={}, 주기 {}시간, 유예 {}시간, 배치 {}건, dry-run={}",
+                enabled, intervalHours, graceHours, batchSize, scheduledDryRun);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 수집 실행 (이미 실행 중이면 409)
+     */
+    public FileGcReportDto collect(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException(HttpStatus.CONFLICT, "FILE_GC_RUNNING", "고아 파일 수집이 이미 실행 중입니다.");
+        }
+        try {
+            FileGcReportDto report = new Run(dryRun).execute();
+            lastReport.set(report);
+            runs.increment();
+            lastOrphans.set(report.getOrphanCount());
+            lastReferenced.set(report.getReferencedCount());
+            lastDurationMillis.set(report.getDurationMillis());
+            log.info("고아 파일 수집 완료: dry-run={}, 참조 {} 건, 검사 {} 건, 대상 {} 건({} bytes), 삭제 {} 건, {}ms",
+                    dryRun, report.getReferencedCount(), report.getScannedCount(), report.getOrphanCount(),
+                    report.getOrphanBytes(), report.getDeletedCount(), report.getDurationMillis());
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 마지막 실행 보고서 (실행 전이면 null)
+     */
+    public FileGcReportDto getLastReport() {
+        return lastReport.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("file.gc.runs", runs, LongAdder::sum)
+                .description("고아 파일 수집 실행 횟수").register(registry);
+        FunctionCounter.builder("file.gc.deleted", deletedFiles, LongAdder::sum)
+                .description("삭제한 고아 파일 수").register(registry);
+        FunctionCounter.builder("file.gc.reclaimed", reclaimedBytes, LongAdder::sum)
+                .baseUnit("bytes").description("고아 파일 삭제로 확보한 용량").register(registry);
+        Gauge.builder("file.gc.orphans", lastOrphans, AtomicLong::get)
+                .description("마지막 실행에서 찾은 고아 파일 수").register(registry);
+        Gauge.builder("file.gc.referenced", lastReferenced, AtomicLong::get)
+                .description("마지막 실행의 참조 집합 크기").register(registry);
+        Gauge.builder("file.gc.duration", lastDurationMillis, AtomicLong::get)
+                .baseUnit("milliseconds").description("마지막 실행 소요 시간").register(registry);
+    }
+
+    private void collectSafely() {
+        try {
+            collect(scheduledDryRun);
+        } catch (BusinessException e) {
+            log.debug("고아 파일 수집 건너뜀: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("고아 파일 수집 실패", e);
+        }
+    }
+
+    /**
+     * 한 번의 수집 실행 상태
+     */
+    private final class Run {
+
+        private final boolean dryRun;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final LocalDateTime cutoff = startedAt.minusHours(graceHours);
+
+        // 업로드 루트 기준 상대 경로, 이전 방식은 /uploads/... 그대로
+        private final Set<String> referenced = new HashSet<>();
+        // 참조 파일의 확장자 제외 경로 (파생본 디렉토리 판단)
+        private final Set<String> referencedBases = new HashSet<>();
+        private final List<String> samples = new ArrayList<>();
+
+        private long scanned;
+        private long orphans;
+        private long orphanBytes;
+        private long deleted;
+        private long reclaimed;
+        private boolean truncated;
+
+        private Run(boolean dryRun) {
+            this.dryRun = dryRun;
+        }
+
+        private FileGcReportDto execute() {
+            long startTime = System.currentTimeMillis();
+
+            referenceRepository.forEachReferencedUrl(this::mark);
+            referenceRepository.forEachPostContent(this::mark);
+
+            sweepIndexedFiles();
+            if (!truncated) {
+                sweepLegacyRoot();
+            }
+
+            return FileGcReportDto.builder()
+                    .dryRun(dryRun)
+                    .startedAt(startedAt)
+                    .durationMillis(System.currentTimeMillis() - startTime)
+                    .referencedCount(referenced.size())
+                    .scannedCount(scanned)
+                    .orphanCount(orphans)
+                    .orphanBytes(orphanBytes)
+                    .deletedCount(deleted)
+                    .reclaimedBytes(reclaimed)
+                    .truncated(truncated)
+                    .samplePaths(samples)
+                    .build();
+        }
+
+        private void mark(String text) {
+            if (text == null) {
+                return;
+            }
+            Matcher matcher = FILE_URL.matcher(text);
+            while (matcher.find()) {
+                String path = FILES_URL_PREFIX.equals(matcher.group(1)) ? matcher.group(2) : LEGACY_URL_PREFIX + matcher.group(2);
+                referenced.add(path);
+                referencedBases.add(stripExtension(path));
+            }
+        }
+
+        /**
+         * 업로드 루트 파일 (색인 기준, 경로 순 배치)
+         */
+        private void sweepIndexedFiles() {
+            String after = null;
+            while (!truncated) {
+                List<StorageFileDto> batch = indexRepository.findPage(null, null, null, after, batchSize);
+                if (batch.isEmpty()) {
+                    return;
+                }
+                for (StorageFileDto file : batch) {
+                    scanned++;
+                    if (isOrphan(file) && !truncated) {
+                        sweepIndexed(file);
+                    }
+                }
+                after = batch.get(batch.size() - 1).getPath();
+                pause();
+            }
+        }
+
+        private boolean isOrphan(StorageFileDto file) {
+            if (file.getModifiedDate() == null || !file.getModifiedDate().isBefore(cutoff)) {
+                return false;
+            }
+            String path = file.getPath();
+            if (ImageDerivativeService.DERIVATIVE_DIR.equals(file.getCategory())) {
+                // derivatives/{원본 경로(확장자 제외)}/w{너비}.{형식}
+                String sourceBase = path.substring(ImageDerivativeService.DERIVATIVE_DIR.length() + 1, path.lastIndexOf('/'));
+                return !referencedBases.contains(sourceBase);
+            }
+            return !referenced.contains(path);
+        }
+
+        private void sweepIndexed(StorageFileDto file) {
+            record(file.getPath(), file.getSize());
+            if (dryRun) {
+                return;
+            }
+
+            if (!ContentAddressableStore.BLOB_DIR.equals(file.getCategory()) || file.getHash() == null) {
+                deleteFile(file);
+                return;
+            }
+
+            // 메타데이터 확인부터 파일 삭제까지 해시 잠금 안에서 처리 (그 사이 같은 내용이 업로드되면 저장이 끝난 뒤 다시 확인)
+            ReentrantLock hashLock = contentStore.lockFor(file.getHash());
+            hashLock.lock();
+            try {
+                if (blobRepository.findByHash(file.getHash()).isPresent()
+                        && !blobRepository.deleteIfUnusedSince(file.getHash(), cutoff)) {
+                    // 수집 중 다시 참조/업로드됨
+                    return;
+                }
+                deleteFile(file);
+            } finally {
+                hashLock.unlock();
+            }
+        }
+
+        private void deleteFile(StorageFileDto file) {
+            if (contentStore.delete(file.getPath())) {
+                deletedOne(file.getSize());
+            }
+        }
+
+        /**
+         * 이전 방식 루트 (/uploads, 새 파일이 생기지 않으므로 직접 탐색)
+         */
+        private void sweepLegacyRoot() {
+            Path root = Paths.get(legacyUploadPath).toAbsolutePath().normalize();
+            if (!Files.isDirectory(root) || overlapsUploadRoot(root)) {
+                return;
+            }
+            long cutoffMillis = cutoff.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            try {
+                Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        if (!attrs.isRegularFile()) {
+                            return FileVisitResult.CONTINUE;
+                        }
+                        scanned++;
+                        String url = LEGACY_URL_PREFIX + root.relativize(file).toString().replace('\\', '/');
+                        if (attrs.lastModifiedTime().toMillis() < cutoffMillis && !referenced.contains(url)) {
+                            record(url, attrs.size());
+                            if (!dryRun) {
+                                deleteLegacy(file, attrs.size());
+                            }
+                        }
+                        if (scanned % batchSize == 0) {
+                            pause();
+                        }
+                        return truncated ? FileVisitResult.TERMINATE : FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException e) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                log.warn("이전 방식 업로드 디렉토리 검사 실패: {}", root, e);
+            }
+        }
+
+        /**
+         * 이전 방식 루트와 현재 업로드 루트가 겹치는지 (예: 작업 디렉토리가 / 이면 ./uploads 와 /uploads 가 같음)
+         * 겹치면 현재 파일을 참조 집합에 없는 이전 방식 경로로 보고 지우게 되므로 검사하지 않는다.
+         */
+        private boolean overlapsUploadRoot(Path legacyRoot) {
+            try {
+                Path legacy = legacyRoot.toRealPath();
+                Path current = Paths.get(uploadDir).toAbsolutePath().normalize();
+                current = Files.exists(current) ? current.toRealPath() : current;
+                if (legacy.startsWith(current) || current.startsWith(legacy)) {
+                    log.warn("이전 방식 업로드 디렉토리가 현재 업로드 디렉토리와 겹쳐 검사를 건너뜁니다: legacy={}, upload={}",
+                            legacy, current);
+                    return true;
+                }
+                return false;
+            } catch (IOException e) {
+                log.warn("업로드 디렉토리 경로 확인 실패, 이전 방식 디렉토리 검사를 건너뜁니다: {}", legacyRoot, e);
+                return true;
+            }
+        }
+
+        private void deleteLegacy(Path file, long size) {
+            try {
+                if (Files.deleteIfExists(file)) {
+                    deletedOne(size);
+                }
+            } catch (IOException e) {
+                log.warn("고아 파일 삭제 실패: {}", file, e);
+            }
+        }
+
+        private void record(String path, long size) {
+            orphans++;
+            orphanBytes += size;
+            if (samples.size() < SAMPLE_LIMIT) {
+                samples.add(path);
+            }
+            if (dryRun && orphans >= maxDeletesPerRun) {
+                truncated = true;
+            }
+        }
+
+        private void deletedOne(long size) {
+            deleted++;
+            reclaimed += size;
+            deletedFiles.increment();
+            reclaimedBytes.add(size);
+            if (deleted >= maxDeletesPerRun) {
+                truncated = true;
+            }
+        }
+
+        private void pause() {
+            if (batchPauseMillis <= 0) {
+                return;
+            }
+            try {
+                Thread.sleep(batchPauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                truncated = true;
+            }
+        }
+
+        private static String stripExtension(String path) {
+            int dotIndex = path.lastIndexOf('.');
+            return dotIndex > path.lastIndexOf('/') ? path.substring(0, dotIndex) : path;
+        }
+    }
+}
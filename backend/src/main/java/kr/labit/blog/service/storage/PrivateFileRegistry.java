@@ -0,0 +1,103 @@
+package kr.labit.blog.service.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.labit.blog.repository.LabAssetQueryJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 비공개 파일 경로 목록 (메모리)
+ * - 비공개 파일 에셋(IS_PUBLIC = 0)이 가리키는 서빙 경로. 파일 요청마다 DB 를 조회하지 않도록 메모리에 둔다.
+ * - 시작 시 적재하고, 공개 여부 변경/에셋 삭제 커밋 후와 주기적으로 다시 적재한다 (다른 인스턴스의 변경 반영).
+ * 비공개 에셋은 blob 을 공유하지 않는 전용 경로(private/)를 가리키므로, 같은 내용의 공개 파일에는 영향이 없다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PrivateFileRegistry {
+
+    private final LabAssetQueryJdbcRepository assetQueryRepository;
+    private final SignedUrlService signedUrlService;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "private-file-registry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${app.signed-url.registry-refresh-minutes:5}")
+    private long refreshMinutes;
+
+    private volatile Set<String> privatePaths = Set.of();
+
+    @PostConstruct
+    private void init() {
+        // 적재 전에 비공개 파일이 서명 없이 나가지 않도록 시작 시에는 동기로 적재
+        refresh();
+        scheduler.scheduleWithFixedDelay(this::refreshSafely, refreshMinutes, refreshMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 서빙 경로 (/api/files/ 뒤) 가 비공개인지
+     */
+    public boolean isPrivate(String path) {
+        return privatePaths.contains(path);
+    }
+
+    /**
+     * 파일 URL 이 비공개인지
+     */
+    public boolean isPrivateUrl(String url) {
+        String path = signedUrlService.toFilePath(url);
+        return path != null && privatePaths.contains(path);
+    }
+
+    /**
+     * 다시 적재 (트랜잭션 중이면 커밋 후)
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshSafely();
+                }
+            });
+        } else {
+            refreshSafely();
+        }
+    }
+
+    void refresh() {
+        privatePaths = assetQueryRepository.findPrivateFileUrls().stream()
+                .map(signedUrlService::toFilePath)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
+        log.debug("비공개 파일 경로 적재: {} 건", privatePaths.size());
+    }
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("비공개 파일 경로 적재 실패", e);
+        }
+    }
+}
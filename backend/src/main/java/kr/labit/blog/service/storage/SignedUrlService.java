@@ -0,0 +1,154 @@
+package kr.labit.blog.service.storage;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * 비공개 파일 서명 URL
+ * - 서명: HMAC-SHA256(경로 \n 만료 시각 \n 사용자 ID), base64url
+ * - 검증은 HMAC 한 번과 상수 시간 비교만 하므로 DB 조회나 JWT 해석이 필요 없다.
+ * 만료 시각은 분 단위로 올려 같은 구간에 발급한 URL 이 같아지도록 하여 브라우저 캐시를 재사용한다.
+ */
+@Service
+@Slf4j
+public class SignedUrlService {
+
+    private static final String FILE_URL_PREFIX = "/api/files/";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final long EXPIRY_STEP_SECONDS = 60;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Value("${app.upload.base.url}")
+    private String baseUrl;
+
+    @Value("${app.signed-url.secret:}")
+    private String secret;
+
+    @Value("${app.signed-url.require-secret:false}")
+    private boolean requireSecret;
+
+    @Value("${app.signed-url.ttl-seconds:900}")
+    private long ttlSeconds;
+
+    private SecretKeySpec key;
+
+    // Mac 은 스레드 안전하지 않으므로 스레드별로 재사용
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    @PostConstruct
+    private void init() {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            if (requireSecret) {
+                throw new IllegalStateException("서명 URL 비밀 키(SIGNED_URL_SECRET)가 설정되지 않았습니다.");
+            }
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            log.warn("서명 URL 비밀 키가 설정되지 않아 임시 키를 생성합니다 (재시작하면 발급한 URL 이 무효화됨)");
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    /**
+     * 지금 발급할 URL 의 만료 시각 (epoch 초, 분 단위 올림)
+     */
+    public long nextExpiry() {
+        long expiry = System.currentTimeMillis() / 1000 + ttlSeconds;
+        return (expiry + EXPIRY_STEP_SECONDS - 1) / EXPIRY_STEP_SECONDS * EXPIRY_STEP_SECONDS;
+    }
+
+    /**
+     * 파일 URL 에 서명 추가 (파일 서빙 URL 이 아니면 그대로 반환)
+     */
+    public String sign(String url, long expiresAt, Long userId) {
+        String path = toFilePath(url);
+        if (path == null) {
+            return url;
+        }
+
+        StringBuilder signed = new StringBuilder(url).append(url.indexOf('?') < 0 ? '?' : '&')
+                .append("exp=").append(expiresAt);
+        if (userId != null) {
+            signed.append("&uid=").append(userId);
+        }
+        return signed.append("&sig=").append(ENCODER.encodeToString(hmac(path, expiresAt, userId))).toString();
+    }
+
+    /**
+     * 서명 검증 (만료되었거나 서명이 없거나 다르면 false)
+     */
+    public boolean verify(String path, Long expiresAt, Long userId, String signature) {
+        if (expiresAt == null || signature == null || expiresAt < System.currentTimeMillis() / 1000) {
+            return false;
+        }
+
+        byte[] provided;
+        try {
+            provided = DECODER.decode(signature);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(hmac(path, expiresAt, userId), provided);
+    }
+
+    /**
+     * 서명 URL 응답의 캐시 정책 (공유 캐시 저장 금지, 만료 시각까지만 브라우저 캐시)
+     */
+    public String cacheControl(long expiresAt) {
+        long remaining = Math.max(0, expiresAt - System.currentTimeMillis() / 1000);
+        return "private, max-age=" + remaining;
+    }
+
+    /**
+     * 파일 URL 의 서빙 경로 (업로드 루트 기준 상대 경로, 쿼리 제외 - 파일 서빙 URL 이 아니면 null)
+     * 저장된 URL 은 app.upload.base.url 로 시작하는 절대 URL 이고, 상대 URL(/api/files/...)도 허용한다.
+     */
+    public String toFilePath(String url) {
+        if (url == null) {
+            return null;
+        }
+        String relativePath;
+        if (url.startsWith(baseUrl + "/")) {
+            relativePath = url.substring(baseUrl.length() + 1);
+        } else {
+            int filesIndex = url.indexOf(FILE_URL_PREFIX);
+            relativePath = filesIndex != -1 ? url.substring(filesIndex + FILE_URL_PREFIX.length()) : null;
+        }
+        if (relativePath == null) {
+            return null;
+        }
+        int query = relativePath.indexOf('?');
+        relativePath = query < 0 ? relativePath : relativePath.substring(0, query);
+        return relativePath.isEmpty() ? null : relativePath;
+    }
+
+    private byte[] hmac(String path, long expiresAt, Long userId) {
+        String payload = path + "\n" + expiresAt + "\n" + (userId != null ? userId : "");
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC 초기화 실패", e);
+        }
+    }
+}
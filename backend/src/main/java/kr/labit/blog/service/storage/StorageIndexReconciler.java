@@ -0,0 +1,235 @@
+package kr.labit.blog.service.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.labit.blog.dto.storage.StorageFileDto;
+import kr.labit.blog.repository.LabStorageIndexJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 업로드 파일 색인 보정
+ * - WatchService 로 업로드 디렉토리를 감시하여 앱을 거치지 않은 생성/변경/삭제를 색인에 반영
+ * - 시작 시와 주기적으로 전체 검사: 발견한 파일을 일괄 반영하고, 없는 파일의 색인을 지운 뒤 집계를 다시 계산
+ * 감시 이벤트가 넘치면(OVERFLOW) 전체 검사를 앞당겨 실행한다.
+ * 이미지 파생본 디렉토리는 원본마다 하나씩 생겨 감시 대상(inotify watch 수 제한)을 크게 늘리므로 감시하지 않는다.
+ * 파생본은 ImageDerivativeService 가 생성/삭제 시 직접 색인하며, 그 밖의 변경은 주기 검사로 반영된다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StorageIndexReconciler {
+
+    private final StorageIndexService indexService;
+    private final LabStorageIndexJdbcRepository indexRepository;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "storage-index-scanner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${app.storage-index.scan-interval-hours:6}")
+    private long scanIntervalHours;
+
+    @Value("${app.storage-index.scan-batch-size:500}")
+    private int scanBatchSize;
+
+    @Value("${app.storage-index.watch-enabled:true}")
+    private boolean watchEnabled;
+
+    // 감시 중인 디렉토리
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+    private final AtomicBoolean scanRequested = new AtomicBoolean();
+
+    private WatchService watchService;
+    private Thread watchThread;
+
+    @PostConstruct
+    private void init() {
+        scheduler.scheduleWithFixedDelay(this::scanSafely, 0, scanIntervalHours, TimeUnit.HOURS);
+
+        if (watchEnabled) {
+            try {
+                watchService = FileSystems.getDefault().newWatchService();
+                registerAll(indexService.getRoot());
+                watchThread = new Thread(this::watchLoop, "storage-index-watcher");
+                watchThread.setDaemon(true);
+                watchThread.start();
+            } catch (IOException e) {
+                log.warn("업로드 디렉토리 감시 시작 실패, 주기 검사만 사용: {}", e.getMessage());
+            }
+        }
+        log.info("업로드 파일 색인 보정 초기화 완료: 전체 검사 주기 {}시간, 감시={}", scanIntervalHours, watchThread != null);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        scheduler.shutdownNow();
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("감시 서비스 종료 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 전체 검사 (파일 시스템 기준으로 색인과 집계를 맞춤)
+     */
+    public void reconcile() throws IOException {
+        Path root = indexService.getRoot();
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        LocalDateTime scanStartedAt = LocalDateTime.now();
+        List<StorageFileDto> batch = new ArrayList<>(scanBatchSize);
+        int[] scanned = {0};
+
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                return !dir.equals(root) && dir.getFileName().toString().startsWith(".")
+                        ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                indexService.readEntry(file, null, null).ifPresent(entry -> {
+                    batch.add(entry);
+                    scanned[0]++;
+                    if (batch.size() >= scanBatchSize) {
+                        indexRepository.mergeScanned(batch, scanStartedAt);
+                        batch.clear();
+                    }
+                });
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                // 검사 중 삭제된 파일
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        if (!batch.isEmpty()) {
+            indexRepository.mergeScanned(batch, scanStartedAt);
+        }
+
+        int removed = indexRepository.deleteNotScannedSince(scanStartedAt);
+        indexRepository.rebuildStats();
+        log.info("업로드 파일 색인 전체 검사 완료: 파일 {} 건, 삭제 {} 건, {}ms",
+                scanned[0], removed, System.currentTimeMillis() - startTime);
+    }
+
+    private void scanSafely() {
+        scanRequested.set(false);
+        try {
+            reconcile();
+        } catch (IOException | RuntimeException e) {
+            log.error("업로드 파일 색인 전체 검사 실패", e);
+        }
+    }
+
+    private void requestScan() {
+        if (scanRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::scanSafely);
+        }
+    }
+
+    private void watchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            Path directory = watchedDirectories.get(key);
+            if (directory != null) {
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    handleEvent(directory, event);
+                }
+            }
+            if (!key.reset()) {
+                watchedDirectories.remove(key);
+            }
+        }
+    }
+
+    private void handleEvent(Path directory, WatchEvent<?> event) {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            log.warn("업로드 디렉토리 감시 이벤트 유실, 전체 검사 실행");
+            requestScan();
+            return;
+        }
+
+        Path path = directory.resolve((Path) event.context());
+        try {
+            if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                indexService.remove(path);
+            } else if (Files.isDirectory(path)) {
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && !path.getFileName().toString().startsWith(".")) {
+                    // 새 디렉토리는 등록 전에 생긴 파일이 있을 수 있으므로 함께 반영
+                    registerAll(path);
+                    try (var files = Files.walk(path)) {
+                        files.filter(Files::isRegularFile).forEach(file -> indexService.record(file, null));
+                    }
+                }
+            } else {
+                indexService.record(path, null);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("업로드 파일 색인 반영 실패: {} - {}", path, e.getMessage());
+        }
+    }
+
+    private void registerAll(Path start) throws IOException {
+        if (!Files.isDirectory(start)) {
+            return;
+        }
+        Files.walkFileTree(start, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(indexService.getRoot()) && dir.getFileName().toString().startsWith(".")) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                if (dir.equals(indexService.getRoot().resolve(ImageDerivativeService.DERIVATIVE_DIR))) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                watchedDirectories.put(key, dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
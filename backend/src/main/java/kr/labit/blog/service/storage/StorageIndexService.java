@@ -0,0 +1,227 @@
+package kr.labit.blog.service.storage;
+
+import jakarta.annotation.PostConstruct;
+import kr.labit.blog.dto.CursorPageDto;
+import kr.labit.blog.dto.storage.StorageFileDto;
+import kr.labit.blog.repository.LabStorageIndexJdbcRepository;
+import kr.labit.blog.repository.LabStorageIndexJdbcRepository.CategoryStatsRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 업로드 파일 색인 (통계/목록 조회 시 디렉토리 전체를 탐색하지 않음)
+ * - 저장/삭제 시 호출자 트랜잭션 안에서 파일 행과 분류별 집계를 함께 증감
+ * - 통계는 분류별 집계 행만 읽고, 목록은 경로 기준 커서 페이지로 조회
+ * 앱을 거치지 않은 변경은 StorageIndexReconciler 가 감시/주기 검사로 반영한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class StorageIndexService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final LabStorageIndexJdbcRepository indexRepository;
+
+    @Value("${app.upload.dir}")
+    private String uploadDir;
+
+    @Value("${app.upload.base.url}")
+    private String baseUrl;
+
+    private Path root;
+
+    @PostConstruct
+    private void init() {
+        root = Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    /**
+     * 파일 등록/갱신 (hash 를 모르면 null, 소유자는 현재 로그인 사용자)
+     */
+    public void record(Path file, String hash) {
+        Optional<StorageFileDto> entry = readEntry(file, hash, currentOwner());
+        if (entry.isEmpty()) {
+            remove(file);
+            return;
+        }
+        upsert(entry.get());
+    }
+
+    /**
+     * 파일 색인 삭제 (색인에 없으면 변경 없음)
+     */
+    public void remove(Path file) {
+        String path = toIndexPath(file);
+        if (path == null) {
+            return;
+        }
+        indexRepository.lockSize(path).ifPresent(size -> {
+            if (indexRepository.delete(path) > 0) {
+                indexRepository.addToStats(categoryOf(path), -1, -size);
+            }
+        });
+    }
+
+    /**
+     * 분류별 파일 수/총 크기
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryStatsRow> getStats() {
+        return indexRepository.findStats();
+    }
+
+    @Transactional(readOnly = true)
+    public long getTotalSize() {
+        return getStats().stream().mapToLong(CategoryStatsRow::totalSize).sum();
+    }
+
+    @Transactional(readOnly = true)
+    public long getFileCount(String category) {
+        return getStats().stream()
+                .filter(stats -> stats.category().equals(category))
+                .mapToLong(CategoryStatsRow::fileCount)
+                .findFirst()
+                .orElse(0);
+    }
+
+    /**
+     * 색인 목록 (경로 순 커서 페이지, 조건은 생략 가능)
+     * mimeType 은 접두사로 비교한다 (image/ 이면 모든 이미지)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<StorageFileDto> listFiles(String category, String mimeType, String owner, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<StorageFileDto> rows = indexRepository.findPage(
+                emptyToNull(category), emptyToNull(mimeType), emptyToNull(owner), emptyToNull(cursor), pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+        rows.forEach(row -> row.setUrl(baseUrl + "/" + row.getPath()));
+
+        return CursorPageDto.<StorageFileDto>builder()
+                .content(rows)
+                .nextCursor(hasNext ? rows.get(rows.size() - 1).getPath() : null)
+                .hasNext(hasNext)
+                .size(rows.size())
+                .build();
+    }
+
+    /**
+     * 파일 시스템 정보로 색인 항목 생성 (색인 대상이 아니거나 파일이 없으면 empty)
+     */
+    Optional<StorageFileDto> readEntry(Path file, String hash, String owner) {
+        String path = toIndexPath(file);
+        if (path == null) {
+            return Optional.empty();
+        }
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(root.resolve(path), BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("파일 정보 조회 실패: {}", path, e);
+            return Optional.empty();
+        }
+        if (!attributes.isRegularFile()) {
+            return Optional.empty();
+        }
+
+        String category = categoryOf(path);
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+        if (hash == null && ContentAddressableStore.BLOB_DIR.equals(category)) {
+            // blob 은 파일 이름이 내용 해시
+            int dotIndex = fileName.indexOf('.');
+            hash = dotIndex > 0 ? fileName.substring(0, dotIndex) : fileName;
+        }
+
+        return Optional.of(StorageFileDto.builder()
+                .path(path)
+                .category(category)
+                .size(attributes.size())
+                .mimeType(MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM).toString())
+                .hash(hash)
+                .owner(owner)
+                .modifiedDate(LocalDateTime.ofInstant(attributes.lastModifiedTime().toInstant(), ZoneId.systemDefault()))
+                .build());
+    }
+
+    /**
+     * 업로드 루트 기준 상대 경로 ('/' 구분, 루트 밖/임시 파일은 null)
+     */
+    String toIndexPath(Path file) {
+        Path normalized = file.toAbsolutePath().normalize();
+        if (!normalized.startsWith(root) || normalized.equals(root)) {
+            return null;
+        }
+        Path relative = root.relativize(normalized);
+        if (relative.getNameCount() < 2) {
+            // 루트 바로 아래 파일은 분류가 없으므로 제외
+            return null;
+        }
+        for (Path name : relative) {
+            if (name.toString().startsWith(".")) {
+                return null;
+            }
+        }
+        String path = relative.toString().replace('\\', '/');
+        return path.endsWith(".part") ? null : path;
+    }
+
+    Path getRoot() {
+        return root;
+    }
+
+    private void upsert(StorageFileDto entry) {
+        LocalDateTime now = LocalDateTime.now();
+        if (indexRepository.insert(entry, now)) {
+            indexRepository.addToStats(entry.getCategory(), 1, entry.getSize());
+            return;
+        }
+        long previousSize = indexRepository.lockSize(entry.getPath()).orElse(0L);
+        if (indexRepository.update(entry, now) > 0) {
+            indexRepository.addToStats(entry.getCategory(), 0, entry.getSize() - previousSize);
+        }
+    }
+
+    private static String categoryOf(String path) {
+        return path.substring(0, path.indexOf('/'));
+    }
+
+    private static String currentOwner() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
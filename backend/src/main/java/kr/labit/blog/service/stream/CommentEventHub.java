@@ -0,0 +1,164 @@
+package kr.labit.blog.service.stream;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.labit.blog.dto.CommentEventDto;
+import kr.labit.blog.exception.GlobalExceptionHandler.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 포스트별 댓글 이벤트 팬아웃 허브 (SSE)
+ * - 포스트마다 구독자가 있을 때만 멀티캐스트 싱크를 두고, 마지막 구독자가 나가면 제거
+ * - 이벤트는 한 번만 만들어 모든 구독자에게 같은 객체를 전달 (구독자 수와 무관하게 발행 비용 일정)
+ * - 구독자마다 고정 크기 버퍼를 두고 가득 차면 가장 오래된 이벤트부터 버림 (느린 클라이언트가 발행을 막지 않음)
+ * - 하트비트는 타이머 하나를 모든 구독자가 공유하며, 연결은 최대 유지 시간이 지나면 종료 (클라이언트가 재연결)
+ * 대기 중인 구독자는 스레드를 점유하지 않는다.
+ */
+@Component
+@Slf4j
+public class CommentEventHub {
+
+    private final ConcurrentHashMap<Long, Topic> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger activeSubscribers = new AtomicInteger();
+    private final AtomicLong eventSequence = new AtomicLong();
+
+    private Flux<ServerSentEvent<CommentEventDto>> heartbeats;
+
+    @Value("${app.comment-stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${app.comment-stream.heartbeat-seconds:20}")
+    private long heartbeatSeconds;
+
+    @Value("${app.comment-stream.max-lifetime-minutes:30}")
+    private long maxLifetimeMinutes;
+
+    @Value("${app.comment-stream.max-subscribers:5000}")
+    private int maxSubscribers;
+
+    @Value("${app.comment-stream.retry-seconds:3}")
+    private long retrySeconds;
+
+    @PostConstruct
+    private void init() {
+        heartbeats = Flux.interval(Duration.ofSeconds(heartbeatSeconds))
+                .map(tick -> ServerSentEvent.<CommentEventDto>builder().comment("heartbeat").build())
+                .share();
+        log.info("댓글 스트림 초기화 완료: 버퍼 {}건, 하트비트 {}초, 최대 유지 {}분, 최대 구독자 {}명",
+                bufferSize, heartbeatSeconds, maxLifetimeMinutes, maxSubscribers);
+    }
+
+    /**
+     * 종료 시 모든 스트림을 정상 종료
+     */
+    @PreDestroy
+    private void shutdown() {
+        topics.values().forEach(topic -> topic.sink.tryEmitComplete());
+        topics.clear();
+    }
+
+    /**
+     * 포스트 댓글 이벤트 구독
+     */
+    public Flux<ServerSentEvent<CommentEventDto>> subscribe(Long postId) {
+        if (activeSubscribers.get() >= maxSubscribers) {
+            throw new BusinessException(HttpStatus.SERVICE_UNAVAILABLE, "TOO_MANY_SUBSCRIBERS",
+                    "실시간 댓글 구독자가 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        // 실제 구독 시점에 등록하여, 구독되지 않은 스트림이 구독자 수에 남지 않도록 함
+        return Flux.defer(() -> {
+            Topic topic = topics.compute(postId, (key, current) -> {
+                Topic target = current != null ? current : new Topic();
+                target.subscribers++;
+                return target;
+            });
+            activeSubscribers.incrementAndGet();
+
+            ServerSentEvent<CommentEventDto> connected = ServerSentEvent.<CommentEventDto>builder()
+                    .comment("connected")
+                    .retry(Duration.ofSeconds(retrySeconds))
+                    .build();
+
+            return Flux.merge(topic.sink.asFlux(), heartbeats)
+                    .onBackpressureBuffer(bufferSize,
+                            dropped -> log.debug("댓글 스트림 버퍼 초과로 이벤트 버림: 포스트 ID = {}", postId),
+                            BufferOverflowStrategy.DROP_OLDEST)
+                    .startWith(connected)
+                    .take(Duration.ofMinutes(maxLifetimeMinutes))
+                    .doFinally(signal -> release(postId));
+        });
+    }
+
+    /**
+     * 이벤트 발행 (트랜잭션 중이면 커밋된 경우에만 발행)
+     */
+    public void publish(CommentEventDto event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    emit(event);
+                }
+            });
+        } else {
+            emit(event);
+        }
+    }
+
+    /**
+     * 현재 구독자 수
+     */
+    public int getSubscriberCount() {
+        return activeSubscribers.get();
+    }
+
+    private void emit(CommentEventDto event) {
+        Topic topic = topics.get(event.getPostId());
+        if (topic == null) {
+            return;
+        }
+
+        ServerSentEvent<CommentEventDto> sse = ServerSentEvent.<CommentEventDto>builder()
+                .id(String.valueOf(eventSequence.incrementAndGet()))
+                .data(event)
+                .build();
+
+        // 여러 요청 스레드가 동시에 발행하는 경우만 잠시 재시도, 구독자가 모두 나간 경우 등은 버림
+        Sinks.EmitResult result = topic.sink.tryEmitNext(sse);
+        if (result == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+            try {
+                topic.sink.emitNext(sse, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+            } catch (Exception e) {
+                log.warn("댓글 이벤트 발행 실패: 포스트 ID = {}, 유형 = {}", event.getPostId(), event.getType(), e);
+            }
+        }
+    }
+
+    private void release(Long postId) {
+        activeSubscribers.decrementAndGet();
+        topics.computeIfPresent(postId, (key, topic) -> --topic.subscribers > 0 ? topic : null);
+    }
+
+    /**
+     * 포스트별 싱크 (구독자 수는 topics 의 compute 안에서만 변경)
+     */
+    private static final class Topic {
+        private final Sinks.Many<ServerSentEvent<CommentEventDto>> sink = Sinks.many().multicast().directBestEffort();
+        private int subscribers;
+    }
+}
@@ -0,0 +1,194 @@
+package kr.labit.blog.service.trending;
+
+import java.util.Arrays;
+
+/**
+ * long -> double 오픈 어드레싱 해시맵 (선형 탐사)
+ * 포스트 ID 별 점수를 박싱 없이 보관하기 위한 용도이며 동기화는 호출 측에서 처리한다.
+ */
+final class LongDoubleHashMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final double MAX_LOAD_FACTOR = 0.6;
+
+    private long[] keys;
+    private double[] values;
+    private int size;
+
+    LongDoubleHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / MAX_LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 값 조회 (없으면 0)
+     */
+    double get(long key) {
+        int slot = findSlot(key);
+        return keys[slot] == key ? values[slot] : 0.0;
+    }
+
+    boolean containsKey(long key) {
+        return keys[findSlot(key)] == key;
+    }
+
+    /**
+     * 값 누적 후 누적된 값 반환
+     */
+    double add(long key, double delta) {
+        int slot = findSlot(key);
+        if (keys[slot] == key) {
+            values[slot] += delta;
+            return values[slot];
+        }
+
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size > keys.length * MAX_LOAD_FACTOR) {
+            resize(keys.length << 1);
+        }
+        return delta;
+    }
+
+    void put(long key, double value) {
+        int slot = findSlot(key);
+        if (keys[slot] == key) {
+            values[slot] = value;
+            return;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length * MAX_LOAD_FACTOR) {
+            resize(keys.length << 1);
+        }
+    }
+
+    /**
+     * 키 제거 (backward shift 로 탐사 체인 유지)
+     */
+    void remove(long key) {
+        int slot = findSlot(key);
+        if (keys[slot] != key) {
+            return;
+        }
+
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = hash(keys[next]) & mask;
+            // next 가 hole 과 home 사이(순환)에 있지 않으면 hole 로 당겨온다
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+        values[hole] = 0.0;
+        size--;
+    }
+
+    /**
+     * 모든 값에 배율 적용
+     */
+    void scale(double factor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                values[i] *= factor;
+            }
+        }
+    }
+
+    void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * 조건에 맞는 항목 제거 후 테이블 재구성
+     */
+    int removeIf(EntryPredicate predicate) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        int removed = 0;
+
+        allocate(keys.length);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) {
+                continue;
+            }
+            if (predicate.test(oldKeys[i], oldValues[i])) {
+                removed++;
+            } else {
+                insertNew(oldKeys[i], oldValues[i]);
+            }
+        }
+        return removed;
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, 0.0);
+        size = 0;
+    }
+
+    private int findSlot(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                insertNew(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void insertNew(long key, double value) {
+        int slot = findSlot(key);
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long key, double value);
+    }
+
+    @FunctionalInterface
+    interface EntryPredicate {
+        boolean test(long key, double value);
+    }
+}
@@ -0,0 +1,346 @@
+package kr.labit.blog.service.trending;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.labit.blog.dto.PostSummaryDto;
+import kr.labit.blog.repository.PostSummaryField;
+import kr.labit.blog.repository.PostSummaryQueryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 시간 감쇠 인기 포스트 랭킹
+ * - 조회 1회당 exp(λ(t - t0)) 를 누적하여 기준 시각 t0 대비 점수를 유지 (현재 점수 = 누적값 × exp(-λ(now - t0)))
+ *   모든 포스트가 같은 비율로 감쇠하므로 누적값의 순서가 곧 현재 점수의 순서가 된다.
+ * - 상위 K 개는 최소 힙으로 유지하여 조회 시 O(K)
+ * - 주기적으로 디스크에 스냅샷 저장
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrendingRanker {
+
+    private static final int SNAPSHOT_VERSION = 1;
+
+    // 누적값이 너무 커지기 전에 기준 시각을 옮김
+    private static final double REBASE_THRESHOLD = 1e12;
+
+    // 새 조회 1회 대비 이 비율보다 낮아진 점수는 정리
+    private static final double PRUNE_THRESHOLD = 0.01;
+
+    private final PostSummaryQueryRepository postSummaryRepository;
+
+    private final LongDoubleHashMap scores = new LongDoubleHashMap(1024);
+
+    // 상위 K 최소 힙 (heapScores[0] 이 K 개 중 최저 점수)
+    private long[] heapIds;
+    private double[] heapScores;
+    private int heapSize;
+    private final Map<Long, Integer> heapIndex = new HashMap<>();
+
+    // 상위 K 포스트 요약 (스냅샷 주기마다 갱신)
+    private final ConcurrentHashMap<Long, PostSummaryDto> summaries = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "trending-ranker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long baseMillis;
+    private double lambdaPerMillis;
+    private volatile boolean dirty = false;
+
+    @Value("${app.trending.half-life-hours:24}")
+    private double halfLifeHours;
+
+    @Value("${app.trending.top-k:100}")
+    private int topK;
+
+    @Value("${app.trending.snapshot-path:./data/trending/scores.bin}")
+    private String snapshotPath;
+
+    @Value("${app.trending.snapshot-interval-seconds:300}")
+    private long snapshotIntervalSeconds;
+
+    @PostConstruct
+    private void init() {
+        lambdaPerMillis = Math.log(2) / (halfLifeHours * 3_600_000d);
+        heapIds = new long[topK];
+        heapScores = new double[topK];
+        baseMillis = System.currentTimeMillis();
+
+        loadSnapshot();
+        scheduler.scheduleWithFixedDelay(this::maintain, snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+        log.info("인기 포스트 랭킹 초기화 완료: 반감기 {}시간, 상위 {}개, 추적 포스트 {}건", halfLifeHours, topK, scores.size());
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        scheduler.shutdownNow();
+        snapshotSafely();
+    }
+
+    /**
+     * 포스트 조회 기록
+     */
+    public synchronized void recordView(Long postId) {
+        long now = System.currentTimeMillis();
+        double weight = Math.exp(lambdaPerMillis * (now - baseMillis));
+        if (weight > REBASE_THRESHOLD) {
+            rebase(now);
+            weight = 1.0;
+        }
+
+        double score = scores.add(postId, weight);
+        offer(postId, score);
+        dirty = true;
+    }
+
+    /**
+     * 포스트 제거 (삭제, 비공개 전환)
+     */
+    public synchronized void remove(Long postId) {
+        if (!scores.containsKey(postId)) {
+            return;
+        }
+        scores.remove(postId);
+        summaries.remove(postId);
+        if (heapIndex.containsKey(postId)) {
+            rebuildHeap();
+        }
+        dirty = true;
+    }
+
+    /**
+     * 포스트 정보 변경 시 요약 갱신 대상으로 표시
+     */
+    public void evictSummary(Long postId) {
+        summaries.remove(postId);
+    }
+
+    /**
+     * 추적 중인 포스트가 있는지 여부
+     */
+    public synchronized boolean isEmpty() {
+        return heapSize == 0;
+    }
+
+    /**
+     * 상위 포스트 ID (점수 내림차순)
+     */
+    public synchronized List<Long> getTopPostIds(int limit) {
+        Integer[] order = new Integer[heapSize];
+        for (int i = 0; i < heapSize; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(heapScores[b], heapScores[a]));
+
+        List<Long> result = new ArrayList<>(Math.min(limit, heapSize));
+        for (int i = 0; i < order.length && i < limit; i++) {
+            result.add(heapIds[order[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * 상위 포스트 요약 (요약이 없는 포스트만 한 번에 조회하여 보관)
+     */
+    public List<PostSummaryDto> getTopPosts(int limit) {
+        List<Long> postIds = getTopPostIds(limit);
+
+        List<Long> missing = postIds.stream()
+                .filter(postId -> !summaries.containsKey(postId))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            postSummaryRepository.findByIds(EnumSet.allOf(PostSummaryField.class), missing)
+                    .forEach(summary -> summaries.put(summary.getId(), summary));
+        }
+
+        return postIds.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // 힙 관리
+
+    private void offer(long postId, double score) {
+        Integer position = heapIndex.get(postId);
+        if (position != null) {
+            // 점수는 증가만 하므로 아래로 이동
+            heapScores[position] = score;
+            siftDown(position);
+        } else if (heapSize < topK) {
+            heapIds[heapSize] = postId;
+            heapScores[heapSize] = score;
+            heapIndex.put(postId, heapSize);
+            siftUp(heapSize++);
+        } else if (score > heapScores[0]) {
+            heapIndex.remove(heapIds[0]);
+            summaries.remove(heapIds[0]);
+            heapIds[0] = postId;
+            heapScores[0] = score;
+            heapIndex.put(postId, 0);
+            siftDown(0);
+        }
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heapScores[parent] <= heapScores[index]) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = (index << 1) + 1;
+            if (left >= heapSize) {
+                break;
+            }
+            int right = left + 1;
+            int smallest = right < heapSize && heapScores[right] < heapScores[left] ? right : left;
+            if (heapScores[index] <= heapScores[smallest]) {
+                break;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = heapIds[a];
+        double score = heapScores[a];
+        heapIds[a] = heapIds[b];
+        heapScores[a] = heapScores[b];
+        heapIds[b] = id;
+        heapScores[b] = score;
+        heapIndex.put(heapIds[a], a);
+        heapIndex.put(heapIds[b], b);
+    }
+
+    private void rebuildHeap() {
+        heapSize = 0;
+        heapIndex.clear();
+        scores.forEach(this::offer);
+        summaries.keySet().retainAll(heapIndex.keySet());
+    }
+
+    /**
+     * 기준 시각을 now 로 옮기고 모든 누적값을 같은 비율로 줄임
+     */
+    private void rebase(long now) {
+        double factor = Math.exp(-lambdaPerMillis * (now - baseMillis));
+        scores.scale(factor);
+        for (int i = 0; i < heapSize; i++) {
+            heapScores[i] *= factor;
+        }
+        baseMillis = now;
+    }
+
+    // 주기 작업 및 스냅샷
+
+    private void maintain() {
+        try {
+            synchronized (this) {
+                rebase(System.currentTimeMillis());
+                int pruned = scores.removeIf((postId, score) -> score < PRUNE_THRESHOLD && !heapIndex.containsKey(postId));
+                if (pruned > 0) {
+                    log.debug("인기 포스트 랭킹 정리: {}건 제거", pruned);
+                    dirty = true;
+                }
+            }
+            // 조회수 등 요약 정보는 주기적으로 새로 조회
+            summaries.clear();
+            snapshotSafely();
+        } catch (Exception e) {
+            log.error("인기 포스트 랭킹 정리 중 오류 발생", e);
+        }
+    }
+
+    private void snapshotSafely() {
+        if (!dirty) {
+            return;
+        }
+        try {
+            writeSnapshot();
+        } catch (IOException e) {
+            log.error("인기 포스트 랭킹 스냅샷 저장 실패", e);
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        Path target = Paths.get(snapshotPath).toAbsolutePath().normalize();
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        synchronized (this) {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(baseMillis);
+                out.writeInt(scores.size());
+                IOException[] failure = new IOException[1];
+                scores.forEach((postId, score) -> {
+                    try {
+                        out.writeLong(postId);
+                        out.writeDouble(score);
+                    } catch (IOException e) {
+                        failure[0] = e;
+                    }
+                });
+                if (failure[0] != null) {
+                    throw failure[0];
+                }
+                dirty = false;
+            }
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.debug("인기 포스트 랭킹 스냅샷 저장 완료: {}", target);
+    }
+
+    private synchronized void loadSnapshot() {
+        Path source = Paths.get(snapshotPath).toAbsolutePath().normalize();
+        if (!Files.exists(source)) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("인기 포스트 랭킹 스냅샷 버전 불일치, 무시합니다: {}", source);
+                return;
+            }
+
+            baseMillis = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                scores.put(in.readLong(), in.readDouble());
+            }
+            rebase(System.currentTimeMillis());
+            rebuildHeap();
+            log.info("인기 포스트 랭킹 스냅샷 로드 완료: {} 건", count);
+        } catch (IOException e) {
+            scores.clear();
+            log.warn("인기 포스트 랭킹 스냅샷 로드 실패, 새로 시작합니다: {}", source, e);
+        }
+    }
+}
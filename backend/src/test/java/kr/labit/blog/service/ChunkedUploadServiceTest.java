@@ -0,0 +1,172 @@
+package kr.labit.blog.service;
+
+import kr.labit.blog.dto.upload.UploadSessionResponseDto;
+import kr.labit.blog.exception.GlobalExceptionHandler.BusinessException;
+import kr.labit.blog.repository.LabUploadSessionJdbcRepository;
+import kr.labit.blog.repository.LabUploadSessionJdbcRepository.UploadSessionRow;
+import kr.labit.blog.service.storage.ContentAddressableStore;
+import kr.labit.blog.service.storage.ContentAddressableStore.StagedContent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChunkedUploadServiceTest {
+
+    private static final String SESSION_ID = "session-1";
+    private static final String OWNER = "writer";
+    private static final String CONTENT = "abcdefghij";
+
+    @TempDir
+    Path tempDir;
+
+    private ChunkedUploadService uploadService;
+    private LabUploadSessionJdbcRepository sessionRepository;
+    private FileUploadService fileUploadService;
+    private final AtomicReference<UploadSessionRow> storedSession = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(OWNER, null));
+
+        LocalDateTime now = LocalDateTime.now();
+        storedSession.set(new UploadSessionRow(SESSION_ID, OWNER, ChunkedUploadService.PURPOSE_IMAGE, "photo.png",
+                "image/png", CONTENT.length(), 0, now, now.plusHours(24)));
+
+        sessionRepository = mock(LabUploadSessionJdbcRepository.class);
+        when(sessionRepository.findById(SESSION_ID)).thenAnswer(invocation -> Optional.ofNullable(storedSession.get()));
+        doAnswer(invocation -> {
+            UploadSessionRow row = storedSession.get();
+            storedSession.set(new UploadSessionRow(row.id(), row.owner(), row.purpose(), row.fileName(), row.mimeType(),
+                    row.totalSize(), invocation.getArgument(1), row.createdDate(), invocation.getArgument(2)));
+            return null;
+        }).when(sessionRepository).updateReceived(eq(SESSION_ID), anyLong(), any());
+
+        ContentAddressableStore contentStore = mock(ContentAddressableStore.class);
+        when(contentStore.sessionFile(anyString())).thenAnswer(invocation -> tempDir.resolve(invocation.<String>getArgument(0)));
+        Files.createFile(tempDir.resolve(SESSION_ID));
+
+        fileUploadService = mock(FileUploadService.class);
+        uploadService = new ChunkedUploadService(sessionRepository, contentStore, mock(FileStorageService.class),
+                fileUploadService, mock(AssetManageService.class));
+        ReflectionTestUtils.setField(uploadService, "sessionExpiryHours", 24L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void overlappingResendSkipsReceivedBytes() throws Exception {
+        write("bytes 0-5/10", "abcdef");
+        UploadSessionResponseDto response = write("bytes 3-9/10", "defghij");
+
+        assertThat(response.getReceivedSize()).isEqualTo(10);
+        assertThat(response.isComplete()).isTrue();
+        assertThat(sessionFileContent()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void resentRangeDoesNotOverwriteReceivedBytes() throws Exception {
+        write("bytes 0-5/10", "abcdef");
+        UploadSessionResponseDto response = write("bytes 0-5/10", "XXXXXX");
+
+        assertThat(response.getReceivedSize()).isEqualTo(6);
+        assertThat(sessionFileContent()).startsWith("abcdef");
+        verify(sessionRepository).updateReceived(eq(SESSION_ID), eq(6L), any());
+    }
+
+    @Test
+    void incrementalHashSurvivesOverlappingResend() throws Exception {
+        write("bytes 0-5/10", "abcdef");
+        write("bytes 4-9/10", "efghij");
+
+        when(fileUploadService.uploadImage(any(), anyString(), anyString())).thenReturn("url");
+        uploadService.completeImage(SESSION_ID);
+
+        ArgumentCaptor<StagedContent> staged = ArgumentCaptor.forClass(StagedContent.class);
+        verify(fileUploadService).uploadImage(staged.capture(), eq("photo.png"), eq("image/png"));
+        assertThat(staged.getValue().hash()).isEqualTo(sha256(CONTENT));
+        assertThat(staged.getValue().size()).isEqualTo(10);
+    }
+
+    @Test
+    void startPastReceivedOffsetIsConflict() throws Exception {
+        write("bytes 0-3/10", "abcd");
+
+        assertThatThrownBy(() -> write("bytes 6-9/10", "ghij"))
+                .isInstanceOfSatisfying(BusinessException.class, e -> {
+                    assertThat(e.getStatus()).isEqualTo(HttpStatus.CONFLICT);
+                    assertThat(e.getErrorCode()).isEqualTo("UPLOAD_OFFSET_MISMATCH");
+                });
+        assertThat(storedSession.get().receivedSize()).isEqualTo(4);
+        assertThat(sessionFileContent()).isEqualTo("abcd");
+    }
+
+    @Test
+    void shortBodyKeepsWrittenPrefixForResume() throws Exception {
+        assertThatThrownBy(() -> write("bytes 0-9/10", "abcd"))
+                .isInstanceOfSatisfying(BusinessException.class, e -> {
+                    assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    assertThat(e.getErrorCode()).isEqualTo("UPLOAD_CHUNK_INCOMPLETE");
+                });
+        assertThat(storedSession.get().receivedSize()).isEqualTo(4);
+
+        UploadSessionResponseDto response = write("bytes 4-9/10", "efghij");
+        assertThat(response.getReceivedSize()).isEqualTo(10);
+        assertThat(sessionFileContent()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void invalidContentRangeIsRejected() {
+        for (String contentRange : new String[]{null, "bytes 0-5", "bytes 0-5/11", "bytes 5-4/10", "bytes 0-10/10"}) {
+            assertThatThrownBy(() -> write(contentRange, "abcdef"))
+                    .isInstanceOfSatisfying(BusinessException.class, e -> {
+                        assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+                        assertThat(e.getErrorCode()).isEqualTo("INVALID_CONTENT_RANGE");
+                    });
+        }
+        verify(sessionRepository, never()).updateReceived(anyString(), anyLong(), any());
+    }
+
+    private UploadSessionResponseDto write(String contentRange, String body) throws Exception {
+        return uploadService.writeChunk(SESSION_ID, contentRange,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private String sessionFileContent() throws Exception {
+        return Files.readString(tempDir.resolve(SESSION_ID), StandardCharsets.US_ASCII);
+    }
+
+    private static String sha256(String content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,70 @@
+package kr.labit.blog.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HangulTokenizerTest {
+
+    @Test
+    void indexesHangulRunsAsUnigramsAndBigrams() {
+        assertThat(HangulTokenizer.tokenize("검색엔진"))
+                .containsExactly("검", "색", "엔", "진", "검색", "색엔", "엔진");
+    }
+
+    @Test
+    void queryUsesBigramsOnlyForMultiSyllableRuns() {
+        assertThat(HangulTokenizer.tokenizeQuery("검색엔진")).containsExactly("검색", "색엔", "엔진");
+    }
+
+    @Test
+    void singleSyllableQueryIsUnigramAndMatchesIndexedTokens() {
+        assertThat(HangulTokenizer.tokenizeQuery("색")).containsExactly("색");
+        assertThat(HangulTokenizer.tokenize("검색엔진")).contains("색");
+    }
+
+    @Test
+    void splitsMixedScriptsAndLowercasesWords() {
+        assertThat(HangulTokenizer.tokenizeQuery("Spring부트 3.5"))
+                .containsExactly("spring", "부트", "3", "5");
+    }
+
+    @Test
+    void punctuationBreaksHangulRuns() {
+        assertThat(HangulTokenizer.tokenizeQuery("가나, 다")).containsExactly("가나", "다");
+    }
+
+    @Test
+    void handlesSupplementaryCodePoints() {
+        // U+20000 (CJK 확장 B) 는 서로게이트 쌍
+        String text = new String(Character.toChars(0x20000)) + "字";
+        assertThat(HangulTokenizer.tokenizeQuery(text)).containsExactly(text);
+    }
+
+    @Test
+    void emptyInputHasNoTokens() {
+        assertThat(HangulTokenizer.tokenize(null)).isEmpty();
+        assertThat(HangulTokenizer.tokenize("")).isEmpty();
+        assertThat(HangulTokenizer.tokenizeQuery("  ,.! ")).isEmpty();
+    }
+
+    @Test
+    void stripsHtmlTagsAndEntities() {
+        assertThat(HangulTokenizer.tokenizeQuery(HangulTokenizer.stripHtml("<p>안녕&nbsp;<b>하세요</b></p>")))
+                .containsExactly("안녕", "하세", "세요");
+    }
+
+    @Test
+    void longWordsAreTruncatedTheSameWayForIndexAndQuery() {
+        String encoded = "QUJD".repeat(20000);
+
+        List<String> indexed = HangulTokenizer.tokenize("본문 " + encoded);
+        List<String> query = HangulTokenizer.tokenizeQuery(encoded);
+
+        assertThat(query).singleElement().satisfies(token ->
+                assertThat(token).hasSize(HangulTokenizer.MAX_WORD_LENGTH));
+        assertThat(indexed).contains(query.get(0));
+    }
+}
@@ -0,0 +1,56 @@
+package kr.labit.blog.service.search;
+
+import kr.labit.blog.entity.LabPost;
+import kr.labit.blog.entity.PostStatus;
+import kr.labit.blog.repository.LabPostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PostSearchIndexTest {
+
+    private PostSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PostSearchIndex(mock(LabPostRepository.class));
+        index.index(post(1L, "검색 엔진 만들기", "역색인과 BM25"));
+        index.index(post(2L, "스프링 부트", "캐시 설정"));
+    }
+
+    @Test
+    void singleSyllableQueryFindsPosts() {
+        assertThat(index.search("색", 0, 10).getPostIds()).containsExactly(1L);
+        assertThat(index.search("캐", 0, 10).getPostIds()).containsExactly(2L);
+    }
+
+    @Test
+    void multiSyllableQueryRequiresAllBigrams() {
+        assertThat(index.search("검색", 0, 10).getPostIds()).containsExactly(1L);
+        assertThat(index.search("검색 부트", 0, 10).getPostIds()).isEmpty();
+        assertThat(index.search("bm25", 0, 10).getPostIds()).containsExactly(1L);
+    }
+
+    @Test
+    void unpublishedPostIsRemoved() {
+        LabPost draft = post(1L, "검색 엔진 만들기", "역색인과 BM25");
+        draft.setStatus(PostStatus.DRAFT);
+        index.index(draft);
+
+        assertThat(index.search("검색", 0, 10).getTotal()).isZero();
+    }
+
+    private static LabPost post(Long id, String title, String content) {
+        return LabPost.builder()
+                .id(id)
+                .title(title)
+                .content(content)
+                .status(PostStatus.PUBLISHED)
+                .publishedDate(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package kr.labit.blog.service.storage;
+
+import kr.labit.blog.repository.LabAssetQueryJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SignedUrlServiceTest {
+
+    private static final String BASE_URL = "http://localhost:10001/api/files";
+    private static final String STORED_URL = BASE_URL + "/blobs/ab/ab12cd34.png";
+    private static final String PATH = "blobs/ab/ab12cd34.png";
+
+    private SignedUrlService signedUrlService;
+    private PrivateFileRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        signedUrlService = new SignedUrlService();
+        ReflectionTestUtils.setField(signedUrlService, "baseUrl", BASE_URL);
+        ReflectionTestUtils.setField(signedUrlService, "secret", "test-secret");
+        ReflectionTestUtils.setField(signedUrlService, "ttlSeconds", 900L);
+        ReflectionTestUtils.invokeMethod(signedUrlService, "init");
+
+        LabAssetQueryJdbcRepository assetQueryRepository = mock(LabAssetQueryJdbcRepository.class);
+        when(assetQueryRepository.findPrivateFileUrls()).thenReturn(List.of(STORED_URL));
+        registry = new PrivateFileRegistry(assetQueryRepository, signedUrlService);
+        registry.refresh();
+    }
+
+    @Test
+    void storedAbsoluteUrlIsPrivate() {
+        assertThat(signedUrlService.toFilePath(STORED_URL)).isEqualTo(PATH);
+        assertThat(signedUrlService.toFilePath("/api/files/" + PATH)).isEqualTo(PATH);
+        assertThat(registry.isPrivateUrl(STORED_URL)).isTrue();
+        assertThat(registry.isPrivate(PATH)).isTrue();
+        assertThat(registry.isPrivateUrl(BASE_URL + "/blobs/ab/other.png")).isFalse();
+    }
+
+    @Test
+    void signedUrlRoundTrips() {
+        long expiresAt = signedUrlService.nextExpiry();
+        String signed = signedUrlService.sign(STORED_URL, expiresAt, 7L);
+
+        assertThat(signed).startsWith(STORED_URL + "?exp=");
+        assertThat(registry.isPrivateUrl(signed)).isTrue();
+
+        UriComponents uri = UriComponentsBuilder.fromUriString(signed).build();
+        String path = signedUrlService.toFilePath(signed);
+        Long exp = Long.valueOf(uri.getQueryParams().getFirst("exp"));
+        Long uid = Long.valueOf(uri.getQueryParams().getFirst("uid"));
+        String sig = uri.getQueryParams().getFirst("sig");
+
+        assertThat(signedUrlService.verify(path, exp, uid, sig)).isTrue();
+        assertThat(signedUrlService.verify(path, exp, null, sig)).isFalse();
+        assertThat(signedUrlService.verify(path, exp + 60, uid, sig)).isFalse();
+        assertThat(signedUrlService.verify("blobs/ab/other.png", exp, uid, sig)).isFalse();
+        assertThat(signedUrlService.verify(path, exp, uid, null)).isFalse();
+        assertThat(signedUrlService.verify(path, exp, uid, "not base64!")).isFalse();
+    }
+
+    @Test
+    void expiredSignatureIsRejected() {
+        long expired = System.currentTimeMillis() / 1000 - 1;
+        String signed = signedUrlService.sign(STORED_URL, expired, null);
+        String sig = UriComponentsBuilder.fromUriString(signed).build().getQueryParams().getFirst("sig");
+
+        assertThat(signedUrlService.verify(PATH, expired, null, sig)).isFalse();
+    }
+
+    @Test
+    void nonFileUrlIsNotSigned() {
+        assertThat(signedUrlService.sign("https://example.com/image.png", signedUrlService.nextExpiry(), null))
+                .isEqualTo("https://example.com/image.png");
+    }
+
+    @Test
+    void missingSecretFailsWhenRequired() {
+        SignedUrlService unconfigured = new SignedUrlService();
+        ReflectionTestUtils.setField(unconfigured, "secret", "");
+        ReflectionTestUtils.setField(unconfigured, "requireSecret", true);
+
+        assertThatThrownBy(() -> ReflectionTestUtils.invokeMethod(unconfigured, "init"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}